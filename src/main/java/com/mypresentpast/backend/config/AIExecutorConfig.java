@@ -0,0 +1,46 @@
+package com.mypresentpast.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Pool acotado para las llamadas a proveedores de IA (solicitudes principales y de cobertura).
+ * Si el pool y la cola están llenos la tarea se rechaza y el router la trata como un fallo,
+ * en lugar de bloquear el hilo del request.
+ * Las respuestas en streaming se envían al cliente desde un pool aparte, fuera del reactor de E/S.
+ */
+@Configuration
+public class AIExecutorConfig {
+
+    @Bean(name = "aiRequestExecutor")
+    public ThreadPoolTaskExecutor aiRequestExecutor(
+            @Value("${ai.routing.executor.threads:16}") int threads,
+            @Value("${ai.routing.executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ai-request-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Hilos que escriben los eventos SSE hacia los clientes; un cliente lento ocupa uno de estos
+     * y no el reactor que lee las respuestas de todos los proveedores.
+     */
+    @Bean(name = "aiStreamExecutor")
+    public ThreadPoolTaskExecutor aiStreamExecutor(
+            @Value("${ai.stream.executor.threads:8}") int threads,
+            @Value("${ai.stream.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ai-stream-");
+        executor.initialize();
+        return executor;
+    }
+}
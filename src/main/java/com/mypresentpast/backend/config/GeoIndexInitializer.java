@@ -0,0 +1,36 @@
+package com.mypresentpast.backend.config;
+
+import com.mypresentpast.backend.model.Location;
+import com.mypresentpast.backend.repository.LocationRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Completa la celda de la grilla espacial de las ubicaciones que no la tienen
+ * (datos precargados por import.sql o filas creadas antes de existir la columna).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GeoIndexInitializer {
+
+    private final LocationRepository locationRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillGeoCells() {
+        List<Location> pending = locationRepository.findByGeoCellIsNull();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        pending.forEach(Location::assignGeoCell);
+        locationRepository.saveAll(pending);
+        log.info("Se asignó celda espacial a {} ubicaciones", pending.size());
+    }
+}
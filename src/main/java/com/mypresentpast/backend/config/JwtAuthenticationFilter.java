@@ -1,11 +1,15 @@
 package com.mypresentpast.backend.config;
 
+import com.mypresentpast.backend.model.User;
 import com.mypresentpast.backend.service.JwtService;
+import com.mypresentpast.backend.service.TokenVersionService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,6 +28,10 @@ import java.util.Objects;
  * - Extraer el token JWT del header Authorization.
  * - Validar el token y obtener el usuario autenticado.
  * - Registrar al usuario autenticado en el contexto de seguridad de Spring.
+ * Con jwt.stateless-auth.enabled el usuario se arma desde los claims del token, sin consultar la base;
+ * en ambos modos se rechazan los tokens cuya versión ya no es la vigente.
+ * Está desactivado por defecto: el rol y el nombre de usuario salen del token, así que un cambio de rol
+ * hecho directamente en la base no se aplica hasta que el token vence, salvo que se incremente token_version.
  * Este filtro se ejecuta antes del filtro de autenticación por usuario/contraseña.
  */
 @Component
@@ -32,7 +40,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
 
+    @Value("${jwt.stateless-auth.enabled:false}")
+    private boolean statelessAuth;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -44,13 +55,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
             return;
         }
 
-        email = jwtService.getUsernameFromToken(token);
+        // Un único parseo: firma, expiración y claims
+        final Claims claims = jwtService.validateToken(token);
+        email = claims.getSubject();
 
         if(email != null && Objects.isNull(SecurityContextHolder.getContext().getAuthentication())) {
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            UserDetails userDetails = statelessAuth
+                    ? jwtService.getUserFromClaims(claims)
+                    : userDetailsService.loadUserByUsername(email);
 
-            if(jwtService.isTokenValid(token, userDetails)) {
+            if(email.equals(userDetails.getUsername()) && isCurrentVersion(userDetails, claims)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -59,6 +74,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
         filterChain.doFilter(request, response);
     }
 
+    private boolean isCurrentVersion(UserDetails userDetails, Claims claims) {
+        if (!(userDetails instanceof User user)) {
+            return true;
+        }
+        if (statelessAuth) {
+            return tokenVersionService.isCurrent(user.getId(), user.getTokenVersion());
+        }
+        // El usuario recién cargado ya trae la versión vigente
+        Number version = claims.get("ver", Number.class);
+        return user.getTokenVersion().equals(version != null ? version.intValue() : 0);
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         // Extraemos el header AUTHORIZATION
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
@@ -0,0 +1,32 @@
+package com.mypresentpast.backend.config;
+
+import com.mypresentpast.backend.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Corrige periódicamente el contador desnormalizado post.like_count contra post_like.
+ * También corre al arrancar, para completar los datos previos a la columna.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LikeCountReconciler {
+
+    private final PostRepository postRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${likes.reconciliation.cron:0 0 4 * * *}")
+    @Transactional
+    public void reconcileLikeCounts() {
+        int repaired = postRepository.reconcileLikeCounts();
+        if (repaired > 0) {
+            log.warn("Se corrigió el contador de likes de {} posts", repaired);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.mypresentpast.backend.config;
+
+import com.mypresentpast.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Corrige periódicamente los contadores desnormalizados de user_account
+ * (follower_count, following_count, post_count) contra follow y post.
+ * También corre al arrancar, para completar los datos previos a las columnas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileCountReconciler {
+
+    private final UserRepository userRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${profile.counts.reconciliation.cron:0 30 4 * * *}")
+    @Transactional
+    public void reconcileProfileCounts() {
+        int repaired = userRepository.reconcileFollowerCounts()
+            + userRepository.reconcileFollowingCounts()
+            + userRepository.reconcilePostCounts();
+        if (repaired > 0) {
+            log.warn("Se corrigieron {} contadores de perfil", repaired);
+        }
+    }
+}
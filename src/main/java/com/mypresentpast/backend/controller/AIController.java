@@ -3,10 +3,12 @@ package com.mypresentpast.backend.controller;
 import com.mypresentpast.backend.dto.request.CorrectContentRequest;
 import com.mypresentpast.backend.dto.response.CorrectContentResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Controlador REST para funcionalidades de Inteligencia Artificial.
@@ -23,4 +25,15 @@ public interface AIController {
      */
     @PostMapping("/correct-content")
     ResponseEntity<CorrectContentResponse> correctContent(@Valid @RequestBody CorrectContentRequest request);
-} 
\ No newline at end of file
+
+    /**
+     * Corrige contenido usando IA, enviando el resultado por server-sent events a medida que se genera.
+     * Emite eventos "delta" con cada fragmento ({"content": "..."}) y un evento final "done"
+     * con el mismo cuerpo que /correct-content.
+     *
+     * @param request el contenido a corregir
+     * @return el stream de eventos
+     */
+    @PostMapping(value = "/correct-content/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter correctContentStream(@Valid @RequestBody CorrectContentRequest request);
+}
@@ -1,10 +1,15 @@
 package com.mypresentpast.backend.controller;
 
+import com.mypresentpast.backend.dto.request.CollectionPostsBatchRequest;
 import com.mypresentpast.backend.dto.request.CreateCollectionAndSavePostRequest;
 import com.mypresentpast.backend.dto.request.CreateCollectionRequest;
+import com.mypresentpast.backend.dto.request.MoveCollectionPostsRequest;
+import com.mypresentpast.backend.dto.request.PostCollectionStatusBatchRequest;
 import com.mypresentpast.backend.dto.request.UpdateCollectionRequest;
 import com.mypresentpast.backend.dto.response.ApiResponse;
+import com.mypresentpast.backend.dto.response.CollectionPostsBatchResponse;
 import com.mypresentpast.backend.dto.response.CollectionSummaryResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
 import com.mypresentpast.backend.dto.response.PostCollectionStatusResponse;
 import com.mypresentpast.backend.dto.response.PostResponse;
 import jakarta.validation.Valid;
@@ -17,6 +22,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Controlador REST para operaciones relacionadas con Collection.
@@ -62,13 +68,17 @@ public interface CollectionController {
     ResponseEntity<Void> deleteCollection(@PathVariable Long id);
 
     /**
-     * Obtener posts de una colección.
+     * Obtener posts de una colección, del último agregado al primero.
      *
-     * @param id ID de la colección
-     * @return lista de posts en la colección
+     * @param id     ID de la colección
+     * @param cursor next_cursor de la página anterior (opcional, sin él se devuelve la primera)
+     * @param size   tamaño de página (opcional, por defecto 20, máximo 100)
+     * @return página de posts en la colección
      */
     @GetMapping("/{id}/posts")
-    ResponseEntity<List<PostResponse>> getCollectionPosts(@PathVariable Long id);
+    ResponseEntity<CursorPageResponse<PostResponse>> getCollectionPosts(@PathVariable Long id,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer size);
 
     /**
      * Obtener estado de un post en mis colecciones.
@@ -79,6 +89,16 @@ public interface CollectionController {
     @GetMapping("/my/posts/{postId}/status")
     ResponseEntity<PostCollectionStatusResponse> getPostCollectionStatus(@PathVariable Long postId);
 
+    /**
+     * Obtener el estado de varios posts (hasta 200) en mis colecciones, en una sola petición.
+     *
+     * @param request IDs de los posts
+     * @return estado de cada post en colecciones
+     */
+    @PostMapping("/my/posts/status")
+    ResponseEntity<List<PostCollectionStatusResponse>> getPostCollectionStatuses(
+        @Valid @RequestBody PostCollectionStatusBatchRequest request);
+
     /**
      * Agregar post a colección.
      *
@@ -101,6 +121,39 @@ public interface CollectionController {
     ResponseEntity<ApiResponse> removePostFromCollection(@PathVariable Long collectionId, 
                                                          @PathVariable Long postId);
 
+    /**
+     * Agregar varios posts (hasta 100) a una colección.
+     *
+     * @param collectionId ID de la colección
+     * @param request      IDs de los posts
+     * @return resultado de cada post
+     */
+    @PostMapping("/{collectionId}/posts/batch")
+    ResponseEntity<CollectionPostsBatchResponse> addPostsToCollection(@PathVariable Long collectionId,
+                                                                      @Valid @RequestBody CollectionPostsBatchRequest request);
+
+    /**
+     * Quitar varios posts (hasta 100) de una colección.
+     *
+     * @param collectionId ID de la colección
+     * @param request      IDs de los posts
+     * @return resultado de cada post
+     */
+    @PostMapping("/{collectionId}/posts/batch-remove")
+    ResponseEntity<CollectionPostsBatchResponse> removePostsFromCollection(@PathVariable Long collectionId,
+                                                                           @Valid @RequestBody CollectionPostsBatchRequest request);
+
+    /**
+     * Mover varios posts (hasta 100) de una colección a otra.
+     *
+     * @param collectionId ID de la colección de origen
+     * @param request      colección destino e IDs de los posts
+     * @return resultado de cada post
+     */
+    @PostMapping("/{collectionId}/posts/move")
+    ResponseEntity<CollectionPostsBatchResponse> movePostsBetweenCollections(@PathVariable Long collectionId,
+                                                                             @Valid @RequestBody MoveCollectionPostsRequest request);
+
     /**
      * Crear colección y guardar post en un solo paso.
      *
@@ -2,6 +2,7 @@ package com.mypresentpast.backend.controller;
 
 import com.mypresentpast.backend.dto.UserDto;
 import com.mypresentpast.backend.dto.response.ApiResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
 import com.mypresentpast.backend.dto.response.FollowStatsResponse;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Controlador REST para operaciones relacionadas con Follow.
@@ -54,22 +56,34 @@ public interface FollowController {
     ResponseEntity<List<UserDto>> getMyFollowers();
 
     /**
-     * Obtener la lista de usuarios que sigue un usuario específico.
+     * Obtener la lista de usuarios que sigue un usuario específico, del seguimiento más reciente al más antiguo.
      *
      * @param userId identificador del usuario
-     * @return lista de usuarios seguidos por el usuario indicado
+     * @param cursor next_cursor de la página anterior (opcional, sin él se devuelve la primera)
+     * @param size   tamaño de página (opcional, por defecto 20, máximo 100)
+     * @return la página de usuarios seguidos por el usuario indicado
      */
     @GetMapping("/{userId}/following")
-    ResponseEntity<List<UserDto>> getFollowingByUserId(@PathVariable Long userId);
+    ResponseEntity<CursorPageResponse<UserDto>> getFollowingByUserId(
+        @PathVariable Long userId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer size
+    );
 
     /**
-     * Obtener la lista de seguidores de un usuario específico.
+     * Obtener la lista de seguidores de un usuario específico, del seguimiento más reciente al más antiguo.
      *
      * @param userId identificador del usuario
-     * @return lista de usuarios que siguen al usuario indicado
+     * @param cursor next_cursor de la página anterior (opcional, sin él se devuelve la primera)
+     * @param size   tamaño de página (opcional, por defecto 20, máximo 100)
+     * @return la página de usuarios que siguen al usuario indicado
      */
     @GetMapping("/{userId}/followers")
-    ResponseEntity<List<UserDto>> getFollowersByUserId(@PathVariable Long userId);
+    ResponseEntity<CursorPageResponse<UserDto>> getFollowersByUserId(
+        @PathVariable Long userId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer size
+    );
 
 
     /**
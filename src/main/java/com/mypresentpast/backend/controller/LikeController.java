@@ -1,11 +1,15 @@
 package com.mypresentpast.backend.controller;
 
+import com.mypresentpast.backend.dto.request.LikeStatusBatchRequest;
 import com.mypresentpast.backend.dto.response.LikeStatusResponse;
 import com.mypresentpast.backend.dto.response.LikeToggleResponse;
+import jakarta.validation.Valid;
+import java.util.Map;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 /**
@@ -41,4 +45,14 @@ public interface LikeController {
      */
     @GetMapping("/{postId}/likes/count")
     ResponseEntity<Long> getTotalLikes(@PathVariable Long postId);
+
+    /**
+     * Obtiene el estado de like de varios posts (hasta 200) en una sola petición,
+     * pensado para el mapa y los listados en lugar de consultar post por post.
+     *
+     * @param request IDs de los posts
+     * @return mapa de ID de post a su estado de like y número total de likes
+     */
+    @PostMapping("/likes/status")
+    ResponseEntity<Map<Long, LikeStatusResponse>> getLikeStatuses(@Valid @RequestBody LikeStatusBatchRequest request);
 }
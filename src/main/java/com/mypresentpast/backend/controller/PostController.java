@@ -2,6 +2,7 @@ package com.mypresentpast.backend.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.mypresentpast.backend.dto.response.ApiResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
 import com.mypresentpast.backend.dto.response.MapResponse;
 import com.mypresentpast.backend.dto.response.PostResponse;
 import java.time.LocalDate;
@@ -46,13 +47,19 @@ public interface PostController {
     ResponseEntity<PostResponse> getPostById(@PathVariable Long id);
 
     /**
-     * Obtener publicaciones por usuario.
+     * Obtener publicaciones por usuario, de la más reciente a la más antigua.
      *
-     * @param id el ID del usuario
-     * @return las publicaciones encontradas
+     * @param id     el ID del usuario
+     * @param cursor next_cursor de la página anterior (opcional, sin él se devuelve la primera)
+     * @param size   tamaño de página (opcional, por defecto 20, máximo 100)
+     * @return la página de publicaciones encontradas
      */
     @GetMapping("/user/{id}")
-    ResponseEntity<List<PostResponse>> getPostsByUser(@PathVariable Long id);
+    ResponseEntity<CursorPageResponse<PostResponse>> getPostsByUser(
+        @PathVariable Long id,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer size
+    );
 
     /**
      * Endpoint principal del mapa con filtros.
@@ -67,7 +74,10 @@ public interface PostController {
      * @param isVerified filtro por publicaciones verificadas (true/false)
      * @param isByIA     filtro por publicaciones creadas con IA (true/false)
      * @param userId     filtro por usuario específico (ID del usuario)
-     * @return lista completa de posts en el área
+     * @param zoom       nivel de zoom del mapa (opcional). Si se envía y es bajo, se devuelven clusters en lugar de posts
+     * @param cursor     next_cursor de la respuesta anterior, para pedir los posts restantes del área (opcional)
+     * @param size       cantidad máxima de posts (opcional, máximo 500)
+     * @return posts en el área (con next_cursor si quedan más), o clusters si se pidió por zoom
      */
     @GetMapping("/map")
     ResponseEntity<MapResponse> getMapData(
@@ -79,16 +89,30 @@ public interface PostController {
         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
         @RequestParam(required = false) Boolean isVerified,
         @RequestParam(required = false) Boolean isByIA,
-        @RequestParam(required = false) Long userId
+        @RequestParam(required = false) Long userId,
+        @RequestParam(required = false) Integer zoom,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer size
     );
 
     /**
      * Obtener una publicación aleatoria para la funcionalidad "¡Haceme volar al infinito!".
      *
+     * @param category filtro por categoría (opcional)
+     * @param latMin   latitud mínima del área (opcional; si se filtra por área van los cuatro límites)
+     * @param latMax   latitud máxima del área (opcional)
+     * @param lonMin   longitud mínima del área (opcional)
+     * @param lonMax   longitud máxima del área (opcional)
      * @return una publicación aleatoria
      */
     @GetMapping("/random")
-    ResponseEntity<PostResponse> getRandomPost();
+    ResponseEntity<PostResponse> getRandomPost(
+        @RequestParam(required = false) String category,
+        @RequestParam(required = false) Double latMin,
+        @RequestParam(required = false) Double latMax,
+        @RequestParam(required = false) Double lonMin,
+        @RequestParam(required = false) Double lonMax
+    );
 
 
 
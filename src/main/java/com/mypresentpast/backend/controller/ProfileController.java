@@ -2,11 +2,12 @@ package com.mypresentpast.backend.controller;
 
 import com.mypresentpast.backend.dto.request.ProfileUpdateRequest;
 import com.mypresentpast.backend.dto.request.profile.ChangePasswordRequest;
+import com.mypresentpast.backend.dto.response.AuthResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
 import com.mypresentpast.backend.dto.response.ProfileResponse;
 import com.mypresentpast.backend.dto.response.ProfileUpdateResponse;
 import com.mypresentpast.backend.dto.response.PostResponse;
 import com.mypresentpast.backend.dto.response.UrlResponse;
-import java.util.List;
 import jakarta.validation.Valid;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -43,11 +44,13 @@ public interface ProfileController {
      * Cambia la contraseña del usuario autenticado.
      * Es necesario proporcionar la contraseña actual y la nueva para efectuar el cambio.
      *
+     * Los demás tokens del usuario quedan revocados; la respuesta trae el token que lo reemplaza.
+     *
      * @param request contiene la contraseña actual y la nueva
-     * @return respuesta vacía con estado HTTP 204 si el cambio fue exitoso
+     * @return token nuevo del usuario
      */
     @PutMapping("/me/password")
-    ResponseEntity<Void> changeMyPassword(@Valid @RequestBody ChangePasswordRequest request);
+    ResponseEntity<AuthResponse> changeMyPassword(@Valid @RequestBody ChangePasswordRequest request);
 
     /**
      * Sube una nueva imagen de avatar para el usuario autenticado.
@@ -63,9 +66,12 @@ public interface ProfileController {
      * Obtiene las publicaciones que el usuario autenticado ha likeado.
      * Útil para mostrar en la sección "Posts que me gustaron" del perfil.
      *
-     * @return lista de publicaciones likeadas por el usuario actual, ordenadas por fecha de like (más recientes primero)
+     * @param cursor next_cursor de la página anterior (opcional, sin él se devuelve la primera)
+     * @param size   tamaño de página (opcional, por defecto 20, máximo 100)
+     * @return página de publicaciones likeadas por el usuario actual, ordenadas por fecha de like (más recientes primero)
      */
     @GetMapping("/me/liked-posts")
-    ResponseEntity<List<PostResponse>> getMyLikedPosts();
+    ResponseEntity<CursorPageResponse<PostResponse>> getMyLikedPosts(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer size);
 
 }
@@ -5,14 +5,25 @@ import com.mypresentpast.backend.dto.request.CorrectContentRequest;
 import com.mypresentpast.backend.dto.response.CorrectContentResponse;
 import com.mypresentpast.backend.service.AIService;
 import com.mypresentpast.backend.service.ai.OpenAIProvider;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Implementación del controlador de IA.
@@ -25,13 +36,130 @@ public class AIControllerImpl implements AIController {
     
     private final AIService aiService;
     private final OpenAIProvider openAIProvider;
-    
+    @Qualifier("aiStreamExecutor")
+    private final Executor streamExecutor;
+
+    @Value("${ai.stream.timeout-ms:60000}")
+    private long streamTimeoutMs;
+
+    // Eventos sin enviar que se toleran por stream antes de cortarlo por cliente lento
+    @Value("${ai.stream.max-pending-events:1000}")
+    private int maxPendingEvents;
+
     @Override
     public ResponseEntity<CorrectContentResponse> correctContent(CorrectContentRequest request) {
         log.info("Solicitud de corrección de contenido recibida");
         CorrectContentResponse response = aiService.correctContent(request);
         return ResponseEntity.ok(response);
     }
+
+    @Override
+    public SseEmitter correctContentStream(CorrectContentRequest request) {
+        log.info("Solicitud de corrección de contenido en streaming recibida");
+        // La respuesta es asíncrona: el hilo del request se libera y los eventos los envía el pool de streaming
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        OrderedSseSender sender = new OrderedSseSender(emitter, streamExecutor, maxPendingEvents);
+
+        // Los deltas llegan en el reactor de E/S del cliente HTTP; solo se encolan, nunca se escribe desde ahí
+        CompletableFuture<CorrectContentResponse> correction = aiService.correctContentStream(request,
+            delta -> sender.enqueue(() -> emitter.send(SseEmitter.event().name("delta").data(Map.of("content", delta)))));
+
+        correction.whenComplete((response, error) -> {
+            if (error != null) {
+                sender.enqueue(() -> emitter.completeWithError(error));
+                return;
+            }
+            sender.enqueue(() -> {
+                emitter.send(SseEmitter.event().name("done").data(response));
+                emitter.complete();
+            });
+        });
+        // Timeout, desconexión o cliente demasiado lento: se deja de pedir tokens al proveedor
+        sender.aborted().thenRun(() -> correction.cancel(true));
+        emitter.onTimeout(() -> correction.cancel(true));
+        emitter.onError(e -> correction.cancel(true));
+        return emitter;
+    }
+
+    /**
+     * Envía los eventos de un stream en orden, de a uno por vez, desde el pool de streaming.
+     * La cola es acotada: si el cliente no consume y se acumulan demasiados eventos, el stream se corta.
+     */
+    private static final class OrderedSseSender {
+
+        private final SseEmitter emitter;
+        private final Executor executor;
+        private final int maxPending;
+        private final Queue<SseAction> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final CompletableFuture<Void> aborted = new CompletableFuture<>();
+
+        private OrderedSseSender(SseEmitter emitter, Executor executor, int maxPending) {
+            this.emitter = emitter;
+            this.executor = executor;
+            this.maxPending = maxPending;
+        }
+
+        CompletableFuture<Void> aborted() {
+            return aborted;
+        }
+
+        void enqueue(SseAction action) {
+            if (aborted.isDone()) {
+                return;
+            }
+            if (pending.incrementAndGet() > maxPending) {
+                abort(new IllegalStateException("El cliente no consume el stream"));
+                return;
+            }
+            queue.add(action);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                abort(e);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseAction action;
+                while (!aborted.isDone() && (action = queue.poll()) != null) {
+                    pending.decrementAndGet();
+                    action.run();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("El cliente cerró el stream antes de terminar: {}", e.getMessage());
+                abort(e);
+            } finally {
+                draining.set(false);
+            }
+            // Un evento encolado mientras se liberaba el turno no debe quedar esperando
+            if (!queue.isEmpty() && !aborted.isDone()) {
+                schedule();
+            }
+        }
+
+        private void abort(Exception cause) {
+            if (aborted.complete(null)) {
+                queue.clear();
+                emitter.completeWithError(cause);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SseAction {
+        void run() throws IOException;
+    }
     
     @GetMapping("/debug/openai")
     public ResponseEntity<Map<String, Object>> debugOpenAI() {
@@ -50,4 +178,4 @@ public class AIControllerImpl implements AIController {
         }
         return ResponseEntity.ok(debug);
     }
-} 
\ No newline at end of file
+}
@@ -1,11 +1,16 @@
 package com.mypresentpast.backend.controller.impl;
 
 import com.mypresentpast.backend.controller.CollectionController;
+import com.mypresentpast.backend.dto.request.CollectionPostsBatchRequest;
 import com.mypresentpast.backend.dto.request.CreateCollectionAndSavePostRequest;
 import com.mypresentpast.backend.dto.request.CreateCollectionRequest;
+import com.mypresentpast.backend.dto.request.MoveCollectionPostsRequest;
+import com.mypresentpast.backend.dto.request.PostCollectionStatusBatchRequest;
 import com.mypresentpast.backend.dto.request.UpdateCollectionRequest;
 import com.mypresentpast.backend.dto.response.ApiResponse;
+import com.mypresentpast.backend.dto.response.CollectionPostsBatchResponse;
 import com.mypresentpast.backend.dto.response.CollectionSummaryResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
 import com.mypresentpast.backend.dto.response.PostCollectionStatusResponse;
 import com.mypresentpast.backend.dto.response.PostResponse;
 import com.mypresentpast.backend.service.CollectionService;
@@ -48,8 +53,8 @@ public class CollectionControllerImpl implements CollectionController {
     }
 
     @Override
-    public ResponseEntity<List<PostResponse>> getCollectionPosts(Long id) {
-        List<PostResponse> posts = collectionService.getCollectionPosts(id);
+    public ResponseEntity<CursorPageResponse<PostResponse>> getCollectionPosts(Long id, String cursor, Integer size) {
+        CursorPageResponse<PostResponse> posts = collectionService.getCollectionPosts(id, cursor, size);
         return ResponseEntity.ok(posts);
     }
 
@@ -59,6 +64,12 @@ public class CollectionControllerImpl implements CollectionController {
         return ResponseEntity.ok(status);
     }
 
+    @Override
+    public ResponseEntity<List<PostCollectionStatusResponse>> getPostCollectionStatuses(PostCollectionStatusBatchRequest request) {
+        List<PostCollectionStatusResponse> statuses = collectionService.getPostCollectionStatuses(request.getPostIds());
+        return ResponseEntity.ok(statuses);
+    }
+
     @Override
     public ResponseEntity<ApiResponse> addPostToCollection(Long collectionId, Long postId) {
         ApiResponse response = collectionService.addPostToCollection(collectionId, postId);
@@ -71,6 +82,28 @@ public class CollectionControllerImpl implements CollectionController {
         return ResponseEntity.ok(response);
     }
 
+    @Override
+    public ResponseEntity<CollectionPostsBatchResponse> addPostsToCollection(Long collectionId,
+                                                                             CollectionPostsBatchRequest request) {
+        CollectionPostsBatchResponse response = collectionService.addPostsToCollection(collectionId, request.getPostIds());
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<CollectionPostsBatchResponse> removePostsFromCollection(Long collectionId,
+                                                                                  CollectionPostsBatchRequest request) {
+        CollectionPostsBatchResponse response = collectionService.removePostsFromCollection(collectionId, request.getPostIds());
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<CollectionPostsBatchResponse> movePostsBetweenCollections(Long collectionId,
+                                                                                    MoveCollectionPostsRequest request) {
+        CollectionPostsBatchResponse response = collectionService.movePostsBetweenCollections(
+            collectionId, request.getTargetCollectionId(), request.getPostIds());
+        return ResponseEntity.ok(response);
+    }
+
     @Override
     public ResponseEntity<ApiResponse> createCollectionAndSavePost(CreateCollectionAndSavePostRequest request) {
         ApiResponse response = collectionService.createCollectionAndSavePost(request);
@@ -3,6 +3,7 @@ package com.mypresentpast.backend.controller.impl;
 import com.mypresentpast.backend.controller.FollowController;
 import com.mypresentpast.backend.dto.UserDto;
 import com.mypresentpast.backend.dto.response.ApiResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
 import com.mypresentpast.backend.dto.response.FollowStatsResponse;
 import com.mypresentpast.backend.service.FollowService;
 import java.util.List;
@@ -44,15 +45,15 @@ public class FollowControllerImpl implements FollowController {
     }
 
     @Override
-    public ResponseEntity<List<UserDto>> getFollowingByUserId(Long userId) {
-        List<UserDto> following = followService.getFollowingByUserId(userId);
+    public ResponseEntity<CursorPageResponse<UserDto>> getFollowingByUserId(Long userId, String cursor, Integer size) {
+        CursorPageResponse<UserDto> following = followService.getFollowingByUserId(userId, cursor, size);
         return ResponseEntity.ok(following);
 
     }
 
     @Override
-    public ResponseEntity<List<UserDto>> getFollowersByUserId(Long userId) {
-        List<UserDto> followers = followService.getFollowersByUserId(userId);
+    public ResponseEntity<CursorPageResponse<UserDto>> getFollowersByUserId(Long userId, String cursor, Integer size) {
+        CursorPageResponse<UserDto> followers = followService.getFollowersByUserId(userId, cursor, size);
         return ResponseEntity.ok(followers);
     }
 
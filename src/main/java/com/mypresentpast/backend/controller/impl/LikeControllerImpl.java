@@ -1,9 +1,11 @@
 package com.mypresentpast.backend.controller.impl;
 
 import com.mypresentpast.backend.controller.LikeController;
+import com.mypresentpast.backend.dto.request.LikeStatusBatchRequest;
 import com.mypresentpast.backend.dto.response.LikeStatusResponse;
 import com.mypresentpast.backend.dto.response.LikeToggleResponse;
 import com.mypresentpast.backend.service.LikeService;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -34,4 +36,10 @@ public class LikeControllerImpl implements LikeController {
         Long totalLikes = likeService.getTotalLikes(postId);
         return ResponseEntity.ok(totalLikes);
     }
+
+    @Override
+    public ResponseEntity<Map<Long, LikeStatusResponse>> getLikeStatuses(LikeStatusBatchRequest request) {
+        Map<Long, LikeStatusResponse> statuses = likeService.getLikeStatusesForCurrentUser(request.getPostIds());
+        return ResponseEntity.ok(statuses);
+    }
 }
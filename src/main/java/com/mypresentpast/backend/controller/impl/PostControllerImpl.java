@@ -6,6 +6,7 @@ import com.mypresentpast.backend.controller.PostController;
 import com.mypresentpast.backend.dto.request.CreatePostRequest;
 import com.mypresentpast.backend.dto.request.UpdatePostRequest;
 import com.mypresentpast.backend.dto.response.ApiResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
 import com.mypresentpast.backend.dto.response.MapResponse;
 import com.mypresentpast.backend.dto.response.PostResponse;
 import com.mypresentpast.backend.service.PostService;
@@ -41,30 +42,34 @@ public class PostControllerImpl implements PostController {
     }
 
     @Override
-    public ResponseEntity<List<PostResponse>> getPostsByUser(final Long id) {
-        List<PostResponse> response = postService.getPostsByUser(id);
+    public ResponseEntity<CursorPageResponse<PostResponse>> getPostsByUser(final Long id, String cursor, Integer size) {
+        CursorPageResponse<PostResponse> response = postService.getPostsByUser(id, cursor, size);
         return ResponseEntity.ok(response);
     }
 
     @Override
     public ResponseEntity<MapResponse> getMapData(
         double latMin, double latMax, double lonMin, double lonMax,
-        String category, LocalDate date, Boolean isVerified, Boolean isByIA, Long userId) {
+        String category, LocalDate date, Boolean isVerified, Boolean isByIA, Long userId, Integer zoom,
+        String cursor, Integer size) {
 
         if (date != null && date.isAfter(LocalDate.now())) {
             throw new IllegalArgumentException("No se pueden consultar fechas futuras");
         }
 
-        MapResponse response = postService.getMapData(
-            latMin, latMax, lonMin, lonMax,
-            category, date, isVerified, isByIA, userId
-        );
+        MapResponse response = (zoom != null)
+            ? postService.getMapClusters(
+                latMin, latMax, lonMin, lonMax,
+                category, date, isVerified, isByIA, userId, zoom)
+            : postService.getMapData(
+                latMin, latMax, lonMin, lonMax,
+                category, date, isVerified, isByIA, userId, cursor, size);
         return ResponseEntity.ok(response);
     }
 
     @Override
-    public ResponseEntity<PostResponse> getRandomPost() {
-        PostResponse response = postService.getRandomPost();
+    public ResponseEntity<PostResponse> getRandomPost(String category, Double latMin, Double latMax, Double lonMin, Double lonMax) {
+        PostResponse response = postService.getRandomPost(category, latMin, latMax, lonMin, lonMax);
         return ResponseEntity.ok(response);
     }
 
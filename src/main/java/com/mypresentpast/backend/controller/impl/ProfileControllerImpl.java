@@ -3,11 +3,12 @@ package com.mypresentpast.backend.controller.impl;
 import com.mypresentpast.backend.controller.ProfileController;
 import com.mypresentpast.backend.dto.request.ProfileUpdateRequest;
 import com.mypresentpast.backend.dto.request.profile.ChangePasswordRequest;
+import com.mypresentpast.backend.dto.response.AuthResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
 import com.mypresentpast.backend.dto.response.ProfileResponse;
 import com.mypresentpast.backend.dto.response.ProfileUpdateResponse;
 import com.mypresentpast.backend.dto.response.PostResponse;
 import com.mypresentpast.backend.dto.response.UrlResponse;
-import java.util.List;
 import com.mypresentpast.backend.service.ProfileService;
 import com.mypresentpast.backend.service.PostService;
 import com.mypresentpast.backend.utils.SecurityUtils;
@@ -39,10 +40,9 @@ public class ProfileControllerImpl implements ProfileController {
     }
 
     @Override
-    public ResponseEntity<Void> changeMyPassword(ChangePasswordRequest request) {
+    public ResponseEntity<AuthResponse> changeMyPassword(ChangePasswordRequest request) {
         Long currentUserId = SecurityUtils.getCurrentUserId();
-        profileService.changePassword(currentUserId, request);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(profileService.changePassword(currentUserId, request));
     }
 
     @Override
@@ -52,8 +52,8 @@ public class ProfileControllerImpl implements ProfileController {
     }
 
     @Override
-    public ResponseEntity<List<PostResponse>> getMyLikedPosts() {
-        List<PostResponse> likedPosts = postService.getLikedPostsByCurrentUser();
+    public ResponseEntity<CursorPageResponse<PostResponse>> getMyLikedPosts(String cursor, Integer size) {
+        CursorPageResponse<PostResponse> likedPosts = postService.getLikedPostsByCurrentUser(cursor, size);
         return ResponseEntity.ok(likedPosts);
     }
 }
@@ -0,0 +1,21 @@
+package com.mypresentpast.backend.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a cluster of posts on the map.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MapClusterDto {
+    private Double latitude;
+    private Double longitude;
+    private Long count;
+    private List<Long> postIds;
+}
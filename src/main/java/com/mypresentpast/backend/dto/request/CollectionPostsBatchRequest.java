@@ -0,0 +1,24 @@
+package com.mypresentpast.backend.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para agregar o quitar varios posts de una colección en una sola petición.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionPostsBatchRequest {
+
+    @NotEmpty(message = "Debe indicar al menos un post")
+    @Size(max = 100, message = "Máximo 100 posts por operación")
+    private List<@NotNull(message = "El ID del post no puede ser nulo") Long> postIds;
+}
@@ -0,0 +1,45 @@
+package com.mypresentpast.backend.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el resultado de una operación masiva sobre los posts de una colección:
+ * cuántos posts se aplicaron y el resultado de cada uno, en el orden pedido.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionPostsBatchResponse {
+
+    private Long collectionId;
+    private int succeeded;
+    private List<ItemResult> results;
+
+    /**
+     * Resultado de un post dentro de la operación.
+     */
+    public enum Outcome {
+        ADDED,
+        REMOVED,
+        MOVED,
+        ALREADY_IN_COLLECTION,
+        NOT_IN_COLLECTION,
+        POST_NOT_FOUND,
+        POST_NOT_AVAILABLE,
+        COLLECTION_FULL
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private Long postId;
+        private Outcome outcome;
+    }
+}
@@ -0,0 +1,27 @@
+package com.mypresentpast.backend.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO genérico para respuestas paginadas por cursor (keyset).
+ * Para pedir la página siguiente se reenvía next_cursor tal cual se recibió.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+
+    /**
+     * Cursor opaco de la página siguiente, null si no hay más resultados.
+     */
+    private String nextCursor;
+    private boolean hasMore;
+}
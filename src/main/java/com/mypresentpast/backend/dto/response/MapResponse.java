@@ -1,5 +1,6 @@
 package com.mypresentpast.backend.dto.response;
 
+import com.mypresentpast.backend.dto.MapClusterDto;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,4 +20,14 @@ public class MapResponse {
      * Lista completa de posts en el área solicitada
      */
     private List<PostResponse> posts;
+
+    /**
+     * Agrupaciones de posts cuando se consulta en modo clustering (zoom bajo)
+     */
+    private List<MapClusterDto> clusters;
+
+    /**
+     * Cursor para pedir los posts restantes del área, null si se devolvieron todos
+     */
+    private String nextCursor;
 } 
\ No newline at end of file
@@ -8,7 +8,8 @@ import lombok.*;
  */
 @Entity
 @Table(name = "follow",
-    uniqueConstraints = @UniqueConstraint(columnNames = {"follower_id", "followee_id"}))
+    uniqueConstraints = @UniqueConstraint(columnNames = {"follower_id", "followee_id"}),
+    indexes = @Index(name = "idx_follow_followee_id", columnList = "followee_id, id"))
 @Data
 @Builder
 @NoArgsConstructor
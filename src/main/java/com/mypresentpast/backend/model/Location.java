@@ -1,10 +1,14 @@
 package com.mypresentpast.backend.model;
 
+import com.mypresentpast.backend.utils.GeoGrid;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -16,7 +20,7 @@ import lombok.NoArgsConstructor;
  * Entidad representante de Location.
  */
 @Entity
-@Table(name = "location")
+@Table(name = "location", indexes = @Index(name = "idx_location_geo_cell", columnList = "geo_cell"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -36,4 +40,14 @@ public class Location {
 
     @Column(nullable = false)
     private Double longitude;
+
+    // Celda de la grilla espacial (ver GeoGrid), usada por las consultas del mapa
+    @Column(name = "geo_cell")
+    private Long geoCell;
+
+    @PrePersist
+    @PreUpdate
+    public void assignGeoCell() {
+        this.geoCell = GeoGrid.cellOf(latitude, longitude);
+    }
 }
@@ -11,8 +11,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
@@ -23,12 +26,18 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * Entidad representante de Post.
  */
 @Entity
-@Table(name = "post")
+@Table(name = "post", indexes = @Index(name = "idx_post_location_id", columnList = "location_id"))
+@NamedEntityGraph(name = "Post.details", attributeNodes = {
+    @NamedAttributeNode("author"),
+    @NamedAttributeNode("location"),
+    @NamedAttributeNode("media")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -83,4 +92,13 @@ public class Post {
     @Column(nullable = false)
     @Builder.Default
     private PostStatus status = PostStatus.ACTIVE;
+
+    /**
+     * Contador desnormalizado de likes. Solo se modifica con UPDATE atómicos
+     * (ver PostRepository), por eso no se incluye en los UPDATE de la entidad.
+     */
+    @Column(name = "like_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long likeCount = 0L;
 }
@@ -2,6 +2,7 @@ package com.mypresentpast.backend.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -51,6 +52,29 @@ public class User implements UserDetails {
     @Column(name = "avatar")
     private String avatar;
 
+    // Versión de los tokens emitidos; al incrementarla se invalidan los tokens anteriores
+    @Column(name = "token_version", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer tokenVersion = 0;
+
+    // Contadores desnormalizados para el perfil; solo se modifican con UPDATE atómicos (ver UserRepository)
+    @Column(name = "follower_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long followerCount = 0L;
+
+    @Column(name = "following_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long followingCount = 0L;
+
+    // Solo posts en estado ACTIVE
+    @Column(name = "post_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long postCount = 0L;
+
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Post> posts;
 
@@ -1,9 +1,15 @@
 package com.mypresentpast.backend.repository;
 
 import com.mypresentpast.backend.model.CollectionPost;
+import com.mypresentpast.backend.repository.projection.CollectionPostView;
+import com.mypresentpast.backend.repository.projection.SavedPostView;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -30,21 +36,57 @@ public interface CollectionPostRepository extends JpaRepository<CollectionPost,
     long countByCollectionId(Long collectionId);
 
     /**
-     * Obtiene todos los posts de una colección ordenados por fecha de agregado.
+     * De los posts indicados, devuelve los IDs de los que ya están en la colección.
      */
-    List<CollectionPost> findByCollectionIdOrderByAddedAtDesc(Long collectionId);
+    @Query("SELECT cp.post.id FROM CollectionPost cp " +
+           "WHERE cp.collection.id = :collectionId AND cp.post.id IN :postIds")
+    List<Long> findPostIdsInCollection(@Param("collectionId") Long collectionId,
+                                       @Param("postIds") Collection<Long> postIds);
 
     /**
-     * Obtiene las colecciones donde está guardado un post para un usuario específico.
+     * Obtiene los posts de una colección anteriores al cursor (added_at, id), ya proyectados
+     * con autor y ubicación, ordenados por fecha de agregado (más recientes primero).
      */
-    @Query("SELECT cp FROM CollectionPost cp " +
-           "WHERE cp.post.id = :postId " +
-           "AND cp.collection.author.id = :authorId " +
-           "ORDER BY cp.collection.name")
-    List<CollectionPost> findByPostIdAndCollectionAuthorId(@Param("postId") Long postId, @Param("authorId") Long authorId);
+    @Query("SELECT cp.id AS collectionPostId, cp.addedAt AS addedAt, " +
+           "p.id AS postId, p.title AS title, p.content AS content, p.postedAt AS postedAt, p.date AS date, " +
+           "p.isByIA AS isByIA, p.isVerified AS isVerified, p.category AS category, p.status AS status, " +
+           "a.id AS authorId, a.profileUsername AS authorName, a.role AS authorRole, a.avatar AS authorAvatar, " +
+           "l.id AS locationId, l.address AS locationAddress, " +
+           "l.latitude AS locationLatitude, l.longitude AS locationLongitude " +
+           "FROM CollectionPost cp " +
+           "JOIN cp.post p " +
+           "JOIN p.author a " +
+           "LEFT JOIN p.location l " +
+           "WHERE cp.collection.id = :collectionId " +
+           "AND (cp.addedAt < :cursorAddedAt OR (cp.addedAt = :cursorAddedAt AND cp.id < :cursorId)) " +
+           "ORDER BY cp.addedAt DESC, cp.id DESC")
+    List<CollectionPostView> findPageByCollectionId(@Param("collectionId") Long collectionId,
+                                                    @Param("cursorAddedAt") LocalDateTime cursorAddedAt,
+                                                    @Param("cursorId") Long cursorId,
+                                                    Pageable pageable);
+
+    /**
+     * Obtiene todos los posts guardados en las colecciones de un usuario, con id y nombre de la colección,
+     * ordenados por post y luego por nombre de colección.
+     */
+    @Query("SELECT cp.post.id AS postId, c.id AS collectionId, c.name AS collectionName " +
+           "FROM CollectionPost cp JOIN cp.collection c " +
+           "WHERE c.author.id = :authorId " +
+           "ORDER BY cp.post.id, c.name")
+    List<SavedPostView> findSavedPostsByAuthorId(@Param("authorId") Long authorId);
 
     /**
      * Elimina la relación entre una colección y un post.
      */
     void deleteByCollectionIdAndPostId(Long collectionId, Long postId);
+
+    /**
+     * Quita varios posts de una colección con una única sentencia.
+     *
+     * @return cantidad de filas eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM CollectionPost cp WHERE cp.collection.id = :collectionId AND cp.post.id IN :postIds")
+    int deleteByCollectionIdAndPostIds(@Param("collectionId") Long collectionId,
+                                       @Param("postIds") Collection<Long> postIds);
 }
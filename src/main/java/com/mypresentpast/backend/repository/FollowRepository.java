@@ -1,7 +1,9 @@
 package com.mypresentpast.backend.repository;
 
 import com.mypresentpast.backend.model.Follow;
-import com.mypresentpast.backend.model.User;
+import com.mypresentpast.backend.repository.projection.FollowEdgeView;
+import com.mypresentpast.backend.repository.projection.FollowUserView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository para operaciones relacionadas con Follow.
@@ -27,16 +30,40 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     boolean existsByFollowerIdAndFolloweeId(Long followerId, Long followeeId);
 
     /**
-     * Obtiene todos los seguidores de un usuario.
+     * Obtiene los seguidores de un usuario, del seguimiento más reciente al más antiguo,
+     * a partir del cursor (id de la relación).
      */
-    @Query("SELECT f.follower FROM Follow f WHERE f.followee.id = :userId")
-    List<User> findFollowersByUserId(@Param("userId") Long userId);
+    @Query("SELECT f.id AS followId, u.id AS id, u.profileUsername AS profileUsername, u.role AS role, u.avatar AS avatar " +
+        "FROM Follow f JOIN f.follower u " +
+        "WHERE f.followee.id = :userId AND f.id < :cursorId " +
+        "ORDER BY f.id DESC")
+    List<FollowUserView> findFollowersByUserId(@Param("userId") Long userId,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable pageable);
 
     /**
-     * Obtiene todos los usuarios que sigue un usuario.
+     * Obtiene los usuarios que sigue un usuario, del seguimiento más reciente al más antiguo,
+     * a partir del cursor (id de la relación).
      */
-    @Query("SELECT f.followee FROM Follow f WHERE f.follower.id = :userId")
-    List<User> findFollowingByUserId(@Param("userId") Long userId);
+    @Query("SELECT f.id AS followId, u.id AS id, u.profileUsername AS profileUsername, u.role AS role, u.avatar AS avatar " +
+        "FROM Follow f JOIN f.followee u " +
+        "WHERE f.follower.id = :userId AND f.id < :cursorId " +
+        "ORDER BY f.id DESC")
+    List<FollowUserView> findFollowingByUserId(@Param("userId") Long userId,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable pageable);
+
+    /**
+     * Ids de los seguidores de un usuario.
+     */
+    @Query("SELECT f.follower.id FROM Follow f WHERE f.followee.id = :userId")
+    List<Long> findFollowerIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Ids de los usuarios que sigue un usuario.
+     */
+    @Query("SELECT f.followee.id FROM Follow f WHERE f.follower.id = :userId")
+    List<Long> findFollowingIdsByUserId(@Param("userId") Long userId);
 
     /**
      * Cuenta el número de seguidores de un usuario.
@@ -48,4 +75,11 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
      */
     long countByFollowerId(Long followerId);
 
+    /**
+     * Recorre todas las relaciones de seguimiento como pares de ids, sin cargar entidades.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @Query("SELECT f.follower.id AS followerId, f.followee.id AS followeeId FROM Follow f")
+    Stream<FollowEdgeView> streamAllEdges();
+
 }
\ No newline at end of file
@@ -19,4 +19,9 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
         "(l.longitude BETWEEN :longitude - 0.001 AND :longitude + 0.001)")
     List<Location> findLocationsByProximity(@Param("latitude") Double latitude,
                                             @Param("longitude") Double longitude);
+
+    /**
+     * Busca ubicaciones que todavía no tienen celda de la grilla espacial asignada.
+     */
+    List<Location> findByGeoCellIsNull();
 } 
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.mypresentpast.backend.repository;
 
 import com.mypresentpast.backend.model.Media;
+import com.mypresentpast.backend.repository.projection.MediaView;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -17,4 +20,11 @@ public interface MediaRepository extends JpaRepository<Media, Long> {
      */
     @Query("SELECT m FROM Media m WHERE m.post IS NULL ORDER BY m.id ASC")
     List<Media> findAvailableMedia();
+
+    /**
+     * Obtiene en una sola consulta las imágenes de varios posts, ordenadas por post y por ID.
+     */
+    @Query("SELECT m.post.id AS postId, m.id AS id, m.type AS type, m.url AS url " +
+           "FROM Media m WHERE m.post.id IN :postIds ORDER BY m.post.id, m.id")
+    List<MediaView> findViewsByPostIds(@Param("postIds") Collection<Long> postIds);
 } 
\ No newline at end of file
@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,4 +30,16 @@ public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
      * Cuenta el número total de likes de un post.
      */
     long countByPostId(Long postId);
+
+    /**
+     * Obtiene en una sola consulta, para cada post indicado, el contador de likes
+     * y si el usuario le dio like (0 o 1). Los posts inexistentes no aparecen en el resultado.
+     * Cada fila es [postId, totalLikes, likedByUser].
+     */
+    @Query("SELECT p.id, p.likeCount, COUNT(pl) " +
+           "FROM Post p " +
+           "LEFT JOIN PostLike pl ON pl.post = p AND pl.user.id = :userId " +
+           "WHERE p.id IN :postIds " +
+           "GROUP BY p.id, p.likeCount")
+    List<Object[]> findLikeStatsByPostIds(@Param("postIds") Collection<Long> postIds, @Param("userId") Long userId);
 }
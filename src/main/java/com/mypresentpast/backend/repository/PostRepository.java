@@ -2,9 +2,18 @@ package com.mypresentpast.backend.repository;
 
 import com.mypresentpast.backend.enums.PostStatus;
 import com.mypresentpast.backend.model.Post;
+import com.mypresentpast.backend.repository.projection.LikedPostView;
+import com.mypresentpast.backend.repository.projection.MapClusterView;
+import com.mypresentpast.backend.repository.projection.PostStatusView;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,8 +27,10 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     /**
      * Query única y elegante con filtros opcionales.
      * Incluye filtros por etiquetas (verificada y hecha por IA) y usuario.
+     * Devuelve solo los IDs ordenados; los posts se cargan luego con findWithDetailsByIdIn.
+     * Paginado por keyset sobre (posted_at, id): devuelve los posts anteriores al cursor.
      */
-    @Query(value = "SELECT p.* FROM post p " +
+    @Query(value = "SELECT p.id FROM post p " +
         "JOIN location l ON p.location_id = l.id " +
         "WHERE l.latitude BETWEEN :latMin AND :latMax " +
         "AND l.longitude BETWEEN :lonMin AND :lonMax " +
@@ -29,9 +40,10 @@ public interface PostRepository extends JpaRepository<Post, Long> {
         "AND (:isVerified IS NULL OR p.is_verified = :isVerified) " +
         "AND (:isByIA IS NULL OR p.is_by_ia = :isByIA) " +
         "AND (:userId IS NULL OR p.author_id = :userId) " +
-        "ORDER BY p.posted_at DESC",
+        "AND (p.posted_at < :cursorPostedAt OR (p.posted_at = :cursorPostedAt AND p.id < :cursorId)) " +
+        "ORDER BY p.posted_at DESC, p.id DESC",
         nativeQuery = true)
-    List<Post> findPostsInAreaWithFilters(
+    List<Long> findPostIdsInAreaWithFilters(
         @Param("latMin") double latMin,
         @Param("latMax") double latMax,
         @Param("lonMin") double lonMin,
@@ -40,18 +52,189 @@ public interface PostRepository extends JpaRepository<Post, Long> {
         @Param("date") LocalDate date,
         @Param("isVerified") Boolean isVerified,
         @Param("isByIA") Boolean isByIA,
-        @Param("userId") Long userId
+        @Param("userId") Long userId,
+        @Param("cursorPostedAt") LocalDate cursorPostedAt,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
     );
 
     /**
-     * Busca posts activos que tengan ubicación para el endpoint random.
+     * Variante de findPostIdsInAreaWithFilters que usa el índice espacial.
+     * Primero filtra por las celdas de la grilla (location.geo_cell) que cubren el área
+     * y luego recorta por coordenadas exactas, evitando el escaneo completo de location.
      */
-    List<Post> findByStatusAndLocationIsNotNull(PostStatus status);
+    @Query(value = "SELECT p.id FROM location l " +
+        "JOIN post p ON p.location_id = l.id " +
+        "WHERE l.geo_cell IN (:cells) " +
+        "AND l.latitude BETWEEN :latMin AND :latMax " +
+        "AND l.longitude BETWEEN :lonMin AND :lonMax " +
+        "AND p.status = 'ACTIVE' " +
+        "AND (NULLIF(:category, '') IS NULL OR p.category = :category) " +
+        "AND (CAST(:date AS DATE) IS NULL OR p.date = CAST(:date AS DATE)) " +
+        "AND (:isVerified IS NULL OR p.is_verified = :isVerified) " +
+        "AND (:isByIA IS NULL OR p.is_by_ia = :isByIA) " +
+        "AND (:userId IS NULL OR p.author_id = :userId) " +
+        "AND (p.posted_at < :cursorPostedAt OR (p.posted_at = :cursorPostedAt AND p.id < :cursorId)) " +
+        "ORDER BY p.posted_at DESC, p.id DESC",
+        nativeQuery = true)
+    List<Long> findPostIdsInCellsWithFilters(
+        @Param("cells") Collection<Long> cells,
+        @Param("latMin") double latMin,
+        @Param("latMax") double latMax,
+        @Param("lonMin") double lonMin,
+        @Param("lonMax") double lonMax,
+        @Param("category") String category,
+        @Param("date") LocalDate date,
+        @Param("isVerified") Boolean isVerified,
+        @Param("isByIA") Boolean isByIA,
+        @Param("userId") Long userId,
+        @Param("cursorPostedAt") LocalDate cursorPostedAt,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
+
+    /**
+     * Agrupa en la base los posts del área en clusters de cellsPerCluster x cellsPerCluster celdas
+     * de la grilla (location.geo_cell), con los mismos filtros que findPostIdsInAreaWithFilters.
+     * Devuelve a lo sumo sampleSize filas por cluster (sus posts más recientes); cada fila repite
+     * el centroide y el total del cluster, así nunca viajan todos los puntos del área.
+     */
+    @Query(value = "SELECT ranked.cluster_key AS clusterKey, ranked.post_id AS postId, " +
+        "ranked.latitude AS latitude, ranked.longitude AS longitude, ranked.total AS total FROM (" +
+        "SELECT c.cluster_key, c.post_id, " +
+        "AVG(c.latitude) OVER (PARTITION BY c.cluster_key) AS latitude, " +
+        "AVG(c.longitude) OVER (PARTITION BY c.cluster_key) AS longitude, " +
+        "COUNT(*) OVER (PARTITION BY c.cluster_key) AS total, " +
+        "ROW_NUMBER() OVER (PARTITION BY c.cluster_key ORDER BY c.posted_at DESC, c.post_id DESC) AS sample_rank, " +
+        "MAX(c.posted_at) OVER (PARTITION BY c.cluster_key) AS latest " +
+        "FROM (" +
+        "SELECT (l.geo_cell / :lonCells / :cellsPerCluster) * :lonCells + MOD(l.geo_cell, :lonCells) / :cellsPerCluster AS cluster_key, " +
+        "p.id AS post_id, p.posted_at, l.latitude, l.longitude FROM post p " +
+        "JOIN location l ON p.location_id = l.id " +
+        "WHERE l.latitude BETWEEN :latMin AND :latMax " +
+        "AND l.longitude BETWEEN :lonMin AND :lonMax " +
+        "AND p.status = 'ACTIVE' " +
+        "AND (NULLIF(:category, '') IS NULL OR p.category = :category) " +
+        "AND (CAST(:date AS DATE) IS NULL OR p.date = CAST(:date AS DATE)) " +
+        "AND (:isVerified IS NULL OR p.is_verified = :isVerified) " +
+        "AND (:isByIA IS NULL OR p.is_by_ia = :isByIA) " +
+        "AND (:userId IS NULL OR p.author_id = :userId)" +
+        ") c" +
+        ") ranked " +
+        "WHERE ranked.sample_rank <= :sampleSize " +
+        "ORDER BY ranked.latest DESC, ranked.cluster_key, ranked.sample_rank",
+        nativeQuery = true)
+    List<MapClusterView> findMapClustersInAreaWithFilters(
+        @Param("latMin") double latMin,
+        @Param("latMax") double latMax,
+        @Param("lonMin") double lonMin,
+        @Param("lonMax") double lonMax,
+        @Param("category") String category,
+        @Param("date") LocalDate date,
+        @Param("isVerified") Boolean isVerified,
+        @Param("isByIA") Boolean isByIA,
+        @Param("userId") Long userId,
+        @Param("lonCells") long lonCells,
+        @Param("cellsPerCluster") long cellsPerCluster,
+        @Param("sampleSize") int sampleSize
+    );
+
+    /**
+     * Obtiene el mayor ID de post, usado como límite superior para elegir un post al azar.
+     * Se resuelve con el índice de la clave primaria.
+     */
+    @Query("SELECT MAX(p.id) FROM Post p")
+    Long findMaxId();
+
+    /**
+     * IDs de los posts activos con ubicación dentro del rango [fromId, toId] que cumplen los filtros.
+     * El rango acota la lectura del índice de la clave primaria a toId - fromId + 1 filas.
+     */
+    @Query(value = "SELECT p.id FROM post p " +
+        "JOIN location l ON p.location_id = l.id " +
+        "WHERE p.id BETWEEN :fromId AND :toId " +
+        "AND p.status = 'ACTIVE' " +
+        "AND (NULLIF(:category, '') IS NULL OR p.category = :category) " +
+        "AND l.latitude BETWEEN :latMin AND :latMax " +
+        "AND l.longitude BETWEEN :lonMin AND :lonMax " +
+        "ORDER BY p.id",
+        nativeQuery = true)
+    List<Long> findRandomCandidateIdsInRange(
+        @Param("fromId") long fromId,
+        @Param("toId") long toId,
+        @Param("category") String category,
+        @Param("latMin") double latMin,
+        @Param("latMax") double latMax,
+        @Param("lonMin") double lonMin,
+        @Param("lonMax") double lonMax
+    );
+
+    /**
+     * Cantidad de posts activos con ubicación que cumplen los filtros del post aleatorio.
+     */
+    @Query(value = "SELECT COUNT(*) FROM post p " +
+        "JOIN location l ON p.location_id = l.id " +
+        "WHERE p.status = 'ACTIVE' " +
+        "AND (NULLIF(:category, '') IS NULL OR p.category = :category) " +
+        "AND l.latitude BETWEEN :latMin AND :latMax " +
+        "AND l.longitude BETWEEN :lonMin AND :lonMax",
+        nativeQuery = true)
+    long countRandomCandidates(
+        @Param("category") String category,
+        @Param("latMin") double latMin,
+        @Param("latMax") double latMax,
+        @Param("lonMin") double lonMin,
+        @Param("lonMax") double lonMax
+    );
+
+    /**
+     * ID del post en la posición offset (por ID) entre los que cumplen los filtros del post aleatorio.
+     */
+    @Query(value = "SELECT p.id FROM post p " +
+        "JOIN location l ON p.location_id = l.id " +
+        "WHERE p.status = 'ACTIVE' " +
+        "AND (NULLIF(:category, '') IS NULL OR p.category = :category) " +
+        "AND l.latitude BETWEEN :latMin AND :latMax " +
+        "AND l.longitude BETWEEN :lonMin AND :lonMax " +
+        "ORDER BY p.id " +
+        "LIMIT 1 OFFSET :offset",
+        nativeQuery = true)
+    Long findRandomCandidateIdAtOffset(
+        @Param("offset") long offset,
+        @Param("category") String category,
+        @Param("latMin") double latMin,
+        @Param("latMax") double latMax,
+        @Param("lonMin") double lonMin,
+        @Param("lonMax") double lonMax
+    );
+
+    /**
+     * Obtiene los IDs de los posts de un usuario anteriores al cursor (posted_at, id),
+     * del más reciente al más antiguo.
+     */
+    @Query("SELECT p.id FROM Post p " +
+        "WHERE p.author.id = :authorId " +
+        "AND (p.postedAt < :cursorPostedAt OR (p.postedAt = :cursorPostedAt AND p.id < :cursorId)) " +
+        "ORDER BY p.postedAt DESC, p.id DESC")
+    List<Long> findPostIdsByAuthorId(
+        @Param("authorId") Long authorId,
+        @Param("cursorPostedAt") LocalDate cursorPostedAt,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
 
     /**
-     * Busca posts por usuario.
+     * Carga los posts indicados con autor, ubicación y media en una sola consulta.
+     * No garantiza el orden de los IDs recibidos.
      */
-    List<Post> findByAuthorId(Long id);
+    @EntityGraph("Post.details")
+    List<Post> findWithDetailsByIdIn(Collection<Long> ids);
+
+    /**
+     * Busca un post con autor, ubicación y media ya cargados.
+     */
+    @EntityGraph("Post.details")
+    Optional<Post> findWithDetailsById(Long id);
 
     /**
      * Cuenta el número de posts activos de un usuario.
@@ -60,12 +243,62 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     /**
      * Obtiene los posts que un usuario ha likeado, ordenados por fecha de like (más recientes primero).
+     * Paginado por keyset sobre (post_like.created_at, post_like.id).
      */
-    @Query(value = "SELECT p.* FROM post p " +
-        "INNER JOIN post_like pl ON p.id = pl.post_id " +
-        "WHERE pl.user_id = :userId " +
-        "AND p.status = 'ACTIVE' " +
-        "ORDER BY pl.created_at DESC",
+    @Query("SELECT pl.id AS likeId, p.id AS postId, pl.createdAt AS likedAt " +
+        "FROM PostLike pl JOIN pl.post p " +
+        "WHERE pl.user.id = :userId " +
+        "AND p.status = com.mypresentpast.backend.enums.PostStatus.ACTIVE " +
+        "AND (pl.createdAt < :cursorLikedAt OR (pl.createdAt = :cursorLikedAt AND pl.id < :cursorId)) " +
+        "ORDER BY pl.createdAt DESC, pl.id DESC")
+    List<LikedPostView> findLikedPostsByUserId(
+        @Param("userId") Long userId,
+        @Param("cursorLikedAt") LocalDateTime cursorLikedAt,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
+
+    /**
+     * Suma un like al contador del post de forma atómica.
+     */
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount + 1 WHERE p.id = :postId")
+    int incrementLikeCount(@Param("postId") Long postId);
+
+    /**
+     * Resta un like al contador del post de forma atómica, sin bajar de cero.
+     */
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount - 1 WHERE p.id = :postId AND p.likeCount > 0")
+    int decrementLikeCount(@Param("postId") Long postId);
+
+    /**
+     * Lee solo el estado del post, sin cargar la entidad.
+     */
+    @Query("SELECT p.status FROM Post p WHERE p.id = :postId")
+    Optional<PostStatus> findStatusById(@Param("postId") Long postId);
+
+    /**
+     * Lee id y estado de varios posts en una sola consulta; los que no existen no aparecen.
+     */
+    @Query("SELECT p.id AS id, p.status AS status FROM Post p WHERE p.id IN :postIds")
+    List<PostStatusView> findStatusesByIds(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Lee el contador de likes directamente de la base, sin pasar por la entidad en memoria.
+     */
+    @Query("SELECT p.likeCount FROM Post p WHERE p.id = :postId")
+    Long findLikeCountById(@Param("postId") Long postId);
+
+    /**
+     * Recalcula like_count a partir de post_like solo en los posts cuyo contador difiere.
+     *
+     * @return cantidad de posts corregidos
+     */
+    @Modifying
+    @Query(value = "UPDATE post SET like_count = " +
+        "(SELECT COUNT(*) FROM post_like pl WHERE pl.post_id = post.id) " +
+        "WHERE like_count <> (SELECT COUNT(*) FROM post_like pl WHERE pl.post_id = post.id)",
         nativeQuery = true)
-    List<Post> findLikedPostsByUserId(@Param("userId") Long userId);
-}
\ No newline at end of file
+    int reconcileLikeCounts();
+}
@@ -2,6 +2,9 @@ package com.mypresentpast.backend.repository;
 
 import com.mypresentpast.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -14,4 +17,70 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     boolean existsByProfileUsername(String profileUsername);
+
+    /**
+     * Lee solo la versión de token del usuario, sin cargar la entidad.
+     */
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :userId")
+    Integer findTokenVersionById(@Param("userId") Long userId);
+
+    /**
+     * Suma delta (positivo o negativo) a follower_count, sin dejarlo por debajo de cero.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.followerCount = u.followerCount + :delta " +
+        "WHERE u.id = :userId AND u.followerCount + :delta >= 0")
+    int adjustFollowerCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    /**
+     * Suma delta (positivo o negativo) a following_count, sin dejarlo por debajo de cero.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.followingCount = u.followingCount + :delta " +
+        "WHERE u.id = :userId AND u.followingCount + :delta >= 0")
+    int adjustFollowingCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    /**
+     * Suma delta (positivo o negativo) a post_count, sin dejarlo por debajo de cero.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.postCount = u.postCount + :delta " +
+        "WHERE u.id = :userId AND u.postCount + :delta >= 0")
+    int adjustPostCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    /**
+     * Recalcula follower_count a partir de follow solo en los usuarios cuyo contador difiere.
+     *
+     * @return cantidad de usuarios corregidos
+     */
+    @Modifying
+    @Query(value = "UPDATE user_account SET follower_count = " +
+        "(SELECT COUNT(*) FROM follow f WHERE f.followee_id = user_account.id_user_account) " +
+        "WHERE follower_count <> (SELECT COUNT(*) FROM follow f WHERE f.followee_id = user_account.id_user_account)",
+        nativeQuery = true)
+    int reconcileFollowerCounts();
+
+    /**
+     * Recalcula following_count a partir de follow solo en los usuarios cuyo contador difiere.
+     *
+     * @return cantidad de usuarios corregidos
+     */
+    @Modifying
+    @Query(value = "UPDATE user_account SET following_count = " +
+        "(SELECT COUNT(*) FROM follow f WHERE f.follower_id = user_account.id_user_account) " +
+        "WHERE following_count <> (SELECT COUNT(*) FROM follow f WHERE f.follower_id = user_account.id_user_account)",
+        nativeQuery = true)
+    int reconcileFollowingCounts();
+
+    /**
+     * Recalcula post_count a partir de los posts ACTIVE solo en los usuarios cuyo contador difiere.
+     *
+     * @return cantidad de usuarios corregidos
+     */
+    @Modifying
+    @Query(value = "UPDATE user_account SET post_count = " +
+        "(SELECT COUNT(*) FROM post p WHERE p.author_id = user_account.id_user_account AND p.status = 'ACTIVE') " +
+        "WHERE post_count <> (SELECT COUNT(*) FROM post p WHERE p.author_id = user_account.id_user_account AND p.status = 'ACTIVE')",
+        nativeQuery = true)
+    int reconcilePostCounts();
 }
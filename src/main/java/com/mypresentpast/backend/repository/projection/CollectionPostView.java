@@ -0,0 +1,52 @@
+package com.mypresentpast.backend.repository.projection;
+
+import com.mypresentpast.backend.enums.Category;
+import com.mypresentpast.backend.enums.PostStatus;
+import com.mypresentpast.backend.model.UserRole;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Proyección plana de un post guardado en una colección, con su autor y ubicación,
+ * y los datos de la relación (id y fecha de agregado) usados como cursor.
+ */
+public interface CollectionPostView {
+
+    Long getCollectionPostId();
+
+    LocalDateTime getAddedAt();
+
+    Long getPostId();
+
+    String getTitle();
+
+    String getContent();
+
+    LocalDate getPostedAt();
+
+    LocalDate getDate();
+
+    Boolean getIsByIA();
+
+    Boolean getIsVerified();
+
+    Category getCategory();
+
+    PostStatus getStatus();
+
+    Long getAuthorId();
+
+    String getAuthorName();
+
+    UserRole getAuthorRole();
+
+    String getAuthorAvatar();
+
+    Long getLocationId();
+
+    String getLocationAddress();
+
+    Double getLocationLatitude();
+
+    Double getLocationLongitude();
+}
@@ -0,0 +1,11 @@
+package com.mypresentpast.backend.repository.projection;
+
+/**
+ * Proyección de una relación de seguimiento: solo los ids de ambos usuarios.
+ */
+public interface FollowEdgeView {
+
+    Long getFollowerId();
+
+    Long getFolloweeId();
+}
@@ -0,0 +1,20 @@
+package com.mypresentpast.backend.repository.projection;
+
+import com.mypresentpast.backend.model.UserRole;
+
+/**
+ * Proyección de un usuario en una lista de seguidores o seguidos: solo lo que muestra la lista,
+ * más el id de la relación, usado como cursor.
+ */
+public interface FollowUserView {
+
+    Long getFollowId();
+
+    Long getId();
+
+    String getProfileUsername();
+
+    UserRole getRole();
+
+    String getAvatar();
+}
@@ -0,0 +1,15 @@
+package com.mypresentpast.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de un like del usuario: el post likeado y los datos del like usados como cursor.
+ */
+public interface LikedPostView {
+
+    Long getLikeId();
+
+    Long getPostId();
+
+    LocalDateTime getLikedAt();
+}
@@ -0,0 +1,18 @@
+package com.mypresentpast.backend.repository.projection;
+
+/**
+ * Fila de un cluster del mapa calculado en la base: uno de sus posts más recientes
+ * junto con el centroide y el total del cluster, que se repiten en cada fila del mismo cluster.
+ */
+public interface MapClusterView {
+
+    Long getClusterKey();
+
+    Long getPostId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    Long getTotal();
+}
@@ -0,0 +1,17 @@
+package com.mypresentpast.backend.repository.projection;
+
+import com.mypresentpast.backend.enums.MediaType;
+
+/**
+ * Proyección de una imagen junto al id del post al que pertenece.
+ */
+public interface MediaView {
+
+    Long getPostId();
+
+    Long getId();
+
+    MediaType getType();
+
+    String getUrl();
+}
@@ -0,0 +1,13 @@
+package com.mypresentpast.backend.repository.projection;
+
+import com.mypresentpast.backend.enums.PostStatus;
+
+/**
+ * Proyección mínima de un post: solo su id y su estado.
+ */
+public interface PostStatusView {
+
+    Long getId();
+
+    PostStatus getStatus();
+}
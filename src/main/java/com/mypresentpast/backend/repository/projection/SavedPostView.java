@@ -0,0 +1,13 @@
+package com.mypresentpast.backend.repository.projection;
+
+/**
+ * Proyección de un post guardado: el post y la colección (id y nombre) que lo contiene.
+ */
+public interface SavedPostView {
+
+    Long getPostId();
+
+    Long getCollectionId();
+
+    String getCollectionName();
+}
@@ -2,6 +2,8 @@ package com.mypresentpast.backend.service;
 
 import com.mypresentpast.backend.dto.request.CorrectContentRequest;
 import com.mypresentpast.backend.dto.response.CorrectContentResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Servicio para funcionalidades de Inteligencia Artificial.
@@ -16,4 +18,15 @@ public interface AIService {
      * @return el contenido corregido con metadatos
      */
     CorrectContentResponse correctContent(CorrectContentRequest request);
-} 
\ No newline at end of file
+
+    /**
+     * Corrige el contenido usando IA en modo streaming.
+     * Los fragmentos corregidos se entregan a onDelta a medida que el proveedor los genera.
+     * Si la corrección falla, el futuro se completa con el contenido original sin cambios.
+     *
+     * @param request el contenido a corregir
+     * @param onDelta recibe los fragmentos del texto corregido
+     * @return futuro con el contenido corregido completo y sus metadatos
+     */
+    CompletableFuture<CorrectContentResponse> correctContentStream(CorrectContentRequest request, Consumer<String> onDelta);
+}
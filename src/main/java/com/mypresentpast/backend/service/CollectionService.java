@@ -4,7 +4,9 @@ import com.mypresentpast.backend.dto.request.CreateCollectionAndSavePostRequest;
 import com.mypresentpast.backend.dto.request.CreateCollectionRequest;
 import com.mypresentpast.backend.dto.request.UpdateCollectionRequest;
 import com.mypresentpast.backend.dto.response.ApiResponse;
+import com.mypresentpast.backend.dto.response.CollectionPostsBatchResponse;
 import com.mypresentpast.backend.dto.response.CollectionSummaryResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
 import com.mypresentpast.backend.dto.response.PostCollectionStatusResponse;
 import com.mypresentpast.backend.dto.response.PostResponse;
 import java.util.List;
@@ -46,12 +48,14 @@ public interface CollectionService {
     void deleteCollection(Long id);
 
     /**
-     * Obtener posts de una colección.
+     * Obtener posts de una colección, paginados por cursor.
      *
-     * @param id ID de la colección
-     * @return lista de posts en la colección
+     * @param id     ID de la colección
+     * @param cursor cursor de la página a obtener (null para la primera)
+     * @param size   tamaño de página (opcional)
+     * @return página de posts en la colección
      */
-    List<PostResponse> getCollectionPosts(Long id);
+    CursorPageResponse<PostResponse> getCollectionPosts(Long id, String cursor, Integer size);
 
     /**
      * Obtener estado de un post en las colecciones del usuario.
@@ -61,6 +65,15 @@ public interface CollectionService {
      */
     PostCollectionStatusResponse getPostCollectionStatus(Long postId);
 
+    /**
+     * Obtener el estado de varios posts en las colecciones del usuario.
+     * No valida los posts: los que no están guardados vuelven sin colecciones.
+     *
+     * @param postIds IDs de los posts
+     * @return estado de cada post (sin repetidos), en el orden pedido
+     */
+    List<PostCollectionStatusResponse> getPostCollectionStatuses(List<Long> postIds);
+
     /**
      * Agregar post a colección.
      *
@@ -79,6 +92,37 @@ public interface CollectionService {
      */
     ApiResponse removePostFromCollection(Long collectionId, Long postId);
 
+    /**
+     * Agregar varios posts a una colección en una sola transacción.
+     * Los posts que no se pueden agregar no hacen fallar al resto; se informa el motivo de cada uno.
+     *
+     * @param collectionId ID de la colección
+     * @param postIds      IDs de los posts
+     * @return resultado de cada post (sin repetidos), en el orden pedido
+     */
+    CollectionPostsBatchResponse addPostsToCollection(Long collectionId, List<Long> postIds);
+
+    /**
+     * Quitar varios posts de una colección en una sola transacción.
+     *
+     * @param collectionId ID de la colección
+     * @param postIds      IDs de los posts
+     * @return resultado de cada post (sin repetidos), en el orden pedido
+     */
+    CollectionPostsBatchResponse removePostsFromCollection(Long collectionId, List<Long> postIds);
+
+    /**
+     * Mover varios posts de una colección a otra del mismo usuario en una sola transacción.
+     * Un post que no entra en el destino se queda en el origen.
+     *
+     * @param sourceCollectionId ID de la colección de origen
+     * @param targetCollectionId ID de la colección destino
+     * @param postIds            IDs de los posts
+     * @return resultado de cada post (sin repetidos), en el orden pedido
+     */
+    CollectionPostsBatchResponse movePostsBetweenCollections(Long sourceCollectionId, Long targetCollectionId,
+                                                             List<Long> postIds);
+
     /**
      * Crear colección y guardar post en un solo paso.
      *
@@ -0,0 +1,48 @@
+package com.mypresentpast.backend.service;
+
+/**
+ * Grafo de seguimiento en memoria: seguidores y seguidos de cada usuario como ids.
+ * Responde existencia y conteos sin consultar la base.
+ */
+public interface FollowGraphService {
+
+    /**
+     * Reconstruye el grafo desde la base.
+     */
+    void reload();
+
+    /**
+     * Indica si followerId sigue a followeeId.
+     */
+    boolean isFollowing(Long followerId, Long followeeId);
+
+    /**
+     * Cantidad de seguidores del usuario.
+     */
+    long countFollowers(Long userId);
+
+    /**
+     * Cantidad de usuarios que sigue el usuario.
+     */
+    long countFollowing(Long userId);
+
+    /**
+     * Ids de los seguidores del usuario, ordenados de menor a mayor.
+     */
+    long[] getFollowerIds(Long userId);
+
+    /**
+     * Ids de los usuarios que sigue el usuario, ordenados de menor a mayor.
+     */
+    long[] getFollowingIds(Long userId);
+
+    /**
+     * Registra un nuevo seguimiento. Si hay una transacción activa, se aplica al confirmarse.
+     */
+    void followAdded(Long followerId, Long followeeId);
+
+    /**
+     * Registra que se dejó de seguir. Si hay una transacción activa, se aplica al confirmarse.
+     */
+    void followRemoved(Long followerId, Long followeeId);
+}
@@ -2,6 +2,7 @@ package com.mypresentpast.backend.service;
 
 import com.mypresentpast.backend.dto.UserDto;
 import com.mypresentpast.backend.dto.response.ApiResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
 import com.mypresentpast.backend.dto.response.FollowStatsResponse;
 import java.util.List;
 
@@ -44,18 +45,22 @@ public interface FollowService {
 
 
     /**
-     * Obtener los usuarios que sigue un usuario específico.
+     * Obtener los usuarios que sigue un usuario específico, del seguimiento más reciente al más antiguo.
      *
      * @param userId identificador del usuario
+     * @param cursor next_cursor de la página anterior (null para la primera)
+     * @param size   tamaño de página (opcional)
      */
-    List<UserDto> getFollowingByUserId(Long userId);
+    CursorPageResponse<UserDto> getFollowingByUserId(Long userId, String cursor, Integer size);
 
     /**
-     * Obtener los seguidores de un usuario específico.
+     * Obtener los seguidores de un usuario específico, del seguimiento más reciente al más antiguo.
      *
      * @param userId identificador del usuario
+     * @param cursor next_cursor de la página anterior (null para la primera)
+     * @param size   tamaño de página (opcional)
      */
-    List<UserDto> getFollowersByUserId(Long userId);
+    CursorPageResponse<UserDto> getFollowersByUserId(Long userId, String cursor, Integer size);
 
 
     /**
@@ -0,0 +1,23 @@
+package com.mypresentpast.backend.service;
+
+import com.mypresentpast.backend.utils.ImageResizer;
+import java.util.Optional;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Servicio que prepara imágenes antes de subirlas: reduce, quita metadatos y recomprime.
+ */
+public interface ImageProcessingService {
+
+    /**
+     * Procesa la imagen en el pool de procesamiento.
+     *
+     * @param file   imagen original
+     * @param width  ancho de referencia
+     * @param height alto de referencia
+     * @param mode   cómo se ajusta a width x height
+     * @return la imagen procesada, o vacío si conviene subir la original
+     *         (formato no soportado, error al decodificar o resultado más pesado)
+     */
+    Optional<ImageResizer.ResizedImage> process(MultipartFile file, int width, int height, ImageResizer.Mode mode);
+}
@@ -0,0 +1,29 @@
+package com.mypresentpast.backend.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Servicio para subir lotes de imágenes a Cloudinary en paralelo.
+ * No usa la base de datos: se llama fuera de la transacción que persiste los Media.
+ */
+public interface ImageUploadService {
+
+    /**
+     * Sube todas las imágenes en paralelo y espera a que terminen.
+     * Si alguna falla, elimina de Cloudinary las que sí se subieron y lanza excepción.
+     *
+     * @param images imágenes a subir
+     * @return resultados de Cloudinary, en el mismo orden que las imágenes
+     */
+    List<Map<String, Object>> uploadAll(List<MultipartFile> images);
+
+    /**
+     * Elimina imágenes de Cloudinary en paralelo. Los errores se registran y no se propagan.
+     *
+     * @param publicIds IDs públicos de las imágenes
+     */
+    void deleteAll(Collection<String> publicIds);
+}
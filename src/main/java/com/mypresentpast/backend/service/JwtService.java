@@ -1,5 +1,6 @@
 package com.mypresentpast.backend.service;
 
+import com.mypresentpast.backend.model.User;
 import io.jsonwebtoken.Claims;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -8,6 +9,21 @@ import java.util.function.Function;
 public interface JwtService {
 
     String getToken(UserDetails user);
+
+    /**
+     * Valida firma y expiración del token y devuelve sus claims, parseándolo una sola vez.
+     * Los resultados se cachean hasta que el token expira.
+     *
+     * @throws io.jsonwebtoken.JwtException si el token no es válido o expiró
+     */
+    Claims validateToken(String token);
+
+    /**
+     * Construye el usuario autenticado a partir de claims ya validados, sin consultar la base.
+     * El usuario devuelto no está persistido: solo contiene los datos incluidos en el token.
+     */
+    User getUserFromClaims(Claims claims);
+
     String getUsernameFromToken(String token);
     boolean isTokenValid(String token, UserDetails userDetails);
     <T> T getClaim(String token, Function<Claims, T> claimsResolver);
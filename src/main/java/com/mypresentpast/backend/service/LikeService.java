@@ -2,6 +2,8 @@ package com.mypresentpast.backend.service;
 
 import com.mypresentpast.backend.dto.response.LikeStatusResponse;
 import com.mypresentpast.backend.dto.response.LikeToggleResponse;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Servicio para manejar operaciones de likes en posts.
@@ -39,4 +41,23 @@ public interface LikeService {
      * @return true si el usuario dio like, false si no
      */
     Boolean isLikedByCurrentUser(Long postId);
+
+    /**
+     * Obtiene el estado de like de varios posts en una sola consulta.
+     * Pensado para los listados de posts, evitando dos consultas por post.
+     *
+     * @param postIds IDs de los posts
+     * @param userId  ID del usuario actual (null si no hay usuario autenticado)
+     * @return mapa de ID de post a su estado de like; incluye todos los IDs pedidos
+     */
+    Map<Long, LikeStatusResponse> getLikeStatuses(Collection<Long> postIds, Long userId);
+
+    /**
+     * Obtiene el estado de like de varios posts para el usuario actual.
+     * Los IDs repetidos se consultan una vez y los posts inexistentes vuelven con cero likes.
+     *
+     * @param postIds IDs de los posts
+     * @return mapa de ID de post a su estado de like
+     */
+    Map<Long, LikeStatusResponse> getLikeStatusesForCurrentUser(Collection<Long> postIds);
 }
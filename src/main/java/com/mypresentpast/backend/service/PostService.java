@@ -2,6 +2,7 @@ package com.mypresentpast.backend.service;
 
 import com.mypresentpast.backend.dto.response.ApiResponse;
 import com.mypresentpast.backend.dto.request.CreatePostRequest;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
 import com.mypresentpast.backend.dto.response.MapResponse;
 import com.mypresentpast.backend.dto.response.PostResponse;
 import com.mypresentpast.backend.dto.request.UpdatePostRequest;
@@ -32,19 +33,23 @@ public interface PostService {
     PostResponse getPostById(Long id);
 
     /**
-     * Obtener publicaciones por usuario.
+     * Obtener publicaciones por usuario, paginadas por cursor.
      *
-     * @param id el ID del usuario
-     * @return las publicaciones encontradas
+     * @param id     el ID del usuario
+     * @param cursor cursor de la página a obtener (null para la primera)
+     * @param size   tamaño de página (opcional)
+     * @return la página de publicaciones encontradas
      */
-    List<PostResponse> getPostsByUser(Long id);
+    CursorPageResponse<PostResponse> getPostsByUser(Long id, String cursor, Integer size);
 
     /**
-     * Obtener publicaciones que el usuario actual ha likeado.
+     * Obtener publicaciones que el usuario actual ha likeado, paginadas por cursor.
      *
-     * @return las publicaciones likeadas por el usuario actual
+     * @param cursor cursor de la página a obtener (null para la primera)
+     * @param size   tamaño de página (opcional)
+     * @return la página de publicaciones likeadas por el usuario actual
      */
-    List<PostResponse> getLikedPostsByCurrentUser();
+    CursorPageResponse<PostResponse> getLikedPostsByCurrentUser(String cursor, Integer size);
 
     /**
      * Obtener datos para el mapa con filtros.
@@ -59,17 +64,46 @@ public interface PostService {
      * @param isVerified filtro por publicaciones verificadas
      * @param isByIA     filtro por publicaciones creadas con IA
      * @param userId     filtro por usuario específico (ID del usuario)
-     * @return lista completa de posts en el área
+     * @param cursor     cursor de la página a obtener (null para la primera)
+     * @param size       cantidad máxima de posts a devolver (opcional)
+     * @return posts en el área, con next_cursor si quedan más
      */
     MapResponse getMapData(double latMin, double latMax, double lonMin, double lonMax,
-                           String category, LocalDate date, Boolean isVerified, Boolean isByIA, Long userId);
+                           String category, LocalDate date, Boolean isVerified, Boolean isByIA, Long userId,
+                           String cursor, Integer size);
 
     /**
-     * Obtener una publicación aleatoria.
+     * Obtener datos para el mapa agrupados en clusters.
+     * Con zoom bajo devuelve agrupaciones (centroide, cantidad y algunos IDs) en lugar de posts completos;
+     * con zoom alto se comporta igual que getMapData.
      *
+     * @param latMin     latitud mínima del área visible del mapa
+     * @param latMax     latitud máxima del área visible del mapa
+     * @param lonMin     longitud mínima del área visible del mapa
+     * @param lonMax     longitud máxima del área visible del mapa
+     * @param category   filtro por categoría (PostType)
+     * @param date       fecha exacta del slider temporal
+     * @param isVerified filtro por publicaciones verificadas
+     * @param isByIA     filtro por publicaciones creadas con IA
+     * @param userId     filtro por usuario específico (ID del usuario)
+     * @param zoom       nivel de zoom del mapa (0 = mundo completo)
+     * @return clusters del área, o posts completos si el zoom es alto
+     */
+    MapResponse getMapClusters(double latMin, double latMax, double lonMin, double lonMax,
+                               String category, LocalDate date, Boolean isVerified, Boolean isByIA, Long userId,
+                               int zoom);
+
+    /**
+     * Obtener una publicación aleatoria, opcionalmente filtrada por categoría y área.
+     *
+     * @param category categoría (opcional)
+     * @param latMin   latitud mínima del área (opcional, junto con el resto de los límites)
+     * @param latMax   latitud máxima del área (opcional)
+     * @param lonMin   longitud mínima del área (opcional)
+     * @param lonMax   longitud máxima del área (opcional)
      * @return una publicación aleatoria
      */
-    PostResponse getRandomPost();
+    PostResponse getRandomPost(String category, Double latMin, Double latMax, Double lonMin, Double lonMax);
 
 
 
@@ -2,6 +2,7 @@ package com.mypresentpast.backend.service;
 
 import com.mypresentpast.backend.dto.request.ProfileUpdateRequest;
 import com.mypresentpast.backend.dto.request.profile.ChangePasswordRequest;
+import com.mypresentpast.backend.dto.response.AuthResponse;
 import com.mypresentpast.backend.dto.response.ProfileResponse;
 import com.mypresentpast.backend.dto.response.ProfileUpdateResponse;
 import org.springframework.web.multipart.MultipartFile;
@@ -33,11 +34,14 @@ public interface ProfileService {
     /**
      * Cambia la contraseña del usuario.
      * Requiere la contraseña actual y la nueva para validar el cambio.
+     * Los tokens emitidos antes del cambio dejan de ser válidos; se devuelve uno nuevo
+     * para que la sesión de quien hizo el cambio continúe.
      *
      * @param userId ID del usuario que realiza el cambio
      * @param request contiene la contraseña actual y la nueva
+     * @return token nuevo del usuario
      */
-    void changePassword(Long userId, ChangePasswordRequest request);
+    AuthResponse changePassword(Long userId, ChangePasswordRequest request);
 
     /**
      * Sube una imagen de avatar del usuario a Cloudinary.
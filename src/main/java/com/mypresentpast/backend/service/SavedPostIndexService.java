@@ -0,0 +1,25 @@
+package com.mypresentpast.backend.service;
+
+import com.mypresentpast.backend.dto.response.PostCollectionStatusResponse;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice en memoria, por usuario, de los posts guardados en sus colecciones.
+ * Se carga con una consulta la primera vez que se pide y se invalida cuando cambian sus colecciones.
+ */
+public interface SavedPostIndexService {
+
+    /**
+     * Colecciones del usuario que contienen cada post, ordenadas por nombre.
+     *
+     * @return mapa con todos los IDs pedidos; los posts no guardados tienen lista vacía
+     */
+    Map<Long, List<PostCollectionStatusResponse.CollectionInfo>> getCollectionsContaining(Long userId, Collection<Long> postIds);
+
+    /**
+     * Descarta el índice del usuario; si hay una transacción activa, al confirmarse.
+     */
+    void invalidate(Long userId);
+}
@@ -0,0 +1,35 @@
+package com.mypresentpast.backend.service;
+
+/**
+ * Servicio para validar la versión de los tokens JWT de cada usuario.
+ * Permite revocar todos los tokens de un usuario incrementando su versión.
+ */
+public interface TokenVersionService {
+
+    /**
+     * Obtiene la versión de token vigente del usuario.
+     * Se resuelve desde una caché en memoria; solo consulta la base si no está cacheada.
+     *
+     * @param userId ID del usuario
+     * @return versión vigente, o null si el usuario no existe
+     */
+    Integer getCurrentVersion(Long userId);
+
+    /**
+     * Indica si un token emitido con la versión dada sigue vigente.
+     *
+     * @param userId  ID del usuario
+     * @param version versión incluida en el token
+     * @return true si coincide con la versión vigente
+     */
+    boolean isCurrent(Long userId, Integer version);
+
+    /**
+     * Actualiza la caché luego de cambiar la versión del usuario.
+     * Dentro de una transacción, el cambio se aplica recién al confirmarla.
+     *
+     * @param userId  ID del usuario
+     * @param version nueva versión vigente
+     */
+    void versionChanged(Long userId, Integer version);
+}
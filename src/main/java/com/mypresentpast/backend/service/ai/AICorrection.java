@@ -0,0 +1,9 @@
+package com.mypresentpast.backend.service.ai;
+
+/**
+ * Texto corregido junto con el proveedor que efectivamente lo respondió.
+ * El router puede pasar a otro proveedor o usar la respuesta de cobertura, así que quien
+ * cachea o informa la corrección tiene que usar este proveedor y no la combinación del router.
+ */
+public record AICorrection(String text, AIProvider provider) {
+}
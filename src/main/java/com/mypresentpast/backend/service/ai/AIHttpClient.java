@@ -0,0 +1,369 @@
+package com.mypresentpast.backend.service.ai;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.nio.AsyncRequestProducer;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.entity.AbstractCharDataConsumer;
+import org.apache.hc.core5.http.nio.entity.AsyncEntityProducers;
+import org.apache.hc.core5.http.nio.support.AsyncRequestBuilder;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Cliente HTTP de un proveedor de IA sobre el pool compartido.
+ * Limita las llamadas concurrentes al proveedor y corta el tráfico con un circuit breaker
+ * cuando el proveedor falla de forma repetida. Se crea con AIHttpClientFactory.
+ */
+@Slf4j
+public class AIHttpClient {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int MAX_ERROR_BODY_CHARS = 2000;
+
+    private final String providerName;
+    private final RestTemplate restTemplate;
+    private final CloseableHttpAsyncClient asyncClient;
+    private final RequestConfig requestConfig;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final CircuitBreaker circuitBreaker;
+
+    AIHttpClient(String providerName, RestTemplate restTemplate, CloseableHttpAsyncClient asyncClient,
+                 RequestConfig requestConfig, int maxConcurrent, Duration acquireTimeout,
+                 CircuitBreaker circuitBreaker) {
+        this.providerName = providerName;
+        this.restTemplate = restTemplate;
+        this.asyncClient = asyncClient;
+        this.requestConfig = requestConfig;
+        this.permits = new Semaphore(maxConcurrent);
+        this.acquireTimeout = acquireTimeout;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Envía un POST y devuelve el cuerpo JSON como mapa.
+     *
+     * @throws IllegalStateException si el circuito está abierto o el proveedor está saturado
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> post(String url, HttpEntity<?> entity) {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new IllegalStateException(providerName + " no disponible temporalmente (circuito abierto)");
+        }
+
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                circuitBreaker.release();
+                throw new IllegalStateException(providerName + " saturado: demasiadas solicitudes en curso");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.release();
+            throw new IllegalStateException("Interrumpido esperando a " + providerName, e);
+        }
+
+        try {
+            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
+            circuitBreaker.recordSuccess();
+            return response.getBody();
+        } catch (ResourceAccessException e) {
+            // Timeouts y errores de conexión
+            circuitBreaker.recordFailure();
+            throw e;
+        } catch (HttpStatusCodeException e) {
+            if (e.getStatusCode().is5xxServerError() || e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                circuitBreaker.recordFailure();
+            } else {
+                // Un 4xx es un problema de la solicitud, no del proveedor
+                circuitBreaker.recordSuccess();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            // Respuesta ilegible u otro error del cliente: siempre se cierra la llamada para no dejar
+            // tomada la prueba de HALF_OPEN
+            circuitBreaker.recordFailure();
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Envía un POST que responde con server-sent events y entrega cada evento "data:" (JSON) a onEvent
+     * a medida que llega. La lectura es asíncrona: ningún hilo queda esperando al proveedor.
+     * El timeout de respuesta se aplica como inactividad máxima entre fragmentos.
+     * Cancelar el futuro devuelto corta la conexión con el proveedor.
+     *
+     * @return futuro que se completa al terminar el stream o falla con el error del proveedor
+     */
+    public CompletableFuture<Void> stream(String url, HttpEntity<?> entity, Consumer<Map<String, Object>> onEvent) {
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                new IllegalStateException(providerName + " no disponible temporalmente (circuito abierto)"));
+        }
+        // Sin espera: quien llama no debe bloquearse esperando un permiso
+        if (!permits.tryAcquire()) {
+            circuitBreaker.release();
+            return CompletableFuture.failedFuture(
+                new IllegalStateException(providerName + " saturado: demasiadas solicitudes en curso"));
+        }
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        EventStreamConsumer consumer = new EventStreamConsumer(onEvent);
+        Future<Void> exchange;
+        try {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfig);
+            exchange = asyncClient.execute(toRequest(url, entity), consumer, context,
+                new FutureCallback<>() {
+                    @Override
+                    public void completed(Void unused) {
+                        permits.release();
+                        circuitBreaker.recordSuccess();
+                        result.complete(null);
+                    }
+
+                    @Override
+                    public void failed(Exception e) {
+                        permits.release();
+                        if (countsAsProviderFailure(e)) {
+                            circuitBreaker.recordFailure();
+                        } else {
+                            circuitBreaker.recordSuccess();
+                        }
+                        result.completeExceptionally(e);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        permits.release();
+                        circuitBreaker.release();
+                        result.cancel(false);
+                    }
+                });
+        } catch (JsonProcessingException | RuntimeException e) {
+            permits.release();
+            circuitBreaker.release();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        result.whenComplete((unused, error) -> {
+            if (result.isCancelled()) {
+                // En httpclient5 5.2 cancelar el futuro no siempre llega al intercambio: si la conexión se establece
+                // muy rápido, el Cancellable de la conexión reemplaza al del intercambio. El consumidor corta
+                // la respuesta desde el reactor con el próximo fragmento, y eso cierra la conexión.
+                consumer.abort();
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Devuelve dependent, pero al cancelarlo cancela también source: CompletableFuture no propaga
+     * la cancelación de un futuro derivado (thenApply) hacia el original.
+     */
+    public static <T> CompletableFuture<T> cancellingSource(CompletableFuture<T> dependent, Future<?> source) {
+        dependent.whenComplete((value, error) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return dependent;
+    }
+
+    /**
+     * Indica si el proveedor puede recibir solicitudes ahora (circuito no abierto).
+     */
+    public boolean isAvailable() {
+        return circuitBreaker.isCallPermitted();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private static AsyncRequestProducer toRequest(String url, HttpEntity<?> entity) throws JsonProcessingException {
+        AsyncRequestBuilder builder = AsyncRequestBuilder.post(url)
+            .setEntity(AsyncEntityProducers.create(OBJECT_MAPPER.writeValueAsString(entity.getBody()),
+                ContentType.APPLICATION_JSON))
+            .addHeader(HttpHeaders.ACCEPT, "text/event-stream");
+        entity.getHeaders().forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                values.forEach(value -> builder.addHeader(name, value));
+            }
+        });
+        return builder.build();
+    }
+
+    private static boolean countsAsProviderFailure(Exception e) {
+        if (e instanceof HttpStatusCodeException statusError) {
+            return statusError.getStatusCode().is5xxServerError()
+                || statusError.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        // Errores del consumidor del stream (p. ej. el cliente SSE se desconectó) no son culpa del proveedor
+        return e instanceof IOException && !(e instanceof StreamConsumerException);
+    }
+
+    /**
+     * Error lanzado por quien consume los eventos; se distingue de los errores de red.
+     */
+    private static class StreamConsumerException extends IOException {
+
+        StreamConsumerException(Throwable cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Lee la respuesta text/event-stream línea por línea desde el reactor de E/S.
+     * Si el estado HTTP es de error, acumula el cuerpo para informarlo en la excepción.
+     */
+    private static class EventStreamConsumer extends AbstractCharDataConsumer implements AsyncResponseConsumer<Void> {
+
+        private final Consumer<Map<String, Object>> onEvent;
+        private final StringBuilder pending = new StringBuilder();
+        private HttpResponse response;
+        private FutureCallback<Void> resultCallback;
+        private volatile boolean aborted;
+
+        EventStreamConsumer(Consumer<Map<String, Object>> onEvent) {
+            this.onEvent = onEvent;
+        }
+
+        @Override
+        public void consumeResponse(HttpResponse response, EntityDetails entityDetails, HttpContext context,
+                                    FutureCallback<Void> resultCallback) throws IOException {
+            checkNotAborted();
+            this.response = response;
+            this.resultCallback = resultCallback;
+            // SSE siempre es UTF-8
+            setCharset(StandardCharsets.UTF_8);
+            if (entityDetails == null) {
+                completed();
+            }
+        }
+
+        @Override
+        protected int capacityIncrement() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        protected void data(CharBuffer src, boolean endOfStream) throws IOException {
+            checkNotAborted();
+            if (isError()) {
+                int room = MAX_ERROR_BODY_CHARS - pending.length();
+                if (room > 0) {
+                    pending.append(src, 0, Math.min(room, src.remaining()));
+                }
+                return;
+            }
+            pending.append(src);
+            int newline;
+            while ((newline = pending.indexOf("\n")) >= 0) {
+                String line = pending.substring(0, newline).strip();
+                pending.delete(0, newline + 1);
+                handleLine(line);
+            }
+        }
+
+        @Override
+        protected void completed() throws IOException {
+            if (isError()) {
+                resultCallback.failed(statusException());
+                return;
+            }
+            if (!pending.isEmpty()) {
+                handleLine(pending.toString().strip());
+                pending.setLength(0);
+            }
+            resultCallback.completed(null);
+        }
+
+        /**
+         * Marca el stream como cancelado; el reactor lo corta al recibir el próximo fragmento.
+         */
+        void abort() {
+            aborted = true;
+        }
+
+        private void checkNotAborted() throws IOException {
+            if (aborted) {
+                // Una excepción a mitad de la respuesta hace que httpclient descarte la conexión
+                throw new StreamConsumerException(new CancellationException("Stream cancelado por quien lo consume"));
+            }
+        }
+
+        private void handleLine(String line) throws IOException {
+            if (!line.startsWith("data:")) {
+                return; // comentarios, "event:", "id:" y líneas vacías
+            }
+            String payload = line.substring(5).strip();
+            if (payload.isEmpty() || "[DONE]".equals(payload)) {
+                return;
+            }
+            Map<String, Object> event = OBJECT_MAPPER.readValue(payload, new TypeReference<>() { });
+            try {
+                onEvent.accept(event);
+            } catch (RuntimeException e) {
+                throw new StreamConsumerException(e);
+            }
+        }
+
+        private boolean isError() {
+            return response.getCode() >= 300;
+        }
+
+        private HttpStatusCodeException statusException() {
+            HttpStatusCode status = HttpStatusCode.valueOf(response.getCode());
+            byte[] body = pending.toString().getBytes(StandardCharsets.UTF_8);
+            return status.is5xxServerError()
+                ? HttpServerErrorException.create(status, response.getReasonPhrase(), HttpHeaders.EMPTY, body, StandardCharsets.UTF_8)
+                : HttpClientErrorException.create(status, response.getReasonPhrase(), HttpHeaders.EMPTY, body, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void informationResponse(HttpResponse response, HttpContext context) {
+        }
+
+        @Override
+        public void failed(Exception cause) {
+        }
+
+        @Override
+        public void releaseResources() {
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.mypresentpast.backend.service.ai;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Crea los clientes HTTP de los proveedores de IA sobre un único pool de conexiones compartido.
+ * Las conexiones se reutilizan (keep-alive) y las inactivas se cierran en segundo plano.
+ * Cada proveedor define su propio timeout de respuesta y su límite de concurrencia.
+ * Las respuestas en streaming usan un cliente asíncrono (NIO), que no ocupa un hilo por stream.
+ */
+@Component
+@Slf4j
+public class AIHttpClientFactory {
+
+    private final CloseableHttpClient httpClient;
+    private final CloseableHttpAsyncClient asyncClient;
+    private final Duration acquireTimeout;
+    private final int circuitFailureThreshold;
+    private final Duration circuitOpenDuration;
+
+    public AIHttpClientFactory(@Value("${ai.http.max-connections:50}") int maxConnections,
+                               @Value("${ai.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+                               @Value("${ai.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                               @Value("${ai.http.idle-timeout-seconds:30}") long idleTimeoutSeconds,
+                               @Value("${ai.http.acquire-timeout-ms:1000}") long acquireTimeoutMs,
+                               @Value("${ai.http.circuit.failure-threshold:5}") int circuitFailureThreshold,
+                               @Value("${ai.http.circuit.open-seconds:30}") long circuitOpenSeconds) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+            .setTimeToLive(TimeValue.ofMinutes(5))
+            .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+            .build();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .setDefaultConnectionConfig(connectionConfig)
+            .build();
+
+        this.httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofSeconds(idleTimeoutSeconds))
+            .disableAutomaticRetries()
+            .build();
+        this.asyncClient = HttpAsyncClients.custom()
+            .setConnectionManager(PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build())
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofSeconds(idleTimeoutSeconds))
+            .disableAutomaticRetries()
+            .build();
+        this.asyncClient.start();
+        this.acquireTimeout = Duration.ofMillis(acquireTimeoutMs);
+        this.circuitFailureThreshold = circuitFailureThreshold;
+        this.circuitOpenDuration = Duration.ofSeconds(circuitOpenSeconds);
+    }
+
+    /**
+     * Crea el cliente de un proveedor.
+     *
+     * @param providerName      nombre usado en logs y errores
+     * @param responseTimeoutMs tiempo máximo de espera de la respuesta
+     * @param maxConcurrent     solicitudes simultáneas permitidas hacia el proveedor
+     */
+    public AIHttpClient create(String providerName, long responseTimeoutMs, int maxConcurrent) {
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+            .setConnectionRequestTimeout(Timeout.of(acquireTimeout))
+            .build();
+
+        // El factory no se registra como bean: el pool compartido se cierra solo en close()
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfig);
+            return context;
+        });
+
+        return new AIHttpClient(providerName, new RestTemplate(requestFactory), asyncClient, requestConfig,
+            maxConcurrent, acquireTimeout, new CircuitBreaker(circuitFailureThreshold, circuitOpenDuration));
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            log.warn("Error cerrando el cliente HTTP de IA: {}", e.getMessage());
+        }
+        asyncClient.close(CloseMode.GRACEFUL);
+    }
+}
@@ -1,5 +1,8 @@
 package com.mypresentpast.backend.service.ai;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 /**
  * Interfaz para proveedores de IA.
  * Permite cambiar fácilmente entre diferentes motores de IA (OpenAI, Claude, Gemini, etc.)
@@ -14,10 +17,41 @@ public interface AIProvider {
      */
     String correctContent(String content);
 
+    /**
+     * Corrige el contenido en modo streaming, usando la API de streaming del proveedor.
+     * Cada fragmento de texto se entrega a onDelta apenas llega; la llamada no bloquea.
+     *
+     * @param content el contenido a corregir
+     * @param onDelta recibe los fragmentos del texto corregido, en orden
+     * @return futuro con el contenido corregido completo
+     */
+    CompletableFuture<String> streamCorrection(String content, Consumer<String> onDelta);
+
+    /**
+     * Identificador corto del proveedor, el mismo usado en sus propiedades y en ai.preferred-provider.
+     *
+     * @return el identificador (ej: "openai", "groq")
+     */
+    String getId();
+
+    /**
+     * Indica si el proveedor está configurado y puede recibir solicitudes en este momento.
+     *
+     * @return false si falta la API key o su circuit breaker está abierto
+     */
+    boolean isAvailable();
+
     /**
      * Obtiene el nombre del proveedor.
      *
      * @return el nombre del proveedor (ej: "OpenAI", "Demo", "Claude")
      */
     String getProviderName();
+
+    /**
+     * Obtiene el modelo configurado del proveedor.
+     *
+     * @return el identificador del modelo (ej: "gpt-3.5-turbo")
+     */
+    String getModel();
 } 
\ No newline at end of file
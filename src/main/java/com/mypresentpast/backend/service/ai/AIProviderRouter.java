@@ -0,0 +1,395 @@
+package com.mypresentpast.backend.service.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reparte las correcciones entre los proveedores de IA disponibles.
+ * Ordena los proveedores por latencia reciente y tasa de error (ai.preferred-provider va primero
+ * mientras esté sano), y si uno falla pasa automáticamente al siguiente.
+ * Si la solicitud principal supera el p95 de su proveedor se lanza una solicitud de cobertura
+ * (hedged request) al siguiente y se usa la primera respuesta exitosa.
+ */
+@Component
+@Slf4j
+public class AIProviderRouter implements AIProvider {
+
+    private static final String AUTO = "auto";
+
+    private final List<AIProvider> providers;
+    private final Map<AIProvider, ProviderStats> stats = new LinkedHashMap<>();
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+    private final String preferredProvider;
+    private final boolean hedgeEnabled;
+    private final long hedgeMinDelayMs;
+    private final long hedgeDefaultDelayMs;
+    private final int hedgeMinSamples;
+    private final double maxErrorRate;
+    private final Counter hedgedRequests;
+
+    public AIProviderRouter(List<AIProvider> providers,
+                            @Qualifier("aiRequestExecutor") Executor executor,
+                            MeterRegistry meterRegistry,
+                            @Value("${ai.preferred-provider:auto}") String preferredProvider,
+                            @Value("${ai.routing.window-size:100}") int windowSize,
+                            @Value("${ai.routing.hedge.enabled:true}") boolean hedgeEnabled,
+                            @Value("${ai.routing.hedge.min-delay-ms:500}") long hedgeMinDelayMs,
+                            @Value("${ai.routing.hedge.default-delay-ms:3000}") long hedgeDefaultDelayMs,
+                            @Value("${ai.routing.hedge.min-samples:20}") int hedgeMinSamples,
+                            @Value("${ai.routing.max-error-rate:0.5}") double maxErrorRate) {
+        // Spring excluye al propio router de la lista; el filtro lo deja explícito
+        this.providers = providers.stream()
+            .filter(provider -> !(provider instanceof AIProviderRouter))
+            .toList();
+        this.providers.forEach(provider -> stats.put(provider, new ProviderStats(windowSize)));
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.preferredProvider = preferredProvider.trim().toLowerCase();
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgeMinDelayMs = hedgeMinDelayMs;
+        this.hedgeDefaultDelayMs = hedgeDefaultDelayMs;
+        this.hedgeMinSamples = hedgeMinSamples;
+        this.maxErrorRate = maxErrorRate;
+        this.hedgedRequests = Counter.builder("ai.routing.hedged")
+            .description("Solicitudes de cobertura enviadas a un segundo proveedor")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String correctContent(String content) {
+        return correct(content).text();
+    }
+
+    /**
+     * Corrige con el mejor proveedor disponible e informa cuál respondió.
+     */
+    public AICorrection correct(String content) {
+        try {
+            return correctAsync(content).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Igual que correct, sin bloquear a quien llama: las solicitudes corren en el pool de IA.
+     */
+    public CompletableFuture<AICorrection> correctAsync(String content) {
+        List<AIProvider> ranked = rankProviders();
+        if (ranked.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("No hay proveedores de IA disponibles"));
+        }
+
+        RoutedCall call = new RoutedCall(content, ranked);
+        call.launchNext();
+        if (hedgeEnabled && ranked.size() > 1) {
+            long delayMs = hedgeDelayMs(ranked.get(0));
+            CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS).execute(() -> {
+                if (!call.result.isDone() && call.launchNext()) {
+                    hedgedRequests.increment();
+                    log.info("{} no respondió en {}ms, se envía solicitud de cobertura", ranked.get(0).getProviderName(), delayMs);
+                }
+            });
+        }
+        return call.result;
+    }
+
+    @Override
+    public CompletableFuture<String> streamCorrection(String content, Consumer<String> onDelta) {
+        CompletableFuture<AICorrection> routed = stream(content, onDelta);
+        CompletableFuture<String> text = routed.thenApply(AICorrection::text);
+        text.whenComplete((corrected, error) -> {
+            if (text.isCancelled()) {
+                routed.cancel(true);
+            }
+        });
+        return text;
+    }
+
+    /**
+     * Streaming con failover: si un proveedor falla antes de emitir el primer fragmento se prueba el siguiente.
+     * No hay cobertura, porque dos streams no se pueden combinar. Informa qué proveedor completó el stream.
+     */
+    public CompletableFuture<AICorrection> stream(String content, Consumer<String> onDelta) {
+        CompletableFuture<AICorrection> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<String>> current = new AtomicReference<>();
+        result.whenComplete((text, error) -> {
+            CompletableFuture<String> attempt = current.get();
+            if (result.isCancelled() && attempt != null) {
+                attempt.cancel(true);
+            }
+        });
+        streamNext(new ArrayDeque<>(rankProviders()), content, onDelta, result, current, null);
+        return result;
+    }
+
+    private void streamNext(Deque<AIProvider> pending, String content, Consumer<String> onDelta,
+                            CompletableFuture<AICorrection> result, AtomicReference<CompletableFuture<String>> current,
+                            Throwable lastError) {
+        AIProvider provider = pending.poll();
+        if (provider == null) {
+            result.completeExceptionally(lastError != null ? lastError
+                : new IllegalStateException("No hay proveedores de IA disponibles"));
+            return;
+        }
+
+        AtomicBoolean started = new AtomicBoolean();
+        long start = System.nanoTime();
+        CompletableFuture<String> attempt;
+        try {
+            attempt = provider.streamCorrection(content, delta -> {
+                started.set(true);
+                onDelta.accept(delta);
+            });
+        } catch (RuntimeException e) {
+            record(provider, start, e);
+            streamNext(pending, content, onDelta, result, current, e);
+            return;
+        }
+        current.set(attempt);
+
+        attempt.whenComplete((text, error) -> {
+            record(provider, start, error);
+            if (error == null) {
+                result.complete(new AICorrection(text, provider));
+            } else if (!started.get() && !result.isDone()) {
+                log.warn("{} falló antes de emitir contenido, se prueba otro proveedor: {}",
+                    provider.getProviderName(), error.getMessage());
+                streamNext(pending, content, onDelta, result, current, error);
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+
+    /**
+     * Proveedores que hoy pueden responder, en el orden en que se los consultaría.
+     */
+    public List<AIProvider> availableProviders() {
+        return rankProviders();
+    }
+
+    /**
+     * Proveedores disponibles, del mejor al peor. Los que superan la tasa de error máxima van al final;
+     * el preferido va primero si no la supera; el resto se ordena por latencia ajustada por errores.
+     */
+    List<AIProvider> rankProviders() {
+        return providers.stream()
+            .filter(AIProvider::isAvailable)
+            .sorted(Comparator.comparing((AIProvider provider) -> stats.get(provider).errorRate() > maxErrorRate)
+                .thenComparing(provider -> !provider.getId().equals(preferredProvider))
+                .thenComparingDouble(this::score))
+            .toList();
+    }
+
+    private double score(AIProvider provider) {
+        ProviderStats providerStats = stats.get(provider);
+        // Un proveedor sin muestras puntúa 0 y se prueba primero, así se aprende su latencia
+        return providerStats.meanLatencyMs() / (1 - Math.min(providerStats.errorRate(), 0.9));
+    }
+
+    /**
+     * Espera antes de la cobertura: el p95 del proveedor, con un mínimo para no duplicar tráfico
+     * sin necesidad. Con pocas muestras se usa un valor fijo.
+     */
+    long hedgeDelayMs(AIProvider provider) {
+        ProviderStats providerStats = stats.get(provider);
+        if (providerStats.samples() < hedgeMinSamples) {
+            return hedgeDefaultDelayMs;
+        }
+        return Math.max(hedgeMinDelayMs, providerStats.percentileMs(0.95));
+    }
+
+    private void record(AIProvider provider, long startNanos, Throwable error) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        // Un intento cancelado porque otro ganó no es un fallo del proveedor; su duración queda como cota de la latencia
+        boolean cancelled = error instanceof CancellationException;
+        stats.get(provider).record(TimeUnit.NANOSECONDS.toMillis(elapsedNanos), error != null && !cancelled);
+        Timer.builder("ai.provider.requests")
+            .description("Llamadas a proveedores de IA")
+            .tag("provider", provider.getId())
+            .tag("outcome", cancelled ? "cancelled" : error == null ? "success" : "error")
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String getId() {
+        return AUTO;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return providers.stream().anyMatch(AIProvider::isAvailable);
+    }
+
+    @Override
+    public String getProviderName() {
+        return "IA (" + providers.stream().map(AIProvider::getProviderName).collect(Collectors.joining(", ")) + ")";
+    }
+
+    /**
+     * Identifica la combinación de modelos. Las correcciones se cachean con el proveedor que respondió, no con este valor.
+     */
+    @Override
+    public String getModel() {
+        return providers.stream()
+            .map(provider -> provider.getId() + ":" + provider.getModel())
+            .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Una corrección en curso: proveedores pendientes en orden y solicitudes en vuelo.
+     * Gana la primera respuesta exitosa; cada fallo lanza el siguiente proveedor pendiente.
+     * Resuelto result, o cancelado por quien llama, se cancelan los intentos que sigan en curso.
+     */
+    private final class RoutedCall {
+
+        private final String content;
+        private final Deque<AIProvider> pending;
+        private final CompletableFuture<AICorrection> result = new CompletableFuture<>();
+        private final List<Attempt> attempts = new ArrayList<>();
+        private int inFlight;
+        private Throwable lastError;
+
+        RoutedCall(String content, List<AIProvider> ranked) {
+            this.content = content;
+            this.pending = new ArrayDeque<>(ranked);
+            result.whenComplete((correction, error) -> cancelAttempts());
+        }
+
+        /**
+         * Lanza el siguiente proveedor pendiente. Devuelve false si no quedaba ninguno.
+         */
+        boolean launchNext() {
+            AIProvider provider;
+            synchronized (this) {
+                if (result.isDone() || pending.isEmpty()) {
+                    return false;
+                }
+                provider = pending.poll();
+                inFlight++;
+            }
+
+            Attempt attempt = new Attempt(provider);
+            synchronized (this) {
+                attempts.add(attempt);
+            }
+            // Si result se resolvió mientras tanto, cancelAttempts pudo no ver este intento
+            if (result.isDone()) {
+                attempt.cancel(true);
+                return true;
+            }
+            try {
+                executor.execute(attempt);
+            } catch (RuntimeException e) {
+                // Pool saturado
+                synchronized (this) {
+                    attempts.remove(attempt);
+                }
+                onComplete(provider, null, e);
+            }
+            return true;
+        }
+
+        private void cancelAttempts() {
+            List<Attempt> outstanding;
+            synchronized (this) {
+                outstanding = new ArrayList<>(attempts);
+            }
+            outstanding.forEach(attempt -> attempt.cancel(true));
+        }
+
+        private void onComplete(AIProvider provider, String text, Throwable error) {
+            if (error == null) {
+                result.complete(new AICorrection(text, provider));
+                return;
+            }
+            boolean exhausted;
+            synchronized (this) {
+                inFlight--;
+                lastError = error;
+                exhausted = pending.isEmpty() && inFlight == 0;
+            }
+            if (result.isDone()) {
+                return;
+            }
+            log.warn("{} falló: {}", provider.getProviderName(), error.getMessage());
+            if (exhausted) {
+                result.completeExceptionally(lastError);
+            } else {
+                launchNext();
+            }
+        }
+
+        /**
+         * Llamada a un proveedor en el pool de IA. Cancelarla evita que arranque si seguía en cola
+         * e interrumpe el hilo si ya estaba en curso; su resultado se descarta.
+         */
+        private final class Attempt extends FutureTask<String> {
+
+            private final AIProvider provider;
+            private final long startNanos = System.nanoTime();
+            private volatile boolean running;
+
+            Attempt(AIProvider provider) {
+                super(() -> provider.correctContent(content));
+                this.provider = provider;
+            }
+
+            @Override
+            public void run() {
+                running = true;
+                super.run();
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    CancellationException cancelled = new CancellationException("Intento de " + provider.getProviderName() + " cancelado");
+                    // Uno que nunca arrancó no dice nada de la latencia del proveedor
+                    if (running) {
+                        record(provider, startNanos, cancelled);
+                    }
+                    onComplete(provider, null, cancelled);
+                    return;
+                }
+                try {
+                    String text = get();
+                    record(provider, startNanos, null);
+                    onComplete(provider, text, null);
+                } catch (ExecutionException e) {
+                    record(provider, startNanos, e.getCause());
+                    onComplete(provider, null, e.getCause());
+                } catch (InterruptedException e) {
+                    // No ocurre: done() corre con la tarea ya terminada
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.mypresentpast.backend.service.ai;
+
+import com.mypresentpast.backend.utils.ExpiringCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caché de correcciones de IA, indexada por el hash de proveedor, modelo y contenido normalizado.
+ * El proveedor es el que respondió la corrección, nunca la combinación del router.
+ * Tiene un nivel en memoria (acotado, con TTL) y, opcionalmente, un nivel en disco
+ * que sobrevive a reinicios. Solo se guardan respuestas exitosas.
+ */
+@Component
+@Slf4j
+public class AIResponseCache {
+
+    private final ExpiringCache<String, String> memory;
+    private final Duration ttl;
+    private final boolean diskEnabled;
+    private final Path diskDirectory;
+
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+
+    public AIResponseCache(MeterRegistry meterRegistry,
+                           @Value("${ai.cache.max-size:1000}") int maxSize,
+                           @Value("${ai.cache.ttl-minutes:60}") long ttlMinutes,
+                           @Value("${ai.cache.disk.enabled:false}") boolean diskEnabled,
+                           @Value("${ai.cache.disk.directory:${java.io.tmpdir}/mypresentpast-ai-cache}") String diskDirectory) {
+        this.memory = new ExpiringCache<>(maxSize);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.diskEnabled = diskEnabled;
+        this.diskDirectory = Paths.get(diskDirectory);
+
+        this.memoryHits = Counter.builder("ai.cache.requests")
+            .description("Consultas a la caché de correcciones de IA")
+            .tag("result", "hit").tag("tier", "memory")
+            .register(meterRegistry);
+        this.diskHits = Counter.builder("ai.cache.requests")
+            .description("Consultas a la caché de correcciones de IA")
+            .tag("result", "hit").tag("tier", "disk")
+            .register(meterRegistry);
+        this.misses = Counter.builder("ai.cache.requests")
+            .description("Consultas a la caché de correcciones de IA")
+            .tag("result", "miss").tag("tier", "none")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        if (!diskEnabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(diskDirectory);
+            purgeExpiredFiles();
+        } catch (IOException e) {
+            log.warn("No se pudo preparar la caché de IA en disco {}: {}", diskDirectory, e.getMessage());
+        }
+    }
+
+    /**
+     * Busca una corrección previa para el mismo proveedor, modelo y contenido.
+     */
+    public Optional<String> get(AIProvider provider, String content) {
+        return find(List.of(provider), content).map(AICorrection::text);
+    }
+
+    /**
+     * Busca una corrección previa del contenido hecha por alguno de los proveedores, en el orden dado,
+     * e informa cuál la respondió.
+     */
+    public Optional<AICorrection> find(List<AIProvider> providers, String content) {
+        for (AIProvider provider : providers) {
+            String key = keyOf(provider, content);
+            String cached = memory.get(key);
+            if (cached != null) {
+                memoryHits.increment();
+                return Optional.of(new AICorrection(cached, provider));
+            }
+
+            Optional<String> fromDisk = readFromDisk(key);
+            if (fromDisk.isPresent()) {
+                diskHits.increment();
+                memory.put(key, fromDisk.get(), ttl);
+                return Optional.of(new AICorrection(fromDisk.get(), provider));
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Guarda la corrección obtenida del proveedor que la respondió.
+     */
+    public void put(AIProvider provider, String content, String correctedContent) {
+        String key = keyOf(provider, content);
+        memory.put(key, correctedContent, ttl);
+        writeToDisk(key, correctedContent);
+    }
+
+    /**
+     * Normaliza el contenido para que diferencias invisibles (fin de línea, espacios finales,
+     * composición Unicode) no generen entradas distintas.
+     */
+    static String normalize(String content) {
+        String normalized = Normalizer.normalize(content, Normalizer.Form.NFC)
+            .replace("\r\n", "\n")
+            .replaceAll("[ \\t]+\n", "\n");
+        return normalized.strip();
+    }
+
+    static String keyOf(AIProvider provider, String content) {
+        String source = provider.getProviderName() + "\n" + provider.getModel() + "\n" + normalize(content);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Cada archivo guarda en la primera línea el vencimiento (epoch en ms) y luego el texto corregido.
+     */
+    private Optional<String> readFromDisk(String key) {
+        if (!diskEnabled) {
+            return Optional.empty();
+        }
+        Path file = diskDirectory.resolve(key);
+        try {
+            if (!Files.exists(file)) {
+                return Optional.empty();
+            }
+            String stored = Files.readString(file, StandardCharsets.UTF_8);
+            int newline = stored.indexOf('\n');
+            long expiresAt = Long.parseLong(stored.substring(0, newline));
+            if (expiresAt <= System.currentTimeMillis()) {
+                Files.deleteIfExists(file);
+                return Optional.empty();
+            }
+            return Optional.of(stored.substring(newline + 1));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Entrada de caché de IA ilegible {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writeToDisk(String key, String correctedContent) {
+        if (!diskEnabled) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        try {
+            // Escritura atómica: nunca queda un archivo a medio escribir
+            Path temp = Files.createTempFile(diskDirectory, key, ".tmp");
+            Files.writeString(temp, expiresAt + "\n" + correctedContent, StandardCharsets.UTF_8);
+            Files.move(temp, diskDirectory.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("No se pudo guardar la corrección en la caché de IA en disco: {}", e.getMessage());
+        }
+    }
+
+    private void purgeExpiredFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(diskDirectory)) {
+            for (Path file : files) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                } else {
+                    readFromDisk(file.getFileName().toString());
+                }
+            }
+        }
+    }
+}
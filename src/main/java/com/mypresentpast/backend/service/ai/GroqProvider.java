@@ -1,17 +1,17 @@
 package com.mypresentpast.backend.service.ai;
 
+import jakarta.annotation.PostConstruct;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 /**
  * Proveedor de IA usando Groq API (100% gratuito).
@@ -36,18 +36,98 @@ public class GroqProvider implements AIProvider {
     @Value("${ai.groq.temperature:0.3}")
     private double temperature;
 
-    private final RestTemplate restTemplate;
+    @Value("${ai.groq.timeout-ms:15000}")
+    private long timeoutMs;
 
-    public GroqProvider() {
-        this.restTemplate = new RestTemplate();
+    @Value("${ai.groq.max-concurrent:10}")
+    private int maxConcurrent;
+
+    private final AIHttpClientFactory httpClientFactory;
+    private AIHttpClient httpClient;
+
+    public GroqProvider(AIHttpClientFactory httpClientFactory) {
+        this.httpClientFactory = httpClientFactory;
+    }
+
+    @PostConstruct
+    void init() {
+        this.httpClient = httpClientFactory.create("Groq", timeoutMs, maxConcurrent);
     }
 
     @Override
     public String correctContent(String content) {
+        checkApiKey();
+
+        HttpEntity<Map<String, Object>> entity = buildRequest(content, false);
+
+        try {
+            log.info("Enviando request a Groq para corregir contenido: {} caracteres", content.length());
+
+            Map<String, Object> responseBody = httpClient.post(apiUrl, entity);
+            List<Map<String, Object>> choices = (List<Map<String, Object>>) responseBody.get("choices");
+            Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
+
+            String correctedContent = (String) message.get("content");
+            log.info("Groq respondió exitosamente");
+
+            return correctedContent.trim();
+
+        } catch (Exception e) {
+            log.error("Error llamando a Groq API: {}", e.getMessage(), e);
+            throw new RuntimeException("Error en API de Groq: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> streamCorrection(String content, Consumer<String> onDelta) {
+        checkApiKey();
+
+        HttpEntity<Map<String, Object>> entity = buildRequest(content, true);
+        StringBuilder correctedContent = new StringBuilder();
+
+        log.info("Enviando request en streaming a Groq para corregir contenido: {} caracteres", content.length());
+        CompletableFuture<Void> exchange = httpClient.stream(apiUrl, entity, chunk -> {
+            String delta = deltaContent(chunk);
+            if (delta != null && !delta.isEmpty()) {
+                correctedContent.append(delta);
+                onDelta.accept(delta);
+            }
+        });
+        // Cancelar el resultado (cliente desconectado) corta la conexión con el proveedor y libera su permiso
+        return AIHttpClient.cancellingSource(exchange.thenApply(unused -> {
+            log.info("Groq terminó el streaming exitosamente");
+            return correctedContent.toString().trim();
+        }), exchange);
+    }
+
+    @Override
+    public String getId() {
+        return "groq";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return apiKey != null && !apiKey.trim().isEmpty() && !"gsk_demo".equals(apiKey)
+            && httpClient.isAvailable();
+    }
+
+    @Override
+    public String getProviderName() {
+        return "Groq (Gratuito)";
+    }
+
+    @Override
+    public String getModel() {
+        return model;
+    }
+
+    private void checkApiKey() {
         if (apiKey == null || apiKey.trim().isEmpty() || "gsk_demo".equals(apiKey)) {
             throw new IllegalStateException("Groq API key no configurada. Obtén una gratis en: https://console.groq.com/keys");
         }
+    }
 
+    private HttpEntity<Map<String, Object>> buildRequest(String content, boolean stream) {
         String prompt = "Eres un CORRECTOR ORTOGRÁFICO BÁSICO. SOLO corrige errores de escritura obvios.\n\n" +
             "REGLAS ABSOLUTAS - PROHIBIDO VIOLAR:\n" +
             "1. NUNCA cambies el significado de las palabras\n" +
@@ -81,36 +161,23 @@ public class GroqProvider implements AIProvider {
         ));
         requestBody.put("max_tokens", maxTokens);
         requestBody.put("temperature", temperature);
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-        try {
-            log.info("Enviando request a Groq para corregir contenido: {} caracteres", content.length());
-
-            ResponseEntity<Map> response = restTemplate.exchange(
-                apiUrl,
-                HttpMethod.POST,
-                entity,
-                Map.class
-            );
-
-            Map<String, Object> responseBody = response.getBody();
-            List<Map<String, Object>> choices = (List<Map<String, Object>>) responseBody.get("choices");
-            Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-
-            String correctedContent = (String) message.get("content");
-            log.info("Groq respondió exitosamente");
-
-            return correctedContent.trim();
-
-        } catch (Exception e) {
-            log.error("Error llamando a Groq API: {}", e.getMessage(), e);
-            throw new RuntimeException("Error en API de Groq: " + e.getMessage(), e);
+        if (stream) {
+            requestBody.put("stream", true);
         }
+
+        return new HttpEntity<>(requestBody, headers);
     }
 
-    @Override
-    public String getProviderName() {
-        return "Groq (Gratuito)";
+    /**
+     * Texto incremental de un chunk de streaming: choices[0].delta.content.
+     */
+    @SuppressWarnings("unchecked")
+    private static String deltaContent(Map<String, Object> chunk) {
+        List<Map<String, Object>> choices = (List<Map<String, Object>>) chunk.get("choices");
+        if (choices == null || choices.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> delta = (Map<String, Object>) choices.get(0).get("delta");
+        return delta != null ? (String) delta.get("content") : null;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.mypresentpast.backend.service.ai;
+
+import java.util.Arrays;
+
+/**
+ * Latencia y resultado de las últimas llamadas a un proveedor, en una ventana circular de tamaño fijo.
+ */
+class ProviderStats {
+
+    private final long[] latenciesMs;
+    private final boolean[] failures;
+    private int next;
+    private int count;
+
+    ProviderStats(int windowSize) {
+        this.latenciesMs = new long[windowSize];
+        this.failures = new boolean[windowSize];
+    }
+
+    synchronized void record(long latencyMs, boolean failed) {
+        latenciesMs[next] = latencyMs;
+        failures[next] = failed;
+        next = (next + 1) % latenciesMs.length;
+        count = Math.min(count + 1, latenciesMs.length);
+    }
+
+    synchronized int samples() {
+        return count;
+    }
+
+    synchronized double errorRate() {
+        if (count == 0) {
+            return 0;
+        }
+        int failed = 0;
+        for (int i = 0; i < count; i++) {
+            if (failures[i]) {
+                failed++;
+            }
+        }
+        return (double) failed / count;
+    }
+
+    synchronized double meanLatencyMs() {
+        if (count == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += latenciesMs[i];
+        }
+        return (double) total / count;
+    }
+
+    /**
+     * Percentil (0 a 1) de las latencias de la ventana, o -1 si no hay muestras.
+     */
+    synchronized long percentileMs(double percentile) {
+        if (count == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latenciesMs, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+}
@@ -3,20 +3,50 @@ package com.mypresentpast.backend.service.impl;
 import com.mypresentpast.backend.dto.request.CorrectContentRequest;
 import com.mypresentpast.backend.dto.response.CorrectContentResponse;
 import com.mypresentpast.backend.service.AIService;
-import com.mypresentpast.backend.service.ai.GroqProvider;
+import com.mypresentpast.backend.service.ai.AICorrection;
+import com.mypresentpast.backend.service.ai.AIProviderRouter;
+import com.mypresentpast.backend.service.ai.AIResponseCache;
+import com.mypresentpast.backend.utils.TextChunker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
- * Implementación del servicio de IA usando OpenAI.
+ * Implementación del servicio de IA. Las correcciones pasan por AIProviderRouter,
+ * que elige el proveedor y resuelve el failover.
+ * Los textos largos se dividen en fragmentos que se corrigen en paralelo y se cachean por separado,
+ * así el tiempo total depende del fragmento más lento y no del largo del texto.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AIServiceImpl implements AIService {
 
-    private final GroqProvider groqProvider;
+    private final AIProviderRouter providerRouter;
+    private final AIResponseCache responseCache;
+
+    @Value("${ai.chunking.enabled:true}")
+    private boolean chunkingEnabled;
+
+    // Textos de hasta este largo se corrigen en una sola solicitud
+    @Value("${ai.chunking.threshold-chars:1500}")
+    private int chunkingThresholdChars;
+
+    @Value("${ai.chunking.max-chunk-chars:1000}")
+    private int maxChunkChars;
+
+    // Fragmentos en vuelo a la vez por cada texto
+    @Value("${ai.chunking.max-parallel:4}")
+    private int maxParallelChunks;
 
     @Override
     public CorrectContentResponse correctContent(CorrectContentRequest request) {
@@ -24,20 +54,26 @@ public class AIServiceImpl implements AIService {
         log.info("Corrigiendo contenido con IA: {} caracteres", content.length());
 
         try {
-            // Corregir el contenido usando Groq
-            String correctedContent = groqProvider.correctContent(content);
+            // Corregir el contenido con el mejor proveedor disponible, salvo que ya se haya corregido el mismo texto.
+            // Los textos largos se cachean por fragmento, cada uno con el proveedor que lo respondió
+            Corrected corrected;
+            if (shouldChunk(content)) {
+                corrected = correctInChunks(content).join();
+            } else {
+                corrected = cached(content);
+                if (corrected == null) {
+                    corrected = store(content, providerRouter.correct(content));
+                } else {
+                    log.info("Corrección obtenida de la caché");
+                }
+            }
 
             // Verificar si hubo cambios
-            boolean hasChanges = !content.equals(correctedContent);
+            boolean hasChanges = !content.equals(corrected.text());
 
             log.info("Corrección completada. Cambios: {}", hasChanges);
 
-            return CorrectContentResponse.builder()
-                .originalContent(content)
-                .correctedContent(correctedContent)
-                .hasChanges(hasChanges)
-                .message("Contenido corregido por " + groqProvider.getProviderName())
-                .build();
+            return buildResponse(content, corrected);
 
         } catch (Exception e) {
             log.error("Error al procesar contenido con IA: {}", e.getMessage(), e);
@@ -50,4 +86,207 @@ public class AIServiceImpl implements AIService {
                 .build();
         }
     }
-} 
\ No newline at end of file
+
+    @Override
+    public CompletableFuture<CorrectContentResponse> correctContentStream(CorrectContentRequest request,
+                                                                         Consumer<String> onDelta) {
+        String content = request.getContent();
+        log.info("Corrigiendo contenido con IA en streaming: {} caracteres", content.length());
+
+        Corrected cached = shouldChunk(content) ? null : cached(content);
+        if (cached != null) {
+            // Ya corregido: se entrega completo en un único fragmento
+            log.info("Corrección obtenida de la caché");
+            onDelta.accept(cached.text());
+            return CompletableFuture.completedFuture(buildResponse(content, cached));
+        }
+
+        // source es el futuro que corta la llamada al proveedor: thenApply no propaga la cancelación
+        CompletableFuture<?> source;
+        CompletableFuture<Corrected> upstream;
+        try {
+            if (shouldChunk(content)) {
+                upstream = streamInChunks(content, onDelta);
+                source = upstream;
+            } else {
+                CompletableFuture<AICorrection> routed = providerRouter.stream(content, onDelta);
+                upstream = routed.thenApply(correction -> store(content, correction));
+                source = routed;
+            }
+        } catch (Exception e) {
+            log.error("Error al iniciar la corrección en streaming: {}", e.getMessage(), e);
+            return CompletableFuture.completedFuture(errorResponse(content));
+        }
+
+        CompletableFuture<CorrectContentResponse> result = upstream.handle((corrected, error) -> {
+            if (error != null) {
+                log.error("Error al procesar contenido con IA en streaming: {}", error.getMessage(), error);
+                return errorResponse(content);
+            }
+            log.info("Corrección en streaming completada");
+            return buildResponse(content, corrected);
+        });
+        // Si quien consume cancela (p. ej. el cliente se desconectó), se corta la llamada al proveedor
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private boolean shouldChunk(String content) {
+        return chunkingEnabled && content.length() > chunkingThresholdChars;
+    }
+
+    /**
+     * Corrección previa del contenido hecha por alguno de los proveedores disponibles, o null.
+     */
+    private Corrected cached(String content) {
+        return responseCache.find(providerRouter.availableProviders(), content)
+            .map(hit -> new Corrected(hit.text(), hit.provider().getProviderName()))
+            .orElse(null);
+    }
+
+    /**
+     * Cachea la corrección con el proveedor que la respondió.
+     */
+    private Corrected store(String content, AICorrection correction) {
+        responseCache.put(correction.provider(), content, correction.text());
+        return new Corrected(correction.text(), correction.provider().getProviderName());
+    }
+
+    private CompletableFuture<Corrected> correctInChunks(String content) {
+        List<CompletableFuture<Corrected>> parts = correctChunks(TextChunker.split(content, maxChunkChars));
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+            .thenApply(unused -> join(parts));
+    }
+
+    /**
+     * Une los fragmentos corregidos; el proveedor informado es la lista de los que respondieron alguno.
+     */
+    private Corrected join(List<CompletableFuture<Corrected>> parts) {
+        List<Corrected> corrected = parts.stream().map(CompletableFuture::join).toList();
+        String providers = corrected.stream()
+            .map(Corrected::providerName)
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.joining(", "));
+        return new Corrected(
+            corrected.stream().map(Corrected::text).collect(Collectors.joining()),
+            providers.isEmpty() ? providerRouter.getProviderName() : providers);
+    }
+
+    /**
+     * Emite cada fragmento corregido apenas están listos él y todos los anteriores, respetando el orden.
+     */
+    private CompletableFuture<Corrected> streamInChunks(String content, Consumer<String> onDelta) {
+        List<CompletableFuture<Corrected>> parts = correctChunks(TextChunker.split(content, maxChunkChars));
+        CompletableFuture<Void> emitted = CompletableFuture.completedFuture(null);
+        for (CompletableFuture<Corrected> part : parts) {
+            emitted = emitted.thenCombine(part, (unused, corrected) -> {
+                onDelta.accept(corrected.text());
+                return null;
+            });
+        }
+        CompletableFuture<Corrected> result = emitted.thenApply(unused -> join(parts));
+        // Cancelado el stream, los fragmentos que no empezaron ya no se piden al proveedor
+        result.whenComplete((text, error) -> {
+            if (result.isCancelled()) {
+                parts.forEach(part -> part.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Corrige los fragmentos con a lo sumo maxParallelChunks en vuelo: cada uno que termina lanza el siguiente.
+     * Si uno falla, los que no empezaron fallan con el mismo error sin llamar al proveedor.
+     */
+    private List<CompletableFuture<Corrected>> correctChunks(List<String> chunks) {
+        List<CompletableFuture<Corrected>> results = new ArrayList<>(chunks.size());
+        chunks.forEach(chunk -> results.add(new CompletableFuture<>()));
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Runnable launchNext = new Runnable() {
+            @Override
+            public void run() {
+                int index = next.getAndIncrement();
+                if (index >= chunks.size()) {
+                    return;
+                }
+                if (results.get(index).isCancelled()) {
+                    run();
+                    return;
+                }
+                if (failure.get() != null) {
+                    results.get(index).completeExceptionally(failure.get());
+                    run();
+                    return;
+                }
+                correctChunk(chunks.get(index)).whenComplete((corrected, error) -> {
+                    if (error != null) {
+                        failure.compareAndSet(null, error);
+                        results.get(index).completeExceptionally(error);
+                    } else {
+                        results.get(index).complete(corrected);
+                    }
+                    run();
+                });
+            }
+        };
+        for (int i = 0; i < Math.min(maxParallelChunks, chunks.size()); i++) {
+            launchNext.run();
+        }
+        log.info("Corrigiendo {} fragmentos en paralelo", chunks.size());
+        return results;
+    }
+
+    /**
+     * Corrige un fragmento conservando sus espacios y saltos de línea de los extremos,
+     * para que al unir los fragmentos el formato del texto quede igual.
+     */
+    private CompletableFuture<Corrected> correctChunk(String chunk) {
+        String core = chunk.strip();
+        if (core.isEmpty()) {
+            return CompletableFuture.completedFuture(new Corrected(chunk, null));
+        }
+        int coreStart = chunk.indexOf(core);
+        String leading = chunk.substring(0, coreStart);
+        String trailing = chunk.substring(coreStart + core.length());
+
+        Corrected cached = cached(core);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(new Corrected(leading + cached.text() + trailing, cached.providerName()));
+        }
+        return providerRouter.correctAsync(core).thenApply(correction -> {
+            Corrected corrected = store(core, correction);
+            return new Corrected(leading + corrected.text() + trailing, corrected.providerName());
+        });
+    }
+
+    private CorrectContentResponse buildResponse(String content, Corrected corrected) {
+        return CorrectContentResponse.builder()
+            .originalContent(content)
+            .correctedContent(corrected.text())
+            .hasChanges(!content.equals(corrected.text()))
+            .message("Contenido corregido por " + corrected.providerName())
+            .build();
+    }
+
+    private CorrectContentResponse errorResponse(String content) {
+        return CorrectContentResponse.builder()
+            .originalContent(content)
+            .correctedContent(content)
+            .hasChanges(false)
+            .message("Error al procesar con IA. Contenido sin cambios.")
+            .build();
+    }
+
+    /**
+     * Texto corregido y nombre de los proveedores que lo respondieron (null si no hizo falta ninguno).
+     */
+    private record Corrected(String text, String providerName) {
+    }
+}
@@ -5,16 +5,19 @@ import com.cloudinary.utils.ObjectUtils;
 import com.mypresentpast.backend.exception.BadRequestException;
 import com.mypresentpast.backend.exception.CloudinaryException;
 import com.mypresentpast.backend.service.CloudinaryService;
+import com.mypresentpast.backend.service.ImageProcessingService;
+import com.mypresentpast.backend.utils.ImageResizer;
 import com.mypresentpast.backend.utils.MessageBundle;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Implementación del servicio de Cloudinary.
@@ -24,19 +27,25 @@ import java.util.Map;
 public class CloudinaryServiceImpl implements CloudinaryService {
     
     private final Cloudinary cloudinary;
+    private final ImageProcessingService imageProcessingService;
 
     // Constantes para compresión y validación
     private static final int MAX_FILE_SIZE_MB = 10; // 10MB máximo
     private static final int COMPRESSED_WIDTH = 1200; // Ancho máximo comprimido
     private static final int COMPRESSED_HEIGHT = 800; // Alto máximo comprimido
     private static final int QUALITY = 80; // Calidad de compresión (80%)
+    private static final int AVATAR_SIZE = 400; // Lado del avatar recortado
+    // Tamaño de cada parte de la subida en streaming (mínimo aceptado por Cloudinary: 5MB)
+    private static final int UPLOAD_CHUNK_SIZE = 5 * 1024 * 1024;
 
 
     public CloudinaryServiceImpl(
             @Value("${cloudinary.cloud-name}") String cloudName,
             @Value("${cloudinary.api-key}") String apiKey,
-            @Value("${cloudinary.api-secret}") String apiSecret
+            @Value("${cloudinary.api-secret}") String apiSecret,
+            ImageProcessingService imageProcessingService
     ) {
+        this.imageProcessingService = imageProcessingService;
         this.cloudinary = new Cloudinary(ObjectUtils.asMap(
                 "cloud_name", cloudName,
                 "api_key", apiKey,
@@ -65,8 +74,6 @@ public class CloudinaryServiceImpl implements CloudinaryService {
                 );
             }
             
-            File convertedFile = convert(file);
-            
             // Parámetros de subida CON COMPRESIÓN AUTOMÁTICA
             Map<String, Object> params = ObjectUtils.asMap(
                     "use_filename", true,
@@ -76,13 +83,9 @@ public class CloudinaryServiceImpl implements CloudinaryService {
                     "transformation", String.format("w_%d,h_%d,c_limit,q_%d,f_auto", 
                         COMPRESSED_WIDTH, COMPRESSED_HEIGHT, QUALITY)
             );
-            
-            Map<String, Object> result = cloudinary.uploader().upload(convertedFile, params);
-            
-            // Eliminar archivo temporal
-            if (!convertedFile.delete()) {
-            }
-            return result;
+
+            // Se reduce localmente a los mismos límites; la transformación remota queda como respaldo
+            return uploadProcessed(file, params, COMPRESSED_WIDTH, COMPRESSED_HEIGHT, ImageResizer.Mode.FIT);
             
         } catch (Exception e) {
             throw new RuntimeException("Error al subir imagen: " + e.getMessage());
@@ -109,8 +112,9 @@ public class CloudinaryServiceImpl implements CloudinaryService {
                     "resource_type", "image",      // Especifica el tipo de recurso
                     "transformation", "w_400,h_400,c_fill,g_face,q_auto:good,f_auto" // Redimensiona y optimiza la imagen
             );
-            // Realiza la carga del archivo en Cloudinary y devuelve el resultado como un mapa
-            return cloudinary.uploader().upload(file.getBytes(), params);
+            // Realiza la carga del archivo en Cloudinary y devuelve el resultado como un mapa.
+            // Se reduce localmente solo hasta cubrir el recorte, así Cloudinary puede seguir centrando en la cara
+            return uploadProcessed(file, params, AVATAR_SIZE, AVATAR_SIZE, ImageResizer.Mode.COVER);
 
         } catch (Exception e) {
             log.error("Error al subir imagen a Cloudinary para userId={}: {}", userId, e.getMessage(), e);
@@ -133,16 +137,45 @@ public class CloudinaryServiceImpl implements CloudinaryService {
     }
     
     /**
-     * Convierte MultipartFile a File temporal.
+     * Sube la versión procesada de la imagen si se pudo generar; si no, la original por streaming.
      */
-    private File convert(MultipartFile file) throws IOException {
-        File convertedFile = new File(System.getProperty("java.io.tmpdir") + "/" + file.getOriginalFilename());
-        
-        try (FileOutputStream fos = new FileOutputStream(convertedFile)) {
-            fos.write(file.getBytes());
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> uploadProcessed(MultipartFile file, Map<String, Object> params,
+                                                int width, int height, ImageResizer.Mode mode) throws IOException {
+        Optional<ImageResizer.ResizedImage> processed = imageProcessingService.process(file, width, height, mode);
+        if (processed.isEmpty()) {
+            return uploadStream(file, params);
         }
-        
-        return convertedFile;
+
+        Map<String, Object> options = new HashMap<>(params);
+        if (file.getOriginalFilename() != null) {
+            options.put("filename", file.getOriginalFilename());
+        }
+        return cloudinary.uploader().upload(processed.get().getContent(), options);
+    }
+
+    /**
+     * Sube el archivo leyendo directamente del stream del multipart, por partes de UPLOAD_CHUNK_SIZE.
+     * No copia el archivo completo a memoria ni a un archivo temporal.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> uploadStream(MultipartFile file, Map<String, Object> params) throws IOException {
+        Map<String, Object> options = new HashMap<>(params);
+        // Sin File, Cloudinary toma el nombre de esta opción (necesario para use_filename)
+        if (file.getOriginalFilename() != null) {
+            options.put("filename", file.getOriginalFilename());
+        }
+
+        try (InputStream inputStream = file.getInputStream()) {
+            return cloudinary.uploader().uploadLarge(inputStream, options, uploadChunkSize(file.getSize()));
+        }
+    }
+
+    /**
+     * Cloudinary reserva un buffer del tamaño de la parte: para archivos chicos alcanza con su propio tamaño.
+     */
+    static int uploadChunkSize(long fileSize) {
+        return (int) Math.min(UPLOAD_CHUNK_SIZE, Math.max(1, fileSize));
     }
     
     /**
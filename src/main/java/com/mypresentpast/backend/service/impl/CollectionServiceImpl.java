@@ -7,7 +7,11 @@ import com.mypresentpast.backend.dto.request.CreateCollectionAndSavePostRequest;
 import com.mypresentpast.backend.dto.request.CreateCollectionRequest;
 import com.mypresentpast.backend.dto.request.UpdateCollectionRequest;
 import com.mypresentpast.backend.dto.response.ApiResponse;
+import com.mypresentpast.backend.dto.response.CollectionPostsBatchResponse;
+import com.mypresentpast.backend.dto.response.CollectionPostsBatchResponse.Outcome;
 import com.mypresentpast.backend.dto.response.CollectionSummaryResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
+import com.mypresentpast.backend.dto.response.LikeStatusResponse;
 import com.mypresentpast.backend.dto.response.PostCollectionStatusResponse;
 import com.mypresentpast.backend.dto.response.PostResponse;
 import com.mypresentpast.backend.enums.PostStatus;
@@ -19,14 +23,30 @@ import com.mypresentpast.backend.model.Post;
 import com.mypresentpast.backend.model.User;
 import com.mypresentpast.backend.repository.CollectionPostRepository;
 import com.mypresentpast.backend.repository.CollectionRepository;
+import com.mypresentpast.backend.repository.MediaRepository;
 import com.mypresentpast.backend.repository.PostRepository;
 import com.mypresentpast.backend.repository.UserRepository;
+import com.mypresentpast.backend.repository.projection.CollectionPostView;
+import com.mypresentpast.backend.repository.projection.MediaView;
+import com.mypresentpast.backend.repository.projection.PostStatusView;
 import com.mypresentpast.backend.service.CollectionService;
+import com.mypresentpast.backend.service.LikeService;
+import com.mypresentpast.backend.service.SavedPostIndexService;
+import com.mypresentpast.backend.utils.PageCursor;
 import com.mypresentpast.backend.utils.SecurityUtils;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -41,10 +61,17 @@ public class CollectionServiceImpl implements CollectionService {
     private static final int MAX_COLLECTIONS_PER_USER = 20;
     private static final int MAX_POSTS_PER_COLLECTION = 20;
 
+    private static final String INSERT_COLLECTION_POST =
+        "INSERT INTO collection_post (collection_id, post_id, added_at) VALUES (?, ?, ?)";
+
     private final CollectionRepository collectionRepository;
     private final CollectionPostRepository collectionPostRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final MediaRepository mediaRepository;
+    private final LikeService likeService;
+    private final SavedPostIndexService savedPostIndexService;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     @Transactional(readOnly = true)
@@ -118,6 +145,7 @@ public class CollectionServiceImpl implements CollectionService {
                     throw new BadRequestException("Ya tienes una colección con ese nombre");
                 }
                 collection.setName(trimmedName);
+                savedPostIndexService.invalidate(currentUserId);
             }
         }
         
@@ -142,23 +170,53 @@ public class CollectionServiceImpl implements CollectionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Colección no encontrada"));
         
         collectionRepository.delete(collection);
+        savedPostIndexService.invalidate(currentUserId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PostResponse> getCollectionPosts(Long id) {
+    public CursorPageResponse<PostResponse> getCollectionPosts(Long id, String cursor, Integer size) {
         Long currentUserId = SecurityUtils.getCurrentUserId();
         
         // Verificar que la colección pertenece al usuario
-        Collection collection = collectionRepository.findByIdAndAuthorId(id, currentUserId)
+        collectionRepository.findByIdAndAuthorId(id, currentUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("Colección no encontrada"));
-        
-        List<CollectionPost> collectionPosts = collectionPostRepository
-                .findByCollectionIdOrderByAddedAtDesc(id);
-        
-        return collectionPosts.stream()
-                .map(cp -> mapToPostResponse(cp.getPost()))
+
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        int pageSize = PageCursor.resolvePageSize(size, PageCursor.DEFAULT_PAGE_SIZE, PageCursor.MAX_PAGE_SIZE);
+
+        // Se pide una fila de más para saber si hay página siguiente sin contar
+        List<CollectionPostView> rows = collectionPostRepository.findPageByCollectionId(
+                id, PageCursor.dateTimeOf(pageCursor), PageCursor.idOf(pageCursor), PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            CollectionPostView last = rows.get(rows.size() - 1);
+            nextCursor = PageCursor.encode(last.getAddedAt(), last.getCollectionPostId());
+        }
+
+        // Imágenes y likes de toda la página con una consulta cada uno, en lugar de recorrer relaciones lazy
+        List<Long> postIds = rows.stream()
+                .map(CollectionPostView::getPostId)
                 .collect(Collectors.toList());
+        Map<Long, List<MediaDto>> mediaByPost = findMediaByPostIds(postIds);
+        Map<Long, LikeStatusResponse> likeStatuses = likeService.getLikeStatuses(postIds, currentUserId);
+
+        List<PostResponse> posts = rows.stream()
+                .map(row -> mapToPostResponse(row, mediaByPost.get(row.getPostId()), likeStatuses.get(row.getPostId())))
+                .collect(Collectors.toList());
+
+        return CursorPageResponse.<PostResponse>builder()
+                .content(posts)
+                .size(posts.size())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Override
@@ -167,23 +225,16 @@ public class CollectionServiceImpl implements CollectionService {
         Long currentUserId = SecurityUtils.getCurrentUserId();
         
         // Verificar que el post existe y está activo
-        Post post = postRepository.findById(postId)
+        PostStatus status = postRepository.findStatusById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post no encontrado"));
         
-        if (post.getStatus() != PostStatus.ACTIVE) {
+        if (status != PostStatus.ACTIVE) {
             throw new BadRequestException("El post no está disponible");
         }
         
-        List<CollectionPost> collectionPosts = collectionPostRepository
-                .findByPostIdAndCollectionAuthorId(postId, currentUserId);
-        
-        List<PostCollectionStatusResponse.CollectionInfo> collectionsContaining = 
-                collectionPosts.stream()
-                        .map(cp -> PostCollectionStatusResponse.CollectionInfo.builder()
-                                .collectionId(cp.getCollection().getId())
-                                .collectionName(cp.getCollection().getName())
-                                .build())
-                        .collect(Collectors.toList());
+        List<PostCollectionStatusResponse.CollectionInfo> collectionsContaining = savedPostIndexService
+                .getCollectionsContaining(currentUserId, List.of(postId))
+                .get(postId);
         
         return PostCollectionStatusResponse.builder()
                 .postId(postId)
@@ -191,6 +242,23 @@ public class CollectionServiceImpl implements CollectionService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostCollectionStatusResponse> getPostCollectionStatuses(List<Long> postIds) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+
+        // Responde desde el índice en memoria, sin validar cada post contra la base
+        Map<Long, List<PostCollectionStatusResponse.CollectionInfo>> collectionsByPost = savedPostIndexService
+                .getCollectionsContaining(currentUserId, new LinkedHashSet<>(postIds));
+
+        return collectionsByPost.entrySet().stream()
+                .map(entry -> PostCollectionStatusResponse.builder()
+                        .postId(entry.getKey())
+                        .collectionsContaining(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     @Override
     public ApiResponse addPostToCollection(Long collectionId, Long postId) {
         Long currentUserId = SecurityUtils.getCurrentUserId();
@@ -224,6 +292,7 @@ public class CollectionServiceImpl implements CollectionService {
                 .build();
         
         collectionPostRepository.save(collectionPost);
+        savedPostIndexService.invalidate(currentUserId);
         
         return ApiResponse.builder()
                 .message("Post agregado a la colección")
@@ -244,12 +313,99 @@ public class CollectionServiceImpl implements CollectionService {
                 .orElseThrow(() -> new ResourceNotFoundException("El post no está en esta colección"));
         
         collectionPostRepository.delete(collectionPost);
+        savedPostIndexService.invalidate(currentUserId);
         
         return ApiResponse.builder()
                 .message("Post eliminado de la colección")
                 .build();
     }
 
+    @Override
+    public CollectionPostsBatchResponse addPostsToCollection(Long collectionId, List<Long> postIds) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        Set<Long> requested = new LinkedHashSet<>(postIds);
+
+        // Verificar que la colección pertenece al usuario
+        collectionRepository.findByIdAndAuthorId(collectionId, currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Colección no encontrada"));
+
+        Map<Long, Outcome> outcomes = new HashMap<>();
+        List<Long> toInsert = selectInsertable(collectionId, requested, outcomes);
+        insertCollectionPosts(collectionId, toInsert);
+        toInsert.forEach(postId -> outcomes.put(postId, Outcome.ADDED));
+
+        if (!toInsert.isEmpty()) {
+            savedPostIndexService.invalidate(currentUserId);
+        }
+        return buildBatchResponse(collectionId, requested, outcomes, Outcome.ADDED);
+    }
+
+    @Override
+    public CollectionPostsBatchResponse removePostsFromCollection(Long collectionId, List<Long> postIds) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        Set<Long> requested = new LinkedHashSet<>(postIds);
+
+        // Verificar que la colección pertenece al usuario
+        collectionRepository.findByIdAndAuthorId(collectionId, currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Colección no encontrada"));
+
+        List<Long> present = collectionPostRepository.findPostIdsInCollection(collectionId, requested);
+        Map<Long, Outcome> outcomes = new HashMap<>();
+        requested.forEach(postId -> outcomes.put(postId, Outcome.NOT_IN_COLLECTION));
+        present.forEach(postId -> outcomes.put(postId, Outcome.REMOVED));
+
+        if (!present.isEmpty()) {
+            collectionPostRepository.deleteByCollectionIdAndPostIds(collectionId, present);
+            savedPostIndexService.invalidate(currentUserId);
+        }
+        return buildBatchResponse(collectionId, requested, outcomes, Outcome.REMOVED);
+    }
+
+    @Override
+    public CollectionPostsBatchResponse movePostsBetweenCollections(Long sourceCollectionId, Long targetCollectionId,
+                                                                    List<Long> postIds) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        Set<Long> requested = new LinkedHashSet<>(postIds);
+
+        if (sourceCollectionId.equals(targetCollectionId)) {
+            throw new BadRequestException("La colección destino debe ser distinta de la de origen");
+        }
+
+        // Verificar que ambas colecciones pertenecen al usuario
+        collectionRepository.findByIdAndAuthorId(sourceCollectionId, currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Colección no encontrada"));
+        collectionRepository.findByIdAndAuthorId(targetCollectionId, currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Colección destino no encontrada"));
+
+        Map<Long, Outcome> outcomes = new HashMap<>();
+        Set<Long> inSource = new LinkedHashSet<>();
+        Set<Long> presentInSource = new HashSet<>(
+                collectionPostRepository.findPostIdsInCollection(sourceCollectionId, requested));
+        for (Long postId : requested) {
+            if (presentInSource.contains(postId)) {
+                inSource.add(postId);
+            } else {
+                outcomes.put(postId, Outcome.NOT_IN_COLLECTION);
+            }
+        }
+
+        // Se validan contra el destino como si se agregaran; los que ya estaban allí solo salen del origen
+        List<Long> toInsert = selectInsertable(targetCollectionId, inSource, outcomes);
+        insertCollectionPosts(targetCollectionId, toInsert);
+
+        List<Long> toDelete = new ArrayList<>(toInsert);
+        inSource.stream()
+                .filter(postId -> outcomes.get(postId) == Outcome.ALREADY_IN_COLLECTION)
+                .forEach(toDelete::add);
+        toDelete.forEach(postId -> outcomes.put(postId, Outcome.MOVED));
+
+        if (!toDelete.isEmpty()) {
+            collectionPostRepository.deleteByCollectionIdAndPostIds(sourceCollectionId, toDelete);
+            savedPostIndexService.invalidate(currentUserId);
+        }
+        return buildBatchResponse(targetCollectionId, requested, outcomes, Outcome.MOVED);
+    }
+
     @Override
     public ApiResponse createCollectionAndSavePost(CreateCollectionAndSavePostRequest request) {
         Long currentUserId = SecurityUtils.getCurrentUserId();
@@ -295,6 +451,7 @@ public class CollectionServiceImpl implements CollectionService {
                 .build();
         
         collectionPostRepository.save(collectionPost);
+        savedPostIndexService.invalidate(currentUserId);
         
         return ApiResponse.builder()
                 .message("Colección creada y post guardado con éxito")
@@ -302,53 +459,126 @@ public class CollectionServiceImpl implements CollectionService {
     }
 
     /**
-     * Mapea un Post a PostResponse.
+     * Valida en bloque los posts a agregar a una colección: existencia y estado, duplicados y límite.
+     * Anota en outcomes el motivo de los rechazados y devuelve los aceptados, en el orden recibido.
+     * Si no hay lugar para todos, entran los primeros.
      */
-    private PostResponse mapToPostResponse(Post post) {
-        PostResponse response = new PostResponse();
-        response.setId(post.getId());
-        response.setTitle(post.getTitle());
-        response.setContent(post.getContent());
-        response.setPostedAt(post.getPostedAt());
-        response.setDate(post.getDate());
-        response.setIsByIA(post.getIsByIA());
-        response.setIsVerified(post.getIsVerified());
-        response.setCategory(post.getCategory());
-        response.setStatus(post.getStatus());
-
-        // Mapear autor manualmente
-        if (post.getAuthor() != null) {
-            UserDto authorDto = new UserDto();
-            authorDto.setId(post.getAuthor().getId());
-            authorDto.setName(post.getAuthor().getProfileUsername());
-            authorDto.setType(post.getAuthor().getRole());
-            authorDto.setAvatar(post.getAuthor().getAvatar());
-            response.setAuthor(authorDto);
+    private List<Long> selectInsertable(Long collectionId, Set<Long> postIds, Map<Long, Outcome> outcomes) {
+        List<Long> insertable = new ArrayList<>();
+        if (postIds.isEmpty()) {
+            return insertable;
         }
 
-        // Mapear ubicación manualmente
-        if (post.getLocation() != null) {
+        Map<Long, PostStatus> statuses = postRepository.findStatusesByIds(postIds).stream()
+                .collect(Collectors.toMap(PostStatusView::getId, PostStatusView::getStatus));
+        Set<Long> alreadyInCollection = new HashSet<>(
+                collectionPostRepository.findPostIdsInCollection(collectionId, postIds));
+        long freeSlots = MAX_POSTS_PER_COLLECTION - collectionPostRepository.countByCollectionId(collectionId);
+
+        for (Long postId : postIds) {
+            PostStatus status = statuses.get(postId);
+            if (status == null) {
+                outcomes.put(postId, Outcome.POST_NOT_FOUND);
+            } else if (status != PostStatus.ACTIVE) {
+                outcomes.put(postId, Outcome.POST_NOT_AVAILABLE);
+            } else if (alreadyInCollection.contains(postId)) {
+                outcomes.put(postId, Outcome.ALREADY_IN_COLLECTION);
+            } else if (insertable.size() >= freeSlots) {
+                outcomes.put(postId, Outcome.COLLECTION_FULL);
+            } else {
+                insertable.add(postId);
+            }
+        }
+        return insertable;
+    }
+
+    /**
+     * Inserta las relaciones en un único lote JDBC, dentro de la transacción en curso.
+     */
+    private void insertCollectionPosts(Long collectionId, List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        Timestamp addedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = postIds.stream()
+                .map(postId -> new Object[]{collectionId, postId, addedAt})
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(INSERT_COLLECTION_POST, rows);
+    }
+
+    private CollectionPostsBatchResponse buildBatchResponse(Long collectionId, Set<Long> requested,
+                                                            Map<Long, Outcome> outcomes, Outcome success) {
+        List<CollectionPostsBatchResponse.ItemResult> results = requested.stream()
+                .map(postId -> CollectionPostsBatchResponse.ItemResult.builder()
+                        .postId(postId)
+                        .outcome(outcomes.get(postId))
+                        .build())
+                .collect(Collectors.toList());
+
+        int succeeded = (int) results.stream()
+                .filter(result -> result.getOutcome() == success)
+                .count();
+
+        return CollectionPostsBatchResponse.builder()
+                .collectionId(collectionId)
+                .succeeded(succeeded)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Agrupa por post las imágenes de todos los posts indicados, obtenidas en una sola consulta.
+     */
+    private Map<Long, List<MediaDto>> findMediaByPostIds(List<Long> postIds) {
+        Map<Long, List<MediaDto>> mediaByPost = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return mediaByPost;
+        }
+        for (MediaView media : mediaRepository.findViewsByPostIds(postIds)) {
+            MediaDto mediaDto = new MediaDto();
+            mediaDto.setId(media.getId());
+            mediaDto.setType(media.getType());
+            mediaDto.setUrl(media.getUrl());
+            mediaByPost.computeIfAbsent(media.getPostId(), postId -> new ArrayList<>()).add(mediaDto);
+        }
+        return mediaByPost;
+    }
+
+    /**
+     * Mapea la proyección de un post guardado a PostResponse.
+     */
+    private PostResponse mapToPostResponse(CollectionPostView row, List<MediaDto> media, LikeStatusResponse likeStatus) {
+        PostResponse response = new PostResponse();
+        response.setId(row.getPostId());
+        response.setTitle(row.getTitle());
+        response.setContent(row.getContent());
+        response.setPostedAt(row.getPostedAt());
+        response.setDate(row.getDate());
+        response.setIsByIA(row.getIsByIA());
+        response.setIsVerified(row.getIsVerified());
+        response.setCategory(row.getCategory());
+        response.setStatus(row.getStatus());
+
+        UserDto authorDto = new UserDto();
+        authorDto.setId(row.getAuthorId());
+        authorDto.setName(row.getAuthorName());
+        authorDto.setType(row.getAuthorRole());
+        authorDto.setAvatar(row.getAuthorAvatar());
+        response.setAuthor(authorDto);
+
+        // La ubicación es opcional (LEFT JOIN)
+        if (row.getLocationId() != null) {
             LocationDto locationDto = new LocationDto();
-            locationDto.setId(post.getLocation().getId());
-            locationDto.setAddress(post.getLocation().getAddress());
-            locationDto.setLatitude(post.getLocation().getLatitude());
-            locationDto.setLongitude(post.getLocation().getLongitude());
+            locationDto.setId(row.getLocationId());
+            locationDto.setAddress(row.getLocationAddress());
+            locationDto.setLatitude(row.getLocationLatitude());
+            locationDto.setLongitude(row.getLocationLongitude());
             response.setLocation(locationDto);
         }
 
-        // Mapear media manualmente
-        if (post.getMedia() != null && !post.getMedia().isEmpty()) {
-            List<MediaDto> mediaDtos = post.getMedia().stream()
-                    .map(media -> {
-                        MediaDto mediaDto = new MediaDto();
-                        mediaDto.setId(media.getId());
-                        mediaDto.setType(media.getType());
-                        mediaDto.setUrl(media.getUrl());
-                        return mediaDto;
-                    })
-                    .collect(Collectors.toList());
-            response.setMedia(mediaDtos);
-        }
+        response.setMedia(media != null ? media : new ArrayList<>());
+        response.setTotalLikes(likeStatus != null ? likeStatus.getTotalLikes() : 0L);
+        response.setIsLiked(likeStatus != null && Boolean.TRUE.equals(likeStatus.getIsLiked()));
 
         return response;
     }
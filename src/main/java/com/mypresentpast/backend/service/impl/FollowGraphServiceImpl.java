@@ -0,0 +1,203 @@
+package com.mypresentpast.backend.service.impl;
+
+import com.mypresentpast.backend.repository.FollowRepository;
+import com.mypresentpast.backend.repository.projection.FollowEdgeView;
+import com.mypresentpast.backend.service.FollowGraphService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Implementación en memoria del grafo de seguimiento.
+ * Cada usuario tiene un long[] ordenado de seguidores y otro de seguidos: las consultas son
+ * búsquedas binarias sin bloqueo, y las altas y bajas reemplazan el arreglo del usuario (copy-on-write).
+ * Hasta que termina la primera carga, las consultas se delegan en la base.
+ * Se recarga periódicamente para tomar cambios hechos por otras instancias.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FollowGraphServiceImpl implements FollowGraphService {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final FollowRepository followRepository;
+
+    // Las escrituras y la recarga se serializan; las lecturas no bloquean
+    private final Object writeLock = new Object();
+    private volatile Map<Long, long[]> followersByUser = new ConcurrentHashMap<>();
+    private volatile Map<Long, long[]> followingByUser = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${follows.graph.refresh-ms:900000}",
+        initialDelayString = "${follows.graph.refresh-ms:900000}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        synchronized (writeLock) {
+            Map<Long, LongArrayBuilder> followers = new HashMap<>();
+            Map<Long, LongArrayBuilder> following = new HashMap<>();
+            long edges = 0;
+            try (Stream<FollowEdgeView> stream = followRepository.streamAllEdges()) {
+                for (FollowEdgeView edge : (Iterable<FollowEdgeView>) stream::iterator) {
+                    followers.computeIfAbsent(edge.getFolloweeId(), id -> new LongArrayBuilder()).add(edge.getFollowerId());
+                    following.computeIfAbsent(edge.getFollowerId(), id -> new LongArrayBuilder()).add(edge.getFolloweeId());
+                    edges++;
+                }
+            }
+
+            followersByUser = toSortedArrays(followers);
+            followingByUser = toSortedArrays(following);
+            loaded = true;
+            log.info("Grafo de seguimiento cargado: {} relaciones, {} usuarios seguidos", edges, followers.size());
+        }
+    }
+
+    @Override
+    public boolean isFollowing(Long followerId, Long followeeId) {
+        if (!loaded) {
+            return followRepository.existsByFollowerIdAndFolloweeId(followerId, followeeId);
+        }
+        return Arrays.binarySearch(followingByUser.getOrDefault(followerId, EMPTY), followeeId) >= 0;
+    }
+
+    @Override
+    public long countFollowers(Long userId) {
+        if (!loaded) {
+            return followRepository.countByFolloweeId(userId);
+        }
+        return followersByUser.getOrDefault(userId, EMPTY).length;
+    }
+
+    @Override
+    public long countFollowing(Long userId) {
+        if (!loaded) {
+            return followRepository.countByFollowerId(userId);
+        }
+        return followingByUser.getOrDefault(userId, EMPTY).length;
+    }
+
+    @Override
+    public long[] getFollowerIds(Long userId) {
+        if (!loaded) {
+            return followRepository.findFollowerIdsByUserId(userId).stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        return followersByUser.getOrDefault(userId, EMPTY).clone();
+    }
+
+    @Override
+    public long[] getFollowingIds(Long userId) {
+        if (!loaded) {
+            return followRepository.findFollowingIdsByUserId(userId).stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        return followingByUser.getOrDefault(userId, EMPTY).clone();
+    }
+
+    @Override
+    public void followAdded(Long followerId, Long followeeId) {
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                followersByUser.put(followeeId, insert(followersByUser.getOrDefault(followeeId, EMPTY), followerId));
+                followingByUser.put(followerId, insert(followingByUser.getOrDefault(followerId, EMPTY), followeeId));
+            }
+        });
+    }
+
+    @Override
+    public void followRemoved(Long followerId, Long followeeId) {
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                replace(followersByUser, followeeId, remove(followersByUser.getOrDefault(followeeId, EMPTY), followerId));
+                replace(followingByUser, followerId, remove(followingByUser.getOrDefault(followerId, EMPTY), followeeId));
+            }
+        });
+    }
+
+    /**
+     * Los cambios solo se publican si la transacción se confirma; un rollback no deja el grafo desfasado.
+     */
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private static void replace(Map<Long, long[]> graph, Long userId, long[] ids) {
+        if (ids.length == 0) {
+            graph.remove(userId);
+        } else {
+            graph.put(userId, ids);
+        }
+    }
+
+    static long[] insert(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return ids;
+        }
+        index = -index - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, index);
+        result[index] = id;
+        System.arraycopy(ids, index, result, index + 1, ids.length - index);
+        return result;
+    }
+
+    static long[] remove(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, index);
+        System.arraycopy(ids, index + 1, result, index, ids.length - index - 1);
+        return result;
+    }
+
+    private static Map<Long, long[]> toSortedArrays(Map<Long, LongArrayBuilder> builders) {
+        Map<Long, long[]> graph = new ConcurrentHashMap<>(Math.max(16, builders.size() * 4 / 3));
+        builders.forEach((userId, builder) -> graph.put(userId, builder.toSortedArray()));
+        return graph;
+    }
+
+    /**
+     * Arreglo de long que crece al agregar, para armar el grafo sin boxing.
+     */
+    private static class LongArrayBuilder {
+
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedArray() {
+            long[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
@@ -2,19 +2,25 @@ package com.mypresentpast.backend.service.impl;
 
 import com.mypresentpast.backend.dto.UserDto;
 import com.mypresentpast.backend.dto.response.ApiResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
 import com.mypresentpast.backend.dto.response.FollowStatsResponse;
 import com.mypresentpast.backend.exception.ResourceNotFoundException;
 import com.mypresentpast.backend.model.Follow;
 import com.mypresentpast.backend.model.User;
 import com.mypresentpast.backend.repository.FollowRepository;
 import com.mypresentpast.backend.repository.UserRepository;
+import com.mypresentpast.backend.repository.projection.FollowUserView;
+import com.mypresentpast.backend.service.FollowGraphService;
 import com.mypresentpast.backend.service.FollowService;
 import com.mypresentpast.backend.utils.MessageBundle;
+import com.mypresentpast.backend.utils.PageCursor;
 import com.mypresentpast.backend.utils.SecurityUtils;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +35,7 @@ public class FollowServiceImpl implements FollowService {
 
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
+    private final FollowGraphService followGraphService;
 
     @Override
     public ApiResponse follow(Long followeeId) {
@@ -59,6 +66,9 @@ public class FollowServiceImpl implements FollowService {
             .build();
 
         followRepository.save(follow);
+        userRepository.adjustFollowingCount(currentUserId, 1);
+        userRepository.adjustFollowerCount(followeeId, 1);
+        followGraphService.followAdded(currentUserId, followeeId);
         
         log.info("Usuario {} comenzó a seguir al usuario {}", currentUserId, followeeId);
 
@@ -81,6 +91,9 @@ public class FollowServiceImpl implements FollowService {
 
         // Eliminar la relación de seguimiento
         followRepository.delete(follow);
+        userRepository.adjustFollowingCount(currentUserId, -1);
+        userRepository.adjustFollowerCount(followeeId, -1);
+        followGraphService.followRemoved(currentUserId, followeeId);
         
         log.info("Usuario {} dejó de seguir al usuario {}", currentUserId, followeeId);
 
@@ -94,7 +107,8 @@ public class FollowServiceImpl implements FollowService {
     public List<UserDto> getMyFollowing() {
         Long currentUserId = SecurityUtils.getCurrentUserId();
         
-        List<User> following = followRepository.findFollowingByUserId(currentUserId);
+        List<FollowUserView> following = followRepository.findFollowingByUserId(
+            currentUserId, PageCursor.FIRST_PAGE_ID, Pageable.unpaged());
         
         return following.stream()
             .map(this::mapToUserDto)
@@ -106,7 +120,8 @@ public class FollowServiceImpl implements FollowService {
     public List<UserDto> getMyFollowers() {
         Long currentUserId = SecurityUtils.getCurrentUserId();
         
-        List<User> followers = followRepository.findFollowersByUserId(currentUserId);
+        List<FollowUserView> followers = followRepository.findFollowersByUserId(
+            currentUserId, PageCursor.FIRST_PAGE_ID, Pageable.unpaged());
         
         return followers.stream()
             .map(this::mapToUserDto)
@@ -114,56 +129,79 @@ public class FollowServiceImpl implements FollowService {
     }
 
     @Override
-    public List<UserDto> getFollowingByUserId(Long userId) {
-        List<User> following = followRepository.findFollowingByUserId(userId);
-        return following.stream()
-                .map(this::mapToUserDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserDto> getFollowingByUserId(Long userId, String cursor, Integer size) {
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        int pageSize = PageCursor.resolvePageSize(size, PageCursor.DEFAULT_PAGE_SIZE, PageCursor.MAX_PAGE_SIZE);
+
+        List<FollowUserView> following = followRepository.findFollowingByUserId(
+            userId, PageCursor.idOf(pageCursor), PageRequest.of(0, pageSize + 1));
+        return toPage(following, pageSize);
     }
 
     @Override
-    public List<UserDto> getFollowersByUserId(Long userId) {
-        List<User> followers = followRepository.findFollowersByUserId(userId);
-        return followers.stream()
-                .map(this::mapToUserDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserDto> getFollowersByUserId(Long userId, String cursor, Integer size) {
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        int pageSize = PageCursor.resolvePageSize(size, PageCursor.DEFAULT_PAGE_SIZE, PageCursor.MAX_PAGE_SIZE);
+
+        List<FollowUserView> followers = followRepository.findFollowersByUserId(
+            userId, PageCursor.idOf(pageCursor), PageRequest.of(0, pageSize + 1));
+        return toPage(followers, pageSize);
     }
 
+    /**
+     * Arma la página a partir de pageSize + 1 filas: la fila extra solo indica que hay más.
+     */
+    private CursorPageResponse<UserDto> toPage(List<FollowUserView> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            nextCursor = PageCursor.encode(rows.get(rows.size() - 1).getFollowId());
+        }
 
+        return CursorPageResponse.<UserDto>builder()
+            .content(rows.stream().map(this::mapToUserDto).toList())
+            .size(rows.size())
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .build();
+    }
 
     @Override
     @Transactional(readOnly = true)
     public Boolean isFollowing(Long userId) {
         Long currentUserId = SecurityUtils.getCurrentUserId();
-        return followRepository.existsByFollowerIdAndFolloweeId(currentUserId, userId);
+        return followGraphService.isFollowing(currentUserId, userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public FollowStatsResponse getFollowStats(Long userId) {
-        // Verificar que el usuario existe
+        // Verificar que el usuario existe; los contadores salen de la misma fila que usa el perfil
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con id: " + userId));
 
         Long currentUserId = SecurityUtils.getCurrentUserId();
-        boolean isFollowing = followRepository.existsByFollowerIdAndFolloweeId(currentUserId, userId);
-        
-        long followersCount = followRepository.countByFolloweeId(userId);
-        long followingCount = followRepository.countByFollowerId(userId);
+        boolean isFollowing = followGraphService.isFollowing(currentUserId, userId);
 
         return FollowStatsResponse.builder()
             .userId(userId)
             .profileUsername(user.getProfileUsername())
-            .followersCount(followersCount)
-            .followingCount(followingCount)
+            .followersCount(user.getFollowerCount())
+            .followingCount(user.getFollowingCount())
             .isFollowing(isFollowing)
             .build();
     }
 
     /**
-     * Convierte un User a UserDto.
+     * Convierte la proyección de un usuario a UserDto.
      */
-    private UserDto mapToUserDto(User user) {
+    private UserDto mapToUserDto(FollowUserView user) {
         return UserDto.builder()
             .id(user.getId())
             .name(user.getProfileUsername())
@@ -0,0 +1,79 @@
+package com.mypresentpast.backend.service.impl;
+
+import com.mypresentpast.backend.service.ImageProcessingService;
+import com.mypresentpast.backend.utils.ImageResizer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Implementación de ImageProcessingService sobre el pool imageProcessingExecutor.
+ * Ante cualquier problema devuelve vacío y la imagen se sube sin procesar.
+ */
+@Service
+@Slf4j
+public class ImageProcessingServiceImpl implements ImageProcessingService {
+
+    // GIF queda afuera para no perder animaciones; WEBP no lo decodifica ImageIO
+    private static final Set<String> PROCESSABLE_TYPES = Set.of("image/jpeg", "image/jpg", "image/png");
+
+    private final Executor executor;
+    private final boolean enabled;
+    private final float quality;
+    private final long timeoutSeconds;
+
+    public ImageProcessingServiceImpl(@Qualifier("imageProcessingExecutor") Executor executor,
+                                      @Value("${uploads.processing.enabled:true}") boolean enabled,
+                                      @Value("${uploads.processing.quality:0.8}") float quality,
+                                      @Value("${uploads.processing.timeout-seconds:30}") long timeoutSeconds) {
+        this.executor = executor;
+        this.enabled = enabled;
+        this.quality = quality;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    @Override
+    public Optional<ImageResizer.ResizedImage> process(MultipartFile file, int width, int height,
+                                                       ImageResizer.Mode mode) {
+        if (!enabled || file.getContentType() == null || !PROCESSABLE_TYPES.contains(file.getContentType())) {
+            return Optional.empty();
+        }
+
+        try {
+            Optional<ImageResizer.ResizedImage> resized = CompletableFuture
+                .supplyAsync(() -> resize(file, width, height, mode), executor)
+                .get(timeoutSeconds, TimeUnit.SECONDS);
+
+            // Si recomprimir no ahorra bytes, se sube la original
+            return resized.filter(image -> image.getContent().length < file.getSize());
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("No se pudo procesar la imagen {}, se sube la original: {}",
+                file.getOriginalFilename(), e.getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private Optional<ImageResizer.ResizedImage> resize(MultipartFile file, int width, int height,
+                                                       ImageResizer.Mode mode) {
+        try (InputStream input = file.getInputStream()) {
+            return ImageResizer.resize(input, width, height, mode, quality);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.mypresentpast.backend.service.impl;
+
+import com.mypresentpast.backend.service.CloudinaryService;
+import com.mypresentpast.backend.service.ImageUploadService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Implementación de ImageUploadService sobre el pool imageUploadExecutor.
+ */
+@Service
+@Slf4j
+public class ImageUploadServiceImpl implements ImageUploadService {
+
+    private final CloudinaryService cloudinaryService;
+    private final Executor executor;
+    private final long timeoutSeconds;
+
+    public ImageUploadServiceImpl(CloudinaryService cloudinaryService,
+                                  @Qualifier("imageUploadExecutor") Executor executor,
+                                  @Value("${uploads.timeout-seconds:60}") long timeoutSeconds) {
+        this.cloudinaryService = cloudinaryService;
+        this.executor = executor;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    @Override
+    public List<Map<String, Object>> uploadAll(List<MultipartFile> images) {
+        if (images == null || images.isEmpty()) {
+            return List.of();
+        }
+
+        List<CompletableFuture<Map<String, Object>>> futures = images.stream()
+            .map(image -> CompletableFuture.supplyAsync(() -> cloudinaryService.upload(image), executor))
+            .toList();
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // Se espera al resto antes de compensar, salvo que haya vencido el tiempo
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>(images.size());
+        Throwable failure = null;
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<Map<String, Object>> future = futures.get(i);
+            if (!future.isDone()) {
+                failure = Objects.requireNonNullElse(failure,
+                    new TimeoutException("Tiempo de subida agotado para " + images.get(i).getOriginalFilename()));
+                // Si termina más tarde, se elimina para no dejar imágenes huérfanas. Se borra en el mismo hilo
+                // que completó la subida: deleteAll esperaría tareas del mismo pool y podría agotarlo
+                future.thenAccept(result -> deleteQuietly(publicIdOf(result)));
+                continue;
+            }
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                log.error("Error al subir imagen {}: {}", images.get(i).getOriginalFilename(), e.getCause().getMessage());
+                failure = Objects.requireNonNullElse(failure, e.getCause());
+            }
+        }
+
+        if (failure != null) {
+            deleteAll(results.stream().map(ImageUploadServiceImpl::publicIdOf).toList());
+            throw new RuntimeException("Error al subir imagen: " + failure.getMessage());
+        }
+        return results;
+    }
+
+    @Override
+    public void deleteAll(Collection<String> publicIds) {
+        List<CompletableFuture<Void>> futures = publicIds.stream()
+            .filter(publicId -> publicId != null && !publicId.isBlank())
+            .map(publicId -> CompletableFuture.runAsync(() -> deleteQuietly(publicId), executor))
+            .toList();
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("No se pudo confirmar la eliminación de {} imágenes de Cloudinary", publicIds.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deleteQuietly(String publicId) {
+        if (publicId == null || publicId.isBlank()) {
+            return;
+        }
+        try {
+            cloudinaryService.delete(publicId);
+            log.info("Imagen eliminada de Cloudinary: {}", publicId);
+        } catch (Exception e) {
+            log.error("Error al eliminar imagen de Cloudinary {}: {}", publicId, e.getMessage());
+        }
+    }
+
+    private static String publicIdOf(Map<String, Object> uploadResult) {
+        return (String) uploadResult.get("public_id");
+    }
+}
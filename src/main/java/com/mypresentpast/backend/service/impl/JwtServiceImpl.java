@@ -1,12 +1,16 @@
 package com.mypresentpast.backend.service.impl;
 
 import com.mypresentpast.backend.model.User;
+import com.mypresentpast.backend.model.UserRole;
 import com.mypresentpast.backend.service.JwtService;
+import com.mypresentpast.backend.utils.ExpiringCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -26,6 +30,29 @@ public class JwtServiceImpl implements JwtService {
     @Value("${jwt.expiration.ms}")
     private long expirationTimeMs;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    private Key signingKey;
+    private JwtParser parser;
+
+    /**
+     * Claims ya validados, indexados por el token. Se usa el token tal cual: un hash costaría
+     * casi lo mismo que la verificación HMAC que se quiere evitar.
+     * Cada entrada vence junto con el token, así que nunca se devuelve un token expirado.
+     */
+    private ExpiringCache<String, Claims> claimsCache;
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parser()
+                .setSigningKey(signingKey)
+                .build();
+        claimsCache = new ExpiringCache<>(claimsCacheMaxSize);
+    }
+
     @Override
     public String getToken(UserDetails user){
         if (!(user instanceof User)) {
@@ -40,6 +67,7 @@ public class JwtServiceImpl implements JwtService {
         claims.put("name", u.getName());
         claims.put("lastName", u.getLastName());
         claims.put("profileUsername", u.getProfileUsername());
+        claims.put("ver", u.getTokenVersion());
 
         return getToken(claims, user);
     }
@@ -51,13 +79,41 @@ public class JwtServiceImpl implements JwtService {
                 .setSubject(user.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expirationTimeMs)) // los tokens van a durar un dia
-                .signWith(getKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key getKey(){
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Override
+    public Claims validateToken(String token) {
+        Claims claims = claimsCache.get(token);
+        if (claims != null) {
+            return claims;
+        }
+
+        // Verifica firma y expiración; lanza JwtException si el token no es válido
+        claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            claimsCache.put(token, claims, claims.getExpiration().getTime());
+        }
+        return claims;
+    }
+
+    @Override
+    public User getUserFromClaims(Claims claims) {
+        Number uid = claims.get("uid", Number.class);
+        Number version = claims.get("ver", Number.class);
+        String role = claims.get("role", String.class);
+
+        // Usuario no persistido: solo lleva los datos del token
+        return User.builder()
+                .id(uid != null ? uid.longValue() : null)
+                .email(claims.getSubject())
+                .role(role != null ? UserRole.valueOf(role) : UserRole.NORMAL)
+                .name(claims.get("name", String.class))
+                .lastName(claims.get("lastName", String.class))
+                .profileUsername(claims.get("profileUsername", String.class))
+                .tokenVersion(version != null ? version.intValue() : 0)
+                .build();
     }
 
     @Override
@@ -67,30 +123,17 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String email = getUsernameFromToken(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private Claims getAllClaims(String token) {
-        return Jwts
-                .parser()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        final Claims claims = validateToken(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
     @Override
     public <T> T getClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaims(token);
+        final Claims claims = validateToken(token);
         return claimsResolver.apply(claims);
     }
 
-    private Date getExpirationDate(String token) {
-        return getClaim(token, Claims::getExpiration);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return getExpirationDate(token).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 }
@@ -10,12 +10,18 @@ import com.mypresentpast.backend.repository.PostLikeRepository;
 import com.mypresentpast.backend.repository.PostRepository;
 import com.mypresentpast.backend.repository.UserRepository;
 import com.mypresentpast.backend.service.LikeService;
+import com.mypresentpast.backend.service.impl.LikeWriteBuffer.LikeSnapshot;
 import com.mypresentpast.backend.utils.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -30,10 +36,15 @@ public class LikeServiceImpl implements LikeService {
     private final PostLikeRepository postLikeRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final LikeWriteBuffer likeWriteBuffer;
 
     @Override
     public LikeToggleResponse toggleLike(Long postId) {
         Long currentUserId = SecurityUtils.getCurrentUserId();
+
+        if (likeWriteBuffer.isEnabled()) {
+            return toggleLikeBuffered(postId, currentUserId);
+        }
         
         Post post = postRepository.findById(postId)
             .orElseThrow(() -> new ResourceNotFoundException("Post no encontrado con id: " + postId));
@@ -48,6 +59,7 @@ public class LikeServiceImpl implements LikeService {
         
         if (existingLike.isPresent()) {
             postLikeRepository.delete(existingLike.get());
+            postRepository.decrementLikeCount(postId);
             isLiked = false;
             message = "Like removido con éxito";
             log.info("Usuario {} quitó like del post {}", currentUserId, postId);
@@ -57,12 +69,13 @@ public class LikeServiceImpl implements LikeService {
                 .post(post)
                 .build();
             postLikeRepository.save(newLike);
+            postRepository.incrementLikeCount(postId);
             isLiked = true;
             message = "Like agregado con éxito";
             log.info("Usuario {} dio like al post {}", currentUserId, postId);
         }
 
-        Long totalLikes = postLikeRepository.countByPostId(postId);
+        Long totalLikes = postRepository.findLikeCountById(postId);
 
         return LikeToggleResponse.builder()
             .message(message)
@@ -71,28 +84,56 @@ public class LikeServiceImpl implements LikeService {
             .build();
     }
 
+    /**
+     * Modo de escritura diferida: una sola lectura (existencia del post, contador y like previo),
+     * hecha por LikeWriteBuffer bajo el lock del par, y el cambio queda en el buffer, que lo escribe en lote.
+     */
+    private LikeToggleResponse toggleLikeBuffered(Long postId, Long currentUserId) {
+        LikeSnapshot toggled = likeWriteBuffer.toggle(currentUserId, postId, () -> {
+            List<Object[]> stats = postLikeRepository.findLikeStatsByPostIds(List.of(postId), currentUserId);
+            if (stats.isEmpty()) {
+                throw new ResourceNotFoundException("Post no encontrado con id: " + postId);
+            }
+            Object[] row = stats.get(0);
+            return new LikeSnapshot(((Number) row[2]).longValue() > 0, ((Number) row[1]).longValue());
+        });
+        boolean isLiked = toggled.liked();
+        log.info("Usuario {} {} el post {} (escritura diferida)", currentUserId, isLiked ? "dio like a" : "quitó like de", postId);
+
+        return LikeToggleResponse.builder()
+            .message(isLiked ? "Like agregado con éxito" : "Like removido con éxito")
+            .isLiked(isLiked)
+            .totalLikes(toggled.totalLikes())
+            .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public LikeStatusResponse getLikeStatus(Long postId) {
-        if (!postRepository.existsById(postId)) {
-            throw new ResourceNotFoundException("Post no encontrado con id: " + postId);
-        }
+        return likeWriteBuffer.readConsistently(() -> {
+            Long totalLikes = postRepository.findLikeCountById(postId);
+            if (totalLikes == null) {
+                throw new ResourceNotFoundException("Post no encontrado con id: " + postId);
+            }
 
-        Long currentUserId = SecurityUtils.getCurrentUserId();
-        
-        boolean isLiked = postLikeRepository.existsByUserIdAndPostId(currentUserId, postId);
-        Long totalLikes = postLikeRepository.countByPostId(postId);
+            Long currentUserId = SecurityUtils.getCurrentUserId();
+            boolean isLiked = likeWriteBuffer.pendingState(currentUserId, postId)
+                .orElseGet(() -> postLikeRepository.existsByUserIdAndPostId(currentUserId, postId));
 
-        return LikeStatusResponse.builder()
-            .isLiked(isLiked)
-            .totalLikes(totalLikes)
-            .build();
+            return LikeStatusResponse.builder()
+                .isLiked(isLiked)
+                .totalLikes(totalLikes + likeWriteBuffer.pendingDelta(postId))
+                .build();
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
     public Long getTotalLikes(Long postId) {
-        return postLikeRepository.countByPostId(postId);
+        return likeWriteBuffer.readConsistently(() -> {
+            Long totalLikes = postRepository.findLikeCountById(postId);
+            return totalLikes != null ? totalLikes + likeWriteBuffer.pendingDelta(postId) : 0L;
+        });
     }
 
     @Override
@@ -100,9 +141,50 @@ public class LikeServiceImpl implements LikeService {
     public Boolean isLikedByCurrentUser(Long postId) {
         try {
             Long currentUserId = SecurityUtils.getCurrentUserId();
-            return postLikeRepository.existsByUserIdAndPostId(currentUserId, postId);
+            return likeWriteBuffer.pendingState(currentUserId, postId)
+                .orElseGet(() -> postLikeRepository.existsByUserIdAndPostId(currentUserId, postId));
         } catch (Exception e) {
             return false;
         }
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, LikeStatusResponse> getLikeStatuses(Collection<Long> postIds, Long userId) {
+        Map<Long, LikeStatusResponse> statuses = new HashMap<>();
+        if (postIds == null || postIds.isEmpty()) {
+            return statuses;
+        }
+
+        // Los IDs que no existen no vuelven en la consulta, por eso se inicializan todos en cero
+        for (Long postId : postIds) {
+            statuses.put(postId, LikeStatusResponse.builder()
+                .isLiked(false)
+                .totalLikes(0L)
+                .build());
+        }
+
+        return likeWriteBuffer.readConsistently(() -> {
+            List<Object[]> rows = postLikeRepository.findLikeStatsByPostIds(postIds, userId);
+            for (Object[] row : rows) {
+                Long postId = (Long) row[0];
+                long totalLikes = ((Number) row[1]).longValue() + likeWriteBuffer.pendingDelta(postId);
+                boolean isLiked = likeWriteBuffer.pendingState(userId, postId)
+                    .orElse(((Number) row[2]).longValue() > 0);
+
+                statuses.put(postId, LikeStatusResponse.builder()
+                    .isLiked(isLiked)
+                    .totalLikes(totalLikes)
+                    .build());
+            }
+            return statuses;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, LikeStatusResponse> getLikeStatusesForCurrentUser(Collection<Long> postIds) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        return getLikeStatuses(new LinkedHashSet<>(postIds), currentUserId);
+    }
 }
@@ -0,0 +1,615 @@
+package com.mypresentpast.backend.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Buffer de escritura diferida para los likes (likes.write-behind.enabled).
+ * Cada toggle se aplica a un estado en memoria repartido en franjas (stripes) con su propio lock,
+ * así un post viral no serializa a todos sus usuarios en una única fila de la base.
+ * Un proceso periódico junta los cambios y los aplica en lote: inserts, deletes y like_count.
+ * Cada toggle se agrega a un log en el directorio de datos antes de responder; al arrancar se vuelve
+ * a aplicar, por lo que los likes sobreviven a la caída del proceso. El log se sincroniza a disco
+ * como mucho cada likes.write-behind.fsync-ms (0 = en cada toggle) y en cada flush, así que una caída
+ * del sistema operativo pierde a lo sumo ese intervalo. Se compacta solo al superar compact-bytes.
+ */
+@Component
+@Slf4j
+public class LikeWriteBuffer {
+
+    private static final String INSERT_LIKE =
+        "INSERT INTO post_like (user_id, post_id, created_at) " +
+        "SELECT u.id_user_account, p.id, ? FROM user_account u, post p " +
+        "WHERE u.id_user_account = ? AND p.id = ? " +
+        "AND NOT EXISTS (SELECT 1 FROM post_like pl WHERE pl.user_id = u.id_user_account AND pl.post_id = p.id)";
+    private static final String DELETE_LIKE = "DELETE FROM post_like WHERE user_id = ? AND post_id = ?";
+    private static final String ADJUST_LIKE_COUNT = "UPDATE post SET like_count = GREATEST(like_count + ?, 0) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Path logFile;
+    private final long fsyncIntervalMillis;
+    private final long compactThresholdBytes;
+
+    private final Stripe[] stripes;
+    // Cambios ya retirados de las franjas que se están escribiendo en la base
+    private final Map<LikeKey, PendingLike> inFlight = new ConcurrentHashMap<>();
+    // Likes netos por post que todavía no llegaron a post.like_count
+    private final Map<Long, Long> pendingDeltas = new ConcurrentHashMap<>();
+
+    // El flush confirma y retira sus deltas con el lock de escritura; quien combina la base con los
+    // pendientes lee con el de lectura, así nunca ve un cambio contado en los dos lados
+    private final ReentrantReadWriteLock publishLock = new ReentrantReadWriteLock();
+
+    private final ReentrantLock logLock = new ReentrantLock();
+    private FileChannel logChannel;
+    private boolean logUnsynced;
+    private long lastSyncMillis;
+    // No se escribe ni se compacta el log hasta haber recuperado lo que dejó el proceso anterior
+    private volatile boolean replayed;
+
+    public LikeWriteBuffer(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${likes.write-behind.enabled:false}") boolean enabled,
+                           @Value("${likes.write-behind.stripes:64}") int stripeCount,
+                           @Value("${likes.write-behind.log-file:${app.data-dir:data}/likes-write-behind.log}") String logFile,
+                           @Value("${likes.write-behind.fsync-ms:200}") long fsyncIntervalMillis,
+                           @Value("${likes.write-behind.compact-bytes:1048576}") long compactThresholdBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.logFile = Paths.get(logFile);
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.compactThresholdBytes = compactThresholdBytes;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Alterna el like del usuario sobre el post y devuelve el nuevo estado con el total de likes.
+     *
+     * @param persisted consulta a la base del like y del contador del post. Se evalúa con el lock
+     *                  de la franja tomado: un flush que confirma entre la consulta y el toggle
+     *                  no puede dejar un estado viejo que invierta la intención del usuario.
+     */
+    public LikeSnapshot toggle(Long userId, Long postId, Supplier<LikeSnapshot> persisted) {
+        LikeKey key = new LikeKey(userId, postId);
+        Stripe stripe = stripeOf(key);
+
+        publishLock.readLock().lock();
+        stripe.lock.lock();
+        try {
+            LikeSnapshot stored = persisted.get();
+            PendingLike pending = stripe.pending.get(key);
+            if (pending == null) {
+                // inFlight se quita recién después del commit, así que si no está la consulta ya lo ve
+                PendingLike flushing = inFlight.get(key);
+                pending = new PendingLike(flushing != null ? flushing.desired : stored.liked());
+                stripe.pending.put(key, pending);
+            }
+
+            pending.desired = !pending.desired;
+            if (pending.verified && pending.desired == pending.persisted) {
+                stripe.pending.remove(key);
+            }
+            addDelta(postId, pending.desired ? 1 : -1);
+
+            appendToLog(key, pending.desired);
+            return new LikeSnapshot(pending.desired, stored.totalLikes() + pendingDelta(postId));
+        } finally {
+            stripe.lock.unlock();
+            publishLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estado de like pendiente de escribir para el par usuario/post; vacío si no hay cambios.
+     */
+    public Optional<Boolean> pendingState(Long userId, Long postId) {
+        if (!enabled || userId == null) {
+            return Optional.empty();
+        }
+        LikeKey key = new LikeKey(userId, postId);
+        return Optional.ofNullable(currentState(stripeOf(key), key));
+    }
+
+    /**
+     * Likes netos del post que todavía no se reflejan en post.like_count.
+     * Para sumarlo a un contador leído de la base, hacer ambas lecturas dentro de readConsistently.
+     */
+    public long pendingDelta(Long postId) {
+        return pendingDeltas.getOrDefault(postId, 0L);
+    }
+
+    /**
+     * Ejecuta una lectura que combina la base con pendingDelta o pendingState sin que un flush
+     * confirme en el medio (lo que contaría el mismo like en la base y como pendiente).
+     */
+    public <T> T readConsistently(Supplier<T> read) {
+        if (!enabled) {
+            return read.get();
+        }
+        publishLock.readLock().lock();
+        try {
+            return read.get();
+        } finally {
+            publishLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Escribe en la base los cambios acumulados. Si falla, los cambios vuelven a las franjas
+     * y se reintentan en la próxima ejecución.
+     */
+    @Scheduled(fixedDelayString = "${likes.write-behind.flush-ms:500}")
+    public void flush() {
+        if (!enabled || !replayed) {
+            return;
+        }
+        syncLog();
+
+        List<Map.Entry<LikeKey, PendingLike>> drained = drain();
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        ReentrantReadWriteLock.WriteLock publish = publishLock.writeLock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                write(drained);
+                // Se toma antes del commit: nadie lee la base nueva junto con los deltas viejos
+                publish.lock();
+            });
+        } catch (RuntimeException e) {
+            if (publish.isHeldByCurrentThread()) {
+                publish.unlock();
+            }
+            log.warn("No se pudieron escribir {} likes pendientes, se reintentará: {}", drained.size(), e.getMessage());
+            restore(drained);
+            return;
+        }
+
+        try {
+            for (Map.Entry<LikeKey, PendingLike> entry : drained) {
+                PendingLike applied = entry.getValue();
+                // Un like recuperado sin confirmar puede volver a su estado supuesto: ahí no hay delta que quitar
+                if (applied.desired != applied.persisted) {
+                    addDelta(entry.getKey().postId(), applied.desired ? -1 : 1);
+                }
+                inFlight.remove(entry.getKey(), applied);
+            }
+        } finally {
+            publish.unlock();
+        }
+
+        if (logSize() > compactThresholdBytes) {
+            compactLog();
+        }
+    }
+
+    /**
+     * Vuelve a aplicar los toggles que quedaron en el log al caerse el proceso.
+     * Cada línea guarda el estado final deseado, así que aplicarlas de nuevo es idempotente.
+     * Las líneas ilegibles se descartan de a una; si la base no responde, lo recuperado queda
+     * pendiente en las franjas para el próximo flush. En ningún caso se frena el arranque.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayLog() {
+        try {
+            if (enabled && Files.exists(logFile)) {
+                recoverFromLog();
+            }
+        } finally {
+            replayed = true;
+        }
+    }
+
+    private void recoverFromLog() {
+        String content;
+        try {
+            // Decodificación tolerante: un byte corrupto no invalida el resto del archivo
+            content = new String(Files.readAllBytes(logFile), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.error("No se pudo leer el log de likes {}, se descarta: {}", logFile, e.getMessage());
+            return;
+        }
+
+        Map<LikeKey, PendingLike> recovered = new LinkedHashMap<>();
+        String[] lines = content.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+            Map.Entry<LikeKey, PendingLike> record = parseRecord(line);
+            if (record == null) {
+                log.warn("Línea {} ilegible en el log de likes {}, se descarta: '{}'", i + 1, logFile, line);
+                continue;
+            }
+            recovered.put(record.getKey(), record.getValue());
+        }
+
+        if (!recovered.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(new ArrayList<>(recovered.entrySet())));
+                log.info("Se recuperaron {} likes del log de escritura diferida", recovered.size());
+            } catch (RuntimeException e) {
+                log.error("No se pudieron escribir {} likes recuperados, quedan pendientes: {}",
+                    recovered.size(), e.getMessage());
+                requeue(recovered);
+            }
+        }
+        compactLog();
+    }
+
+    /**
+     * Interpreta una línea "userId,postId,0|1"; devuelve null si no tiene ese formato exacto.
+     */
+    private static Map.Entry<LikeKey, PendingLike> parseRecord(String line) {
+        String[] parts = line.split(",");
+        if (parts.length != 3 || !("0".equals(parts[2]) || "1".equals(parts[2]))) {
+            return null;
+        }
+        try {
+            boolean liked = "1".equals(parts[2]);
+            PendingLike state = new PendingLike(!liked);
+            state.desired = liked;
+            return Map.entry(new LikeKey(Long.parseLong(parts[0]), Long.parseLong(parts[1])), state);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Deja en las franjas los likes recuperados que no se pudieron escribir al arrancar.
+     * No se sabe qué hay en la base, así que se escriben aunque un toggle posterior vuelva al estado supuesto.
+     */
+    private void requeue(Map<LikeKey, PendingLike> recovered) {
+        recovered.forEach((key, state) -> {
+            Stripe stripe = stripeOf(key);
+            stripe.lock.lock();
+            try {
+                // Un toggle ya recibido en este proceso es más reciente que el log
+                if (stripe.pending.putIfAbsent(key, state) == null) {
+                    state.verified = false;
+                    addDelta(key.postId(), state.desired ? 1 : -1);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+        logLock.lock();
+        try {
+            if (logChannel != null) {
+                logChannel.force(false);
+                logChannel.close();
+                logChannel = null;
+            }
+        } catch (IOException e) {
+            log.warn("No se pudo cerrar el log de likes: {}", e.getMessage());
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    private void addDelta(Long postId, long delta) {
+        // merge es atómico y quita la entrada cuando vuelve a cero
+        pendingDeltas.merge(postId, delta, (current, added) -> current + added == 0 ? null : current + added);
+    }
+
+    private Boolean currentState(Stripe stripe, LikeKey key) {
+        stripe.lock.lock();
+        try {
+            PendingLike pending = stripe.pending.get(key);
+            if (pending != null) {
+                return pending.desired;
+            }
+            PendingLike flushing = inFlight.get(key);
+            return flushing != null ? flushing.desired : null;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Retira los cambios de cada franja; quedan visibles en inFlight hasta que se confirman.
+     */
+    private List<Map.Entry<LikeKey, PendingLike>> drain() {
+        List<Map.Entry<LikeKey, PendingLike>> drained = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                if (stripe.pending.isEmpty()) {
+                    continue;
+                }
+                inFlight.putAll(stripe.pending);
+                drained.addAll(stripe.pending.entrySet());
+                stripe.pending = new HashMap<>();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Aplica los cambios en lote. like_count se ajusta con las filas realmente insertadas o borradas,
+     * así un estado desactualizado no descuadra el contador.
+     */
+    private void write(List<Map.Entry<LikeKey, PendingLike>> changes) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        List<Long> insertedPosts = new ArrayList<>();
+        List<Long> deletedPosts = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (Map.Entry<LikeKey, PendingLike> change : changes) {
+            LikeKey key = change.getKey();
+            if (change.getValue().desired) {
+                inserts.add(new Object[]{now, key.userId(), key.postId()});
+                insertedPosts.add(key.postId());
+            } else {
+                deletes.add(new Object[]{key.userId(), key.postId()});
+                deletedPosts.add(key.postId());
+            }
+        }
+
+        Map<Long, Long> countDeltas = new HashMap<>();
+        collectDeltas(countDeltas, insertedPosts, inserts.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(INSERT_LIKE, inserts), 1);
+        collectDeltas(countDeltas, deletedPosts, deletes.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(DELETE_LIKE, deletes), -1);
+
+        List<Object[]> adjustments = new ArrayList<>();
+        countDeltas.forEach((postId, delta) -> {
+            if (delta != 0) {
+                adjustments.add(new Object[]{delta, postId});
+            }
+        });
+        if (!adjustments.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADJUST_LIKE_COUNT, adjustments);
+        }
+    }
+
+    private static void collectDeltas(Map<Long, Long> countDeltas, List<Long> postIds, int[] updated, int sign) {
+        for (int i = 0; i < updated.length; i++) {
+            // Algunos drivers devuelven SUCCESS_NO_INFO (-2) en lote; se asume que la fila cambió
+            long rows = updated[i] < 0 ? 1 : updated[i];
+            countDeltas.merge(postIds.get(i), sign * rows, Long::sum);
+        }
+    }
+
+    /**
+     * Devuelve a las franjas los cambios que no se pudieron escribir, respetando los toggles posteriores.
+     */
+    private void restore(List<Map.Entry<LikeKey, PendingLike>> drained) {
+        for (Map.Entry<LikeKey, PendingLike> entry : drained) {
+            LikeKey key = entry.getKey();
+            PendingLike failed = entry.getValue();
+            Stripe stripe = stripeOf(key);
+
+            stripe.lock.lock();
+            try {
+                PendingLike newer = stripe.pending.get(key);
+                if (newer == null) {
+                    stripe.pending.put(key, failed);
+                } else {
+                    // El toggle posterior partió del estado que no llegó a escribirse
+                    newer.persisted = failed.persisted;
+                    newer.verified = failed.verified;
+                    if (newer.verified && newer.desired == newer.persisted) {
+                        stripe.pending.remove(key);
+                    }
+                }
+                inFlight.remove(key, failed);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private void appendToLog(LikeKey key, boolean liked) {
+        logLock.lock();
+        try {
+            if (logChannel == null) {
+                openLog();
+            }
+            writeFully(logChannel, record(key, liked));
+            logUnsynced = true;
+            if (System.currentTimeMillis() - lastSyncMillis >= fsyncIntervalMillis) {
+                logChannel.force(false);
+                logUnsynced = false;
+                lastSyncMillis = System.currentTimeMillis();
+            }
+        } catch (IOException e) {
+            log.error("No se pudo registrar el like en el log {}: {}", logFile, e.getMessage());
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    private void openLog() throws IOException {
+        Path directory = logFile.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        boolean tornTail = endsWithPartialLine();
+        logChannel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (tornTail) {
+            // Sin este salto, el primer registro se pegaría a la línea cortada y formaría otro válido
+            writeFully(logChannel, "\n");
+        }
+    }
+
+    /**
+     * Baja a disco lo que quedó escrito en el log desde la última sincronización.
+     */
+    private void syncLog() {
+        logLock.lock();
+        try {
+            if (logChannel != null && logUnsynced) {
+                logChannel.force(false);
+                logUnsynced = false;
+                lastSyncMillis = System.currentTimeMillis();
+            }
+        } catch (IOException e) {
+            log.warn("No se pudo sincronizar el log de likes {}: {}", logFile, e.getMessage());
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    private long logSize() {
+        logLock.lock();
+        try {
+            if (logChannel != null) {
+                return logChannel.size();
+            }
+            return Files.exists(logFile) ? Files.size(logFile) : 0;
+        } catch (IOException e) {
+            return 0;
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    private static String record(LikeKey key, boolean liked) {
+        return key.userId() + "," + key.postId() + "," + (liked ? "1" : "0") + "\n";
+    }
+
+    private static void writeFully(FileChannel channel, String text) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Indica si el log termina en una línea a medio escribir (sin salto de línea final).
+     */
+    private boolean endsWithPartialLine() throws IOException {
+        if (!Files.exists(logFile)) {
+            return false;
+        }
+        try (SeekableByteChannel channel = Files.newByteChannel(logFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return false;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(size - 1);
+            channel.read(last);
+            return last.get(0) != '\n';
+        }
+    }
+
+    /**
+     * Reescribe el log solo con los cambios que siguen pendientes. Frena todos los toggles mientras dura,
+     * por eso el flush solo la hace cuando el log supera compact-bytes.
+     * Toma todas las franjas en orden y después el log, el mismo orden que usa toggle, así no hay deadlock.
+     */
+    private void compactLog() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+        logLock.lock();
+        try {
+            if (logChannel != null) {
+                logChannel.close();
+                logChannel = null;
+                logUnsynced = false;
+            }
+            Path temp = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+            try (FileChannel writer = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Stripe stripe : stripes) {
+                    for (Map.Entry<LikeKey, PendingLike> entry : stripe.pending.entrySet()) {
+                        writeFully(writer, record(entry.getKey(), entry.getValue().desired));
+                    }
+                }
+                // El archivo nuevo tiene que estar en disco antes de reemplazar al anterior
+                writer.force(false);
+            }
+            Files.move(temp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("No se pudo compactar el log de likes {}: {}", logFile, e.getMessage());
+        } finally {
+            logLock.unlock();
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].lock.unlock();
+            }
+        }
+    }
+
+    private Stripe stripeOf(LikeKey key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    /**
+     * Like de un usuario sobre un post y total de likes del post.
+     */
+    public record LikeSnapshot(boolean liked, long totalLikes) {
+    }
+
+    private record LikeKey(long userId, long postId) {
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private Map<LikeKey, PendingLike> pending = new HashMap<>();
+    }
+
+    /**
+     * Estado escrito en la base y estado deseado de un par usuario/post.
+     */
+    private static final class PendingLike {
+        private boolean persisted;
+        private boolean desired;
+        // false si persisted es una suposición (likes recuperados del log sin confirmar en la base)
+        private boolean verified = true;
+
+        private PendingLike(boolean persisted) {
+            this.persisted = persisted;
+            this.desired = persisted;
+        }
+    }
+}
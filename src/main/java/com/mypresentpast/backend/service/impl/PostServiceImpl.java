@@ -1,17 +1,22 @@
 package com.mypresentpast.backend.service.impl;
 
 import com.mypresentpast.backend.dto.LocationDto;
+import com.mypresentpast.backend.dto.MapClusterDto;
 import com.mypresentpast.backend.dto.MediaDto;
 import com.mypresentpast.backend.dto.UserDto;
 import com.mypresentpast.backend.dto.request.CreatePostRequest;
 import com.mypresentpast.backend.dto.request.UpdatePostRequest;
 import com.mypresentpast.backend.dto.response.ApiResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
+import com.mypresentpast.backend.dto.response.LikeStatusResponse;
 import com.mypresentpast.backend.dto.response.MapResponse;
 import com.mypresentpast.backend.dto.response.PostResponse;
 import com.mypresentpast.backend.enums.Category;
 import com.mypresentpast.backend.enums.MediaType;
 import com.mypresentpast.backend.enums.PostStatus;
+import com.mypresentpast.backend.exception.BadRequestException;
 import com.mypresentpast.backend.exception.ResourceNotFoundException;
+import com.mypresentpast.backend.exception.UnauthorizedException;
 import com.mypresentpast.backend.model.Location;
 import com.mypresentpast.backend.model.Media;
 import com.mypresentpast.backend.model.Post;
@@ -20,20 +25,32 @@ import com.mypresentpast.backend.repository.LocationRepository;
 import com.mypresentpast.backend.repository.MediaRepository;
 import com.mypresentpast.backend.repository.PostRepository;
 import com.mypresentpast.backend.repository.UserRepository;
+import com.mypresentpast.backend.repository.projection.LikedPostView;
+import com.mypresentpast.backend.repository.projection.MapClusterView;
 import com.mypresentpast.backend.service.CloudinaryService;
+import com.mypresentpast.backend.service.ImageUploadService;
 import com.mypresentpast.backend.service.LikeService;
 import com.mypresentpast.backend.service.PostService;
+import com.mypresentpast.backend.utils.GeoGrid;
+import com.mypresentpast.backend.utils.PageCursor;
 import com.mypresentpast.backend.utils.SecurityUtils;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
@@ -45,25 +62,66 @@ import org.springframework.web.multipart.MultipartFile;
 @Slf4j
 public class PostServiceImpl implements PostService {
 
+    // A partir de este zoom el mapa muestra posts individuales en lugar de clusters
+    private static final int CLUSTER_MAX_ZOOM = 12;
+    // Tamaño de celda del cluster en zoom 0 (~64px en tiles de 256px); se divide a la mitad por nivel
+    private static final double CLUSTER_CELL_DEGREES_AT_ZOOM_0 = 90.0;
+    // Cantidad de IDs representativos por cluster
+    private static final int CLUSTER_SAMPLE_SIZE = 3;
+    // Máximo de posts completos por respuesta del mapa; el resto se pide con next_cursor o por clusters
+    private static final int MAP_MAX_POSTS = 500;
+    // IDs que lee cada sondeo del post aleatorio y sondeos antes de recurrir al conteo
+    private static final int RANDOM_WINDOW_SIZE = 64;
+    private static final int RANDOM_PROBE_ATTEMPTS = 8;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final LocationRepository locationRepository;
     private final MediaRepository mediaRepository;
     private final CloudinaryService cloudinaryService;
+    private final ImageUploadService imageUploadService;
     private final LikeService likeService;
+    private final TransactionTemplate transactionTemplate;
 
+    /**
+     * Las imágenes se suben a Cloudinary en paralelo y fuera de la transacción, para no
+     * retener una conexión a la base durante las subidas. Si luego falla la persistencia,
+     * se eliminan de Cloudinary las imágenes ya subidas.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ApiResponse createPost(CreatePostRequest request, List<MultipartFile> images) {
         log.info("Creando nuevo post: {}", request.getTitle());
 
-        // 1. Validar que el autor existe
+        // Validar límite de imágenes antes de subir nada
+        if (images != null && images.size() > 5) {
+            throw new IllegalArgumentException("Máximo 5 imágenes permitidas por publicación");
+        }
+
+        // 1. Subir imágenes a Cloudinary en paralelo (sin transacción abierta)
+        List<Map<String, Object>> uploads = imageUploadService.uploadAll(images);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistNewPost(request, uploads));
+        } catch (RuntimeException e) {
+            imageUploadService.deleteAll(uploads.stream().map(upload -> (String) upload.get("public_id")).toList());
+            throw e;
+        }
+
+        return ApiResponse.builder()
+            .message("Publicación creada con éxito")
+            .build();
+    }
+
+    private void persistNewPost(CreatePostRequest request, List<Map<String, Object>> uploads) {
+        // 2. Validar que el autor existe
         User author = userRepository.findById(request.getAuthorId())
             .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con id: " + request.getAuthorId()));
 
-        // 2. Buscar si ya existe una ubicación con coordenadas similares
+        // 3. Buscar si ya existe una ubicación con coordenadas similares
         Location location = findOrCreateLocation(request.getLatitude(), request.getLongitude(), request.getAddress());
 
-        // 3. Crear el post
+        // 4. Crear el post
         Post post = Post.builder()
             .title(request.getTitle())
             .content(request.getContent())
@@ -77,48 +135,31 @@ public class PostServiceImpl implements PostService {
             .location(location)
             .build();
 
-        // 4. Guardar el post primero para obtener el ID
+        // 5. Guardar el post primero para obtener el ID
         post = postRepository.save(post);
+        userRepository.adjustPostCount(author.getId(), 1);
         log.info("Post guardado con ID: {}", post.getId());
 
-        // 5. Subir imágenes a Cloudinary y crear objetos Media
-        if (images != null && !images.isEmpty()) {
-            // Validar límite de imágenes
-            if (images.size() > 5) {
-                throw new IllegalArgumentException("Máximo 5 imágenes permitidas por publicación");
-            }
-
-            List<Media> mediaList = new ArrayList<>();
-            for (MultipartFile image : images) {
-                try {
-                    // Subir a Cloudinary
-                    Map<String, Object> uploadResult = cloudinaryService.upload(image);
-
-                    // Crear registro Media
-                    Media media = Media.builder()
-                        .type(MediaType.IMAGE)
-                        .url((String) uploadResult.get("url"))
-                        .cloudinaryId((String) uploadResult.get("public_id"))
-                        .post(post)
-                        .build();
-
-                    mediaList.add(media);
-
-                } catch (Exception e) {
-                    log.error("Error al subir imagen {}: {}", image.getOriginalFilename(), e.getMessage());
-                    throw new RuntimeException("Error al subir imagen: " + e.getMessage());
-                }
-            }
-
-            // Guardar todos los Media
+        // 6. Guardar todos los Media de una vez
+        if (!uploads.isEmpty()) {
+            List<Media> mediaList = toMedia(uploads, post);
             mediaRepository.saveAll(mediaList);
             post.setMedia(mediaList);
             log.info("Se agregaron {} imágenes al post", mediaList.size());
         }
+    }
 
-        return ApiResponse.builder()
-            .message("Publicación creada con éxito")
-            .build();
+    private List<Media> toMedia(List<Map<String, Object>> uploads, Post post) {
+        List<Media> mediaList = new ArrayList<>(uploads.size());
+        for (Map<String, Object> uploadResult : uploads) {
+            mediaList.add(Media.builder()
+                .type(MediaType.IMAGE)
+                .url((String) uploadResult.get("url"))
+                .cloudinaryId((String) uploadResult.get("public_id"))
+                .post(post)
+                .build());
+        }
+        return mediaList;
     }
 
     /**
@@ -153,202 +194,357 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional(readOnly = true)
     public PostResponse getPostById(Long id) {
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findWithDetailsById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Publicación no encontrada con id: " + id));
-        return mapToPostResponse(post);
+        return mapToPostResponses(List.of(post)).get(0);
     }
 
     @Override
-    public List<PostResponse> getPostsByUser(final Long id) {
-        List<Post> posts = postRepository.findByAuthorId(id);
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostResponse> getPostsByUser(final Long id, String cursor, Integer size) {
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        int pageSize = PageCursor.resolvePageSize(size, PageCursor.DEFAULT_PAGE_SIZE, PageCursor.MAX_PAGE_SIZE);
+
+        // Se pide una fila de más para saber si hay página siguiente sin contar
+        List<Long> postIds = postRepository.findPostIdsByAuthorId(
+            id, PageCursor.dateOf(pageCursor), PageCursor.idOf(pageCursor), PageRequest.of(0, pageSize + 1));
 
-        if (posts.isEmpty()) {
+        if (postIds.isEmpty() && pageCursor == null) {
             throw new ResourceNotFoundException("No hay publicaciones disponibles para mostrar");
         }
 
-        List<PostResponse> postResponses = new ArrayList<>();
+        boolean hasMore = postIds.size() > pageSize;
+        List<Post> posts = findPostsWithDetails(hasMore ? postIds.subList(0, pageSize) : postIds);
 
-        for (Post post : posts) {
-            postResponses.add(mapToPostResponse(post));
+        String nextCursor = null;
+        if (hasMore) {
+            Post last = posts.get(posts.size() - 1);
+            nextCursor = PageCursor.encode(last.getPostedAt(), last.getId());
         }
 
-        return postResponses;
+        return CursorPageResponse.<PostResponse>builder()
+            .content(mapToPostResponses(posts))
+            .size(posts.size())
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PostResponse> getLikedPostsByCurrentUser() {
+    public CursorPageResponse<PostResponse> getLikedPostsByCurrentUser(String cursor, Integer size) {
         Long currentUserId = SecurityUtils.getCurrentUserId();
-        List<Post> likedPosts = postRepository.findLikedPostsByUserId(currentUserId);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        int pageSize = PageCursor.resolvePageSize(size, PageCursor.DEFAULT_PAGE_SIZE, PageCursor.MAX_PAGE_SIZE);
 
-        if (likedPosts.isEmpty()) {
-            log.info("Usuario {} no tiene posts likeados", currentUserId);
-            return new ArrayList<>();
+        List<LikedPostView> likes = postRepository.findLikedPostsByUserId(
+            currentUserId, PageCursor.dateTimeOf(pageCursor), PageCursor.idOf(pageCursor), PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = likes.size() > pageSize;
+        if (hasMore) {
+            likes = likes.subList(0, pageSize);
         }
 
-        List<PostResponse> postResponses = new ArrayList<>();
-        for (Post post : likedPosts) {
-            postResponses.add(mapToPostResponse(post));
+        List<Post> likedPosts = findPostsWithDetails(likes.stream()
+            .map(LikedPostView::getPostId)
+            .collect(Collectors.toList()));
+
+        String nextCursor = null;
+        if (hasMore) {
+            LikedPostView last = likes.get(likes.size() - 1);
+            nextCursor = PageCursor.encode(last.getLikedAt(), last.getLikeId());
         }
 
-        log.info("Usuario {} tiene {} posts likeados", currentUserId, postResponses.size());
-        return postResponses;
+        log.info("Usuario {} tiene {} posts likeados en la página", currentUserId, likedPosts.size());
+
+        return CursorPageResponse.<PostResponse>builder()
+            .content(mapToPostResponses(likedPosts))
+            .size(likedPosts.size())
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public MapResponse getMapData(double latMin, double latMax, double lonMin, double lonMax, String category, LocalDate date, Boolean isVerified, Boolean isByIA, Long userId) {
+    public MapResponse getMapData(double latMin, double latMax, double lonMin, double lonMax, String category, LocalDate date, Boolean isVerified, Boolean isByIA, Long userId,
+                                  String cursor, Integer size) {
 
         // 1. Convertir category string a Category enum
-        Category categoryEnum = null;
-        if (category != null && !category.isEmpty()) {
-            try {
-                categoryEnum = Category.valueOf(category.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                log.warn("Categoría inválida: {}", category);
-                // Si la categoría es inválida, la dejamos como null
-            }
-        }
-
-        // 2. Usar una sola query elegante con filtros opcionales
-        String categoryString = (categoryEnum != null) ? categoryEnum.name() : "";
-        List<Post> posts = postRepository.findPostsInAreaWithFilters(
-            latMin, latMax, lonMin, lonMax, categoryString, date, isVerified, isByIA, userId
-        );
+        String categoryString = resolveCategory(category);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        int pageSize = PageCursor.resolvePageSize(size, MAP_MAX_POSTS, MAP_MAX_POSTS);
+        LocalDate cursorPostedAt = PageCursor.dateOf(pageCursor);
+        Long cursorId = PageCursor.idOf(pageCursor);
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        // 2. Resolver las celdas de la grilla espacial que cubren el área antes de tocar filas.
+        // Si el área es demasiado amplia el índice no aporta y se consulta por bounding box.
+        Optional<List<Long>> cells = GeoGrid.cellsCovering(latMin, latMax, lonMin, lonMax);
+        List<Long> postIds = cells.isPresent()
+            ? postRepository.findPostIdsInCellsWithFilters(
+                cells.get(), latMin, latMax, lonMin, lonMax, categoryString, date, isVerified, isByIA, userId,
+                cursorPostedAt, cursorId, page)
+            : postRepository.findPostIdsInAreaWithFilters(
+                latMin, latMax, lonMin, lonMax, categoryString, date, isVerified, isByIA, userId,
+                cursorPostedAt, cursorId, page);
+
+        boolean hasMore = postIds.size() > pageSize;
+        List<Post> posts = findPostsWithDetails(hasMore ? postIds.subList(0, pageSize) : postIds);
 
         log.info("Encontrados {} posts en área ({},{}) a ({},{}) con filtros: category={}, date={}, isVerified={}, isByIA={}, userId={}",
             posts.size(), latMin, lonMin, latMax, lonMax, category, date, isVerified, isByIA, userId);
 
         // 3. Convertir a DTOs
-        List<PostResponse> postResponses = posts.stream()
-            .map(this::mapToPostResponse)
-            .collect(Collectors.toList());
+        List<PostResponse> postResponses = mapToPostResponses(posts);
+
+        String nextCursor = null;
+        if (hasMore) {
+            Post last = posts.get(posts.size() - 1);
+            nextCursor = PageCursor.encode(last.getPostedAt(), last.getId());
+        }
 
         return MapResponse.builder()
             .posts(postResponses)
+            .nextCursor(nextCursor)
             .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PostResponse getRandomPost() {
-        // Obtener todos los posts activos con ubicación
-        List<Post> activePosts = postRepository.findByStatusAndLocationIsNotNull(PostStatus.ACTIVE);
+    public MapResponse getMapClusters(double latMin, double latMax, double lonMin, double lonMax, String category, LocalDate date, Boolean isVerified, Boolean isByIA, Long userId, int zoom) {
+        if (zoom >= CLUSTER_MAX_ZOOM) {
+            return getMapData(latMin, latMax, lonMin, lonMax, category, date, isVerified, isByIA, userId, null, null);
+        }
 
-        if (activePosts.isEmpty()) {
+        // La base agrupa por celda de la grilla y devuelve solo los posts de muestra de cada cluster
+        String categoryString = resolveCategory(category);
+        List<MapClusterView> rows = postRepository.findMapClustersInAreaWithFilters(
+            latMin, latMax, lonMin, lonMax, categoryString, date, isVerified, isByIA, userId,
+            GeoGrid.LON_CELLS, cellsPerCluster(zoom), CLUSTER_SAMPLE_SIZE
+        );
+        List<MapClusterDto> clusters = toClusters(rows);
+
+        log.info("{} clusters para zoom {} en área ({},{}) a ({},{})",
+            clusters.size(), zoom, latMin, lonMin, latMax, lonMax);
+
+        return MapResponse.builder()
+            .clusters(clusters)
+            .build();
+    }
+
+    /**
+     * Convierte la categoría recibida al nombre del enum, o "" si no se envió o es inválida.
+     */
+    private String resolveCategory(String category) {
+        if (category == null || category.isEmpty()) {
+            return "";
+        }
+        try {
+            return Category.valueOf(category.toUpperCase()).name();
+        } catch (IllegalArgumentException e) {
+            log.warn("Categoría inválida: {}", category);
+            // Si la categoría es inválida, no se filtra por categoría
+            return "";
+        }
+    }
+
+    /**
+     * Lado del cluster en celdas de la grilla: el tamaño de celda del zoom redondeado a celdas enteras,
+     * así cada cluster es un bloque de celdas de location.geo_cell.
+     */
+    static long cellsPerCluster(int zoom) {
+        double cellSize = CLUSTER_CELL_DEGREES_AT_ZOOM_0 / Math.pow(2, Math.max(0, zoom));
+        return Math.max(1, Math.round(cellSize / GeoGrid.CELL_SIZE_DEGREES));
+    }
+
+    /**
+     * Arma los clusters a partir de las filas de muestra; vienen agrupadas por cluster y ordenadas
+     * del post más reciente al más antiguo.
+     */
+    private List<MapClusterDto> toClusters(List<MapClusterView> rows) {
+        Map<Long, MapClusterDto> clusters = new LinkedHashMap<>();
+        for (MapClusterView row : rows) {
+            clusters.computeIfAbsent(row.getClusterKey(), key -> MapClusterDto.builder()
+                .latitude(row.getLatitude())
+                .longitude(row.getLongitude())
+                .count(row.getTotal())
+                .postIds(new ArrayList<>(CLUSTER_SAMPLE_SIZE))
+                .build()
+            ).getPostIds().add(row.getPostId());
+        }
+        return new ArrayList<>(clusters.values());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostResponse getRandomPost(String category, Double latMin, Double latMax, Double lonMin, Double lonMax) {
+        boolean hasArea = latMin != null || latMax != null || lonMin != null || lonMax != null;
+        if (hasArea && (latMin == null || latMax == null || lonMin == null || lonMax == null)) {
+            throw new BadRequestException("Para filtrar por área se deben indicar latMin, latMax, lonMin y lonMax");
+        }
+
+        String categoryString = resolveCategory(category);
+        double fromLat = hasArea ? latMin : -90;
+        double toLat = hasArea ? latMax : 90;
+        double fromLon = hasArea ? lonMin : -180;
+        double toLon = hasArea ? lonMax : 180;
+
+        Long randomPostId = pickRandomPostId(categoryString, fromLat, toLat, fromLon, toLon);
+        if (randomPostId == null) {
             throw new ResourceNotFoundException("No hay publicaciones disponibles para mostrar");
         }
 
-        // Seleccionar post aleatorio
-        Post randomPost = activePosts.get(new Random().nextInt(activePosts.size()));
+        Post randomPost = postRepository.findWithDetailsById(randomPostId)
+            .orElseThrow(() -> new ResourceNotFoundException("No hay publicaciones disponibles para mostrar"));
 
         log.info("Post aleatorio seleccionado: '{}' en ubicación ({}, {})",
             randomPost.getTitle(),
             randomPost.getLocation().getLatitude(),
             randomPost.getLocation().getLongitude());
 
-        return mapToPostResponse(randomPost);
+        return mapToPostResponses(List.of(randomPost)).get(0);
     }
 
+    /**
+     * Elige con probabilidad uniforme un post que cumple los filtros, o null si no hay ninguno.
+     * Cada sondeo sortea una ventana de hasta RANDOM_WINDOW_SIZE IDs y un casillero dentro de ella, y acepta
+     * solo si el casillero cae en uno de los candidatos de la ventana: así todos los posts tienen la misma
+     * probabilidad sin importar los huecos en los IDs, y cada sondeo lee un rango acotado del índice.
+     * Si los filtros son tan selectivos que ningún sondeo acierta, se cuenta y se salta por OFFSET.
+     */
+    Long pickRandomPostId(String category, double fromLat, double toLat, double fromLon, double toLon) {
+        Long maxId = postRepository.findMaxId();
+        if (maxId == null || maxId < 1) {
+            return null;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Con pocos IDs la ventana se achica para no desperdiciar sondeos en casilleros inexistentes
+        long windowSize = Math.min(RANDOM_WINDOW_SIZE, maxId);
+        long windows = (maxId + windowSize - 1) / windowSize;
+        for (int attempt = 0; attempt < RANDOM_PROBE_ATTEMPTS; attempt++) {
+            long fromId = random.nextLong(windows) * windowSize + 1;
+            List<Long> candidates = postRepository.findRandomCandidateIdsInRange(
+                fromId, fromId + windowSize - 1, category, fromLat, toLat, fromLon, toLon);
+            long slot = random.nextLong(windowSize);
+            if (slot < candidates.size()) {
+                return candidates.get((int) slot);
+            }
+        }
+
+        long total = postRepository.countRandomCandidates(category, fromLat, toLat, fromLon, toLon);
+        if (total == 0) {
+            return null;
+        }
+        return postRepository.findRandomCandidateIdAtOffset(
+            random.nextLong(total), category, fromLat, toLat, fromLon, toLon);
+    }
+
+    /**
+     * Igual que createPost: las subidas ocurren fuera de la transacción y las imágenes
+     * descartadas se eliminan de Cloudinary recién después de confirmar los cambios.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ApiResponse updatePost(Long id, UpdatePostRequest request, List<MultipartFile> newImages) {
         log.info("Actualizando post con ID: {}", id);
 
-        // 1. Buscar el post existente
+        List<Long> keepImageIds = request.getKeepImageIds() != null ? request.getKeepImageIds() : new ArrayList<>();
+
+        // Validar límite total de imágenes antes de subir nada
+        if (newImages != null && keepImageIds.size() + newImages.size() > 5) {
+            throw new IllegalArgumentException("Máximo 5 imágenes permitidas por publicación");
+        }
+
+        // 1. Subir nuevas imágenes a Cloudinary en paralelo (sin transacción abierta)
+        List<Map<String, Object>> uploads = imageUploadService.uploadAll(newImages);
+
+        List<String> removedCloudinaryIds;
+        try {
+            removedCloudinaryIds = transactionTemplate.execute(status ->
+                persistPostUpdate(id, request, keepImageIds, uploads));
+        } catch (RuntimeException e) {
+            imageUploadService.deleteAll(uploads.stream().map(upload -> (String) upload.get("public_id")).toList());
+            throw e;
+        }
+
+        // 2. Eliminar de Cloudinary las imágenes quitadas, ya confirmada la transacción
+        if (removedCloudinaryIds != null && !removedCloudinaryIds.isEmpty()) {
+            imageUploadService.deleteAll(removedCloudinaryIds);
+        }
+
+        return ApiResponse.builder()
+            .message("Publicación actualizada con éxito")
+            .build();
+    }
+
+    /**
+     * Aplica la actualización en la base.
+     *
+     * @return cloudinaryId de las imágenes quitadas del post
+     */
+    private List<String> persistPostUpdate(Long id, UpdatePostRequest request, List<Long> keepImageIds,
+                                           List<Map<String, Object>> uploads) {
+        // 3. Buscar el post existente
         Post existingPost = postRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Publicación no encontrada con id: " + id));
 
-        // 2. Validar que el autor existe
+        // 4. Validar que el autor existe
         User author = userRepository.findById(request.getAuthorId())
             .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con id: " + request.getAuthorId()));
 
-        // 3. Buscar o crear ubicación si cambió
+        // 5. Buscar o crear ubicación si cambió
         Location location = findOrCreateLocation(request.getLatitude(), request.getLongitude(), request.getAddress());
 
-        // 4. Actualizar los campos del post
+        // 6. Actualizar los campos del post
         existingPost.setTitle(request.getTitle());
         existingPost.setContent(request.getContent());
         existingPost.setDate(request.getDate());
         existingPost.setCategory(request.getCategory());
+        moveProfilePostCount(existingPost, author);
         existingPost.setAuthor(author);
         existingPost.setLocation(location);
         existingPost.setIsByIA(request.getIsByIA());
 
-        // 5. TRABAJAR CON LA COLECCIÓN ORIGINAL (CLAVE DEL FIX)
+        // 7. TRABAJAR CON LA COLECCIÓN ORIGINAL (CLAVE DEL FIX)
         List<Media> currentMedia = existingPost.getMedia();
         if (currentMedia == null) {
             currentMedia = new ArrayList<>();
             existingPost.setMedia(currentMedia);
         }
 
-        List<Long> keepImageIds = request.getKeepImageIds() != null ? request.getKeepImageIds() : new ArrayList<>();
-
-
-        // 6. Identificar imágenes a eliminar de Cloudinary ANTES de eliminar de la colección
-        List<Media> imagesToDeleteFromCloudinary = new ArrayList<>();
-        List<Media> imagesToKeep = new ArrayList<>();
-
-        for (Media media : currentMedia) {
-            if (keepImageIds.contains(media.getId())) {
-                imagesToKeep.add(media);
-            } else {
-                imagesToDeleteFromCloudinary.add(media);
-            }
-        }
-
-        // 7. Eliminar de Cloudinary PRIMERO (antes de eliminar de BD)
-        for (Media mediaToDelete : imagesToDeleteFromCloudinary) {
-            if (mediaToDelete.getCloudinaryId() != null && !mediaToDelete.getCloudinaryId().trim().isEmpty()) {
-                try {
-                    cloudinaryService.delete(mediaToDelete.getCloudinaryId());
-                    log.info("Imagen eliminada de Cloudinary: {}", mediaToDelete.getCloudinaryId());
-                } catch (Exception e) {
-                    log.error("Error al eliminar imagen de Cloudinary {}: {}", mediaToDelete.getId(), e.getMessage());
-                }
-            }
-        }
+        // 8. Identificar imágenes a eliminar de Cloudinary ANTES de eliminar de la colección
+        List<String> removedCloudinaryIds = currentMedia.stream()
+            .filter(media -> !keepImageIds.contains(media.getId()))
+            .map(Media::getCloudinaryId)
+            .filter(cloudinaryId -> cloudinaryId != null && !cloudinaryId.trim().isEmpty())
+            .toList();
 
-        // 8. ✅ MODIFICAR LA COLECCIÓN EXISTENTE (no reemplazar)
+        // 9. ✅ MODIFICAR LA COLECCIÓN EXISTENTE (no reemplazar)
         // Hibernate eliminará automáticamente de la BD debido a orphanRemoval = true
         currentMedia.removeIf(media -> !keepImageIds.contains(media.getId()));
 
-        // 9. Agregar nuevas imágenes
-        if (newImages != null && !newImages.isEmpty()) {
-            // Validar límite total de imágenes
-            if (keepImageIds.size() + newImages.size() > 5) {
-                throw new IllegalArgumentException("Máximo 5 imágenes permitidas por publicación");
-            }
+        // 10. Agregar las imágenes nuevas a la colección existente
+        currentMedia.addAll(toMedia(uploads, existingPost));
 
-            for (MultipartFile newImage : newImages) {
-                try {
-                    // Subir a Cloudinary
-                    Map<String, Object> uploadResult = cloudinaryService.upload(newImage);
-
-                    // Crear registro Media
-                    Media media = Media.builder()
-                        .type(MediaType.IMAGE)
-                        .url((String) uploadResult.get("url"))
-                        .cloudinaryId((String) uploadResult.get("public_id"))
-                        .post(existingPost)
-                        .build();
-
-                    // Agregar a la colección existente
-                    currentMedia.add(media);
-
-                } catch (Exception e) {
-                    log.error("Error al procesar imagen {}: {}", newImage.getOriginalFilename(), e.getMessage());
-                    throw new RuntimeException("Error al subir imagen: " + e.getMessage());
-                }
-            }
-        }
-
-        // 10. Guardar cambios
+        // 11. Guardar cambios
         postRepository.save(existingPost);
         log.info("Post actualizado exitosamente");
 
-        return ApiResponse.builder()
-            .message("Publicación actualizada con éxito")
-            .build();
+        return removedCloudinaryIds;
+    }
+
+    /**
+     * Si el post activo cambia de autor, el contador de posts pasa del perfil anterior al nuevo.
+     */
+    private void moveProfilePostCount(Post post, User newAuthor) {
+        Long previousAuthorId = post.getAuthor().getId();
+        if (post.getStatus() != PostStatus.ACTIVE || previousAuthorId.equals(newAuthor.getId())) {
+            return;
+        }
+        userRepository.adjustPostCount(previousAuthorId, -1);
+        userRepository.adjustPostCount(newAuthor.getId(), 1);
     }
 
     @Override
@@ -358,9 +554,13 @@ public class PostServiceImpl implements PostService {
         Post post = postRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Publicación no encontrada con id: " + id));
 
-        // Eliminación lógica
+        // Eliminación lógica; solo descuenta si el post todavía contaba en el perfil
+        boolean wasActive = post.getStatus() == PostStatus.ACTIVE;
         post.setStatus(PostStatus.DELETED);
         postRepository.save(post);
+        if (wasActive) {
+            userRepository.adjustPostCount(post.getAuthor().getId(), -1);
+        }
 
         log.info("Post eliminado lógicamente: {}", post.getTitle());
 
@@ -447,8 +647,54 @@ public class PostServiceImpl implements PostService {
             .build();
     }
 
+    /**
+     * Carga los posts con autor, ubicación y media en una sola consulta,
+     * respetando el orden de los IDs recibidos.
+     */
+    private List<Post> findPostsWithDetails(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Post> postsById = postRepository.findWithDetailsByIdIn(postIds).stream()
+            .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        return postIds.stream()
+            .map(postsById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Mapea una lista de posts resolviendo los likes de todos en una sola consulta,
+     * en lugar de dos consultas por post.
+     */
+    private List<PostResponse> mapToPostResponses(List<Post> posts) {
+        List<Long> postIds = posts.stream()
+            .map(Post::getId)
+            .collect(Collectors.toList());
+        Map<Long, LikeStatusResponse> likeStatuses = likeService.getLikeStatuses(postIds, getCurrentUserIdOrNull());
+
+        List<PostResponse> postResponses = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            postResponses.add(mapToPostResponse(post, likeStatuses.get(post.getId())));
+        }
+        return postResponses;
+    }
+
+    /**
+     * Devuelve el ID del usuario autenticado, o null si la consulta es anónima.
+     */
+    private Long getCurrentUserIdOrNull() {
+        try {
+            return SecurityUtils.getCurrentUserId();
+        } catch (UnauthorizedException e) {
+            return null;
+        }
+    }
+
     // Mapeo manual simplificado
-    private PostResponse mapToPostResponse(Post post) {
+    private PostResponse mapToPostResponse(Post post, LikeStatusResponse likeStatus) {
         PostResponse response = new PostResponse();
         response.setId(post.getId());
         response.setTitle(post.getTitle());
@@ -496,11 +742,8 @@ public class PostServiceImpl implements PostService {
             response.setMedia(new ArrayList<>());
         }
 
-        Long totalLikes = likeService.getTotalLikes(post.getId());
-        response.setTotalLikes(totalLikes);
-        
-        Boolean isLiked = likeService.isLikedByCurrentUser(post.getId());
-        response.setIsLiked(isLiked);
+        response.setTotalLikes(likeStatus != null ? likeStatus.getTotalLikes() : 0L);
+        response.setIsLiked(likeStatus != null && Boolean.TRUE.equals(likeStatus.getIsLiked()));
 
         return response;
     }
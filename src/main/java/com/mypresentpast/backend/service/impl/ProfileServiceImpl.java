@@ -2,19 +2,19 @@ package com.mypresentpast.backend.service.impl;
 
 import com.mypresentpast.backend.dto.request.ProfileUpdateRequest;
 import com.mypresentpast.backend.dto.request.profile.ChangePasswordRequest;
+import com.mypresentpast.backend.dto.response.AuthResponse;
 import com.mypresentpast.backend.dto.response.ProfileResponse;
 import com.mypresentpast.backend.dto.response.ProfileUpdateResponse;
-import com.mypresentpast.backend.enums.PostStatus;
 import com.mypresentpast.backend.exception.BadRequestException;
 import com.mypresentpast.backend.exception.ResourceNotFoundException;
 import com.mypresentpast.backend.exception.UnauthorizedException;
 import com.mypresentpast.backend.model.User;
-import com.mypresentpast.backend.repository.FollowRepository;
-import com.mypresentpast.backend.repository.PostRepository;
 import com.mypresentpast.backend.repository.UserRepository;
 import com.mypresentpast.backend.service.CloudinaryService;
+import com.mypresentpast.backend.service.FollowGraphService;
 import com.mypresentpast.backend.service.JwtService;
 import com.mypresentpast.backend.service.ProfileService;
+import com.mypresentpast.backend.service.TokenVersionService;
 import com.mypresentpast.backend.utils.CommonFunctions;
 import com.mypresentpast.backend.utils.MessageBundle;
 import com.mypresentpast.backend.utils.SecurityUtils;
@@ -39,11 +39,11 @@ import java.util.Objects;
 public class ProfileServiceImpl implements ProfileService {
 
     private final UserRepository userRepository;
-    private final FollowRepository followRepository;
-    private final PostRepository postRepository;
+    private final FollowGraphService followGraphService;
     private final PasswordEncoder passwordEncoder;
     private final CloudinaryService cloudinaryService;
     private final JwtService jwtService;
+    private final TokenVersionService tokenVersionService;
 
     @Override
     @Transactional(readOnly = true)
@@ -53,7 +53,7 @@ public class ProfileServiceImpl implements ProfileService {
             throw new IllegalArgumentException("ID de usuario inválido");
         }
 
-        // Verificar que el usuario existe
+        // Verificar que el usuario existe; la fila ya trae los contadores del perfil
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con id: " + userId));
 
@@ -69,17 +69,12 @@ public class ProfileServiceImpl implements ProfileService {
         // Determinar si es el perfil propio
         boolean isSelf = currentUserId != null && currentUserId.equals(userId);
 
-        // Verificar si el usuario actual sigue a este usuario
+        // Verificar si el usuario actual sigue a este usuario (grafo en memoria)
         boolean isFollowing = false;
         if (currentUserId != null && !isSelf) {
-            isFollowing = followRepository.existsByFollowerIdAndFolloweeId(currentUserId, userId);
+            isFollowing = followGraphService.isFollowing(currentUserId, userId);
         }
 
-        // Obtener estadísticas
-        long followerCount = followRepository.countByFolloweeId(userId);
-        long followingCount = followRepository.countByFollowerId(userId);
-        long postCount = postRepository.countByAuthorIdAndStatus(userId, PostStatus.ACTIVE);
-
         // Construir respuesta
         return ProfileResponse.builder()
             .id(user.getId())
@@ -91,9 +86,9 @@ public class ProfileServiceImpl implements ProfileService {
             .userType(user.getRole())
             .isSelf(isSelf)
             .following(isFollowing)
-            .postCount(postCount)
-            .followerCount(followerCount)
-            .followingCount(followingCount)
+            .postCount(user.getPostCount())
+            .followerCount(user.getFollowerCount())
+            .followingCount(user.getFollowingCount())
             .build();
     }
 
@@ -108,13 +103,23 @@ public class ProfileServiceImpl implements ProfileService {
                         String.format(MessageBundle.USER_NOT_FOUND_WITH_ID, userId)));
 
         // Delegar por campo para reducir complejidad y aislar validaciones
+        String previousEmail = user.getEmail();
         applyEmailUpdate(user, request.getEmail());
         applyUsernameUpdate(user, request.getProfileUsername());
         applyNameUpdate(user, request.getName());
         applyLastNameUpdate(user, request.getLastName());
 
+        // Si cambió el email, los tokens anteriores dejan de ser válidos
+        boolean emailChanged = !Objects.equals(previousEmail, user.getEmail());
+        if (emailChanged) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+        }
+
         // Persistir cambios
         User saved = userRepository.save(user);
+        if (emailChanged) {
+            tokenVersionService.versionChanged(saved.getId(), saved.getTokenVersion());
+        }
 
         // Genera token jwt
         String token = jwtService.getToken(saved);
@@ -190,7 +195,7 @@ public class ProfileServiceImpl implements ProfileService {
     }
 
     @Override
-    public void changePassword(Long userId, ChangePasswordRequest request) {
+    public AuthResponse changePassword(Long userId, ChangePasswordRequest request) {
         // Validaciones funcionales
         if (!request.getNewPassword().equals(request.getConfirmPassword())) {
             throw new BadRequestException(MessageBundle.PASSWORD_MISMATCH);
@@ -214,11 +219,15 @@ public class ProfileServiceImpl implements ProfileService {
             throw new BadRequestException(MessageBundle.NEW_PASSWORD_SAME_AS_OLD);
         }
 
-        // Persistir
+        // Persistir e invalidar los tokens emitidos con la contraseña anterior
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setTokenVersion(user.getTokenVersion() + 1);
 
-        userRepository.save(user);
+        User saved = userRepository.save(user);
+        tokenVersionService.versionChanged(userId, saved.getTokenVersion());
 
+        // Token con la nueva versión: solo se cierran las demás sesiones
+        return new AuthResponse(jwtService.getToken(saved));
     }
 
     @Override
@@ -0,0 +1,167 @@
+package com.mypresentpast.backend.service.impl;
+
+import com.mypresentpast.backend.dto.response.PostCollectionStatusResponse;
+import com.mypresentpast.backend.repository.CollectionPostRepository;
+import com.mypresentpast.backend.repository.projection.SavedPostView;
+import com.mypresentpast.backend.service.SavedPostIndexService;
+import com.mypresentpast.backend.utils.ExpiringCache;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Implementación del índice de posts guardados.
+ * Por usuario se guardan dos long[] alineados (post y colección), ordenados por post y luego por
+ * nombre de colección: buscar un post es una búsqueda binaria, sin boxing por elemento.
+ * Con el límite de colecciones y de posts por colección, cada índice tiene a lo sumo 400 pares.
+ * El TTL cubre los cambios hechos desde otras instancias.
+ */
+@Service
+public class SavedPostIndexServiceImpl implements SavedPostIndexService {
+
+    private static final int VERSION_STRIPES = 64;
+
+    private final CollectionPostRepository collectionPostRepository;
+    private final ExpiringCache<Long, SavedPosts> cache;
+    private final Duration ttl;
+    // Versión por franja de usuarios: una carga que empezó antes de una invalidación no se guarda
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public SavedPostIndexServiceImpl(CollectionPostRepository collectionPostRepository,
+                                     @Value("${collections.saved-index.max-users:10000}") int maxUsers,
+                                     @Value("${collections.saved-index.ttl-minutes:30}") long ttlMinutes) {
+        this.collectionPostRepository = collectionPostRepository;
+        this.cache = new ExpiringCache<>(maxUsers);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<PostCollectionStatusResponse.CollectionInfo>> getCollectionsContaining(Long userId,
+                                                                                               Collection<Long> postIds) {
+        SavedPosts savedPosts = savedPostsOf(userId);
+
+        Map<Long, List<PostCollectionStatusResponse.CollectionInfo>> result = new LinkedHashMap<>();
+        for (Long postId : postIds) {
+            result.put(postId, savedPosts.collectionsOf(postId));
+        }
+        return result;
+    }
+
+    @Override
+    public void invalidate(Long userId) {
+        int stripe = stripeOf(userId);
+        versions.incrementAndGet(stripe);
+        afterCommit(() -> {
+            versions.incrementAndGet(stripe);
+            cache.invalidate(userId);
+        });
+    }
+
+    private SavedPosts savedPostsOf(Long userId) {
+        SavedPosts cached = cache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripeOf(userId);
+        long version = versions.get(stripe);
+        SavedPosts loaded = SavedPosts.from(collectionPostRepository.findSavedPostsByAuthorId(userId));
+        if (versions.get(stripe) == version) {
+            cache.put(userId, loaded, ttl);
+        }
+        return loaded;
+    }
+
+    private static int stripeOf(Long userId) {
+        return Math.floorMod(userId.hashCode(), VERSION_STRIPES);
+    }
+
+    /**
+     * El índice se descarta solo si la transacción se confirma, y de nuevo en ese momento,
+     * así una lectura concurrente no vuelve a guardar el estado anterior.
+     */
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    /**
+     * Posts guardados de un usuario. Inmutable una vez armado.
+     */
+    static final class SavedPosts {
+
+        private final long[] postIds;
+        private final long[] collectionIds;
+        private final Map<Long, String> collectionNames;
+
+        private SavedPosts(long[] postIds, long[] collectionIds, Map<Long, String> collectionNames) {
+            this.postIds = postIds;
+            this.collectionIds = collectionIds;
+            this.collectionNames = collectionNames;
+        }
+
+        /**
+         * Las filas deben venir ordenadas por post y luego por nombre de colección.
+         */
+        static SavedPosts from(List<SavedPostView> rows) {
+            long[] postIds = new long[rows.size()];
+            long[] collectionIds = new long[rows.size()];
+            Map<Long, String> names = new HashMap<>();
+            for (int i = 0; i < rows.size(); i++) {
+                SavedPostView row = rows.get(i);
+                postIds[i] = row.getPostId();
+                collectionIds[i] = row.getCollectionId();
+                names.put(row.getCollectionId(), row.getCollectionName());
+            }
+            return new SavedPosts(postIds, collectionIds, names);
+        }
+
+        List<PostCollectionStatusResponse.CollectionInfo> collectionsOf(long postId) {
+            int first = firstIndexOf(postId);
+            List<PostCollectionStatusResponse.CollectionInfo> collections = new ArrayList<>();
+            for (int i = first; i < postIds.length && postIds[i] == postId; i++) {
+                collections.add(PostCollectionStatusResponse.CollectionInfo.builder()
+                    .collectionId(collectionIds[i])
+                    .collectionName(collectionNames.get(collectionIds[i]))
+                    .build());
+            }
+            return collections;
+        }
+
+        /**
+         * Primera posición con postIds[i] >= postId (el post puede repetirse, una vez por colección).
+         */
+        private int firstIndexOf(long postId) {
+            int low = 0;
+            int high = postIds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (postIds[mid] < postId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
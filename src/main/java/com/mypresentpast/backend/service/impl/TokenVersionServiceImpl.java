@@ -0,0 +1,74 @@
+package com.mypresentpast.backend.service.impl;
+
+import com.mypresentpast.backend.repository.UserRepository;
+import com.mypresentpast.backend.service.TokenVersionService;
+import com.mypresentpast.backend.utils.ExpiringCache;
+import java.time.Duration;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Implementación de TokenVersionService.
+ * Las versiones se cachean por un tiempo corto: con varias instancias, una revocación
+ * hecha en otra instancia tarda como máximo ese tiempo en aplicarse.
+ */
+@Service
+public class TokenVersionServiceImpl implements TokenVersionService {
+
+    private final UserRepository userRepository;
+    private final ExpiringCache<Long, Integer> versions;
+    private final Duration ttl;
+
+    public TokenVersionServiceImpl(UserRepository userRepository,
+                                   @Value("${jwt.token-version-cache.max-size:10000}") int maxSize,
+                                   @Value("${jwt.token-version-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.versions = new ExpiringCache<>(maxSize);
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    @Override
+    public Integer getCurrentVersion(Long userId) {
+        Integer version = versions.get(userId);
+        if (version != null) {
+            return version;
+        }
+
+        version = userRepository.findTokenVersionById(userId);
+        if (version != null) {
+            // Las versiones solo crecen: una lectura lenta de la base no pisa una versión más nueva ya publicada
+            versions.merge(userId, version, ttl, Math::max);
+        }
+        return version;
+    }
+
+    @Override
+    public boolean isCurrent(Long userId, Integer version) {
+        if (userId == null) {
+            return false;
+        }
+        Integer current = getCurrentVersion(userId);
+        return current != null && Objects.equals(current, version == null ? 0 : version);
+    }
+
+    /**
+     * La nueva versión se publica recién al confirmar la transacción: un rollback no deja la caché
+     * con una versión que nunca se guardó.
+     */
+    @Override
+    public void versionChanged(Long userId, Integer version) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.merge(userId, version, ttl, Math::max);
+                }
+            });
+        } else {
+            versions.merge(userId, version, ttl, Math::max);
+        }
+    }
+}
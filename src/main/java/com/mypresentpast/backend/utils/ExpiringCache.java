@@ -0,0 +1,124 @@
+package com.mypresentpast.backend.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+
+/**
+ * Caché en memoria acotada con vencimiento por entrada.
+ * Las lecturas no toman bloqueos ni modifican la estructura: solo las escrituras que superan
+ * maxSize pagan la limpieza, que descarta primero las entradas vencidas y luego las que vencen antes.
+ * Es segura para uso concurrente.
+ */
+public class ExpiringCache<K, V> {
+
+    private final int maxSize;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Object evictionLock = new Object();
+
+    public ExpiringCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize debe ser mayor a cero");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Devuelve el valor guardado, o null si no existe o ya venció.
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Guarda un valor que vence en el instante indicado (epoch en milisegundos).
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+        evictIfFull();
+    }
+
+    /**
+     * Guarda un valor que vence después del tiempo indicado.
+     */
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    /**
+     * Combina el valor con el vigente usando remapping (o lo guarda si no hay ninguno) y renueva el vencimiento.
+     * La combinación es atómica respecto de otras escrituras de la misma clave.
+     */
+    public void merge(K key, V value, Duration ttl, BinaryOperator<V> remapping) {
+        long now = System.currentTimeMillis();
+        long expiresAtMillis = now + ttl.toMillis();
+        entries.compute(key, (k, current) -> current == null || current.expiresAtMillis <= now
+            ? new Entry<>(value, expiresAtMillis)
+            : new Entry<>(remapping.apply(current.value, value), expiresAtMillis));
+        evictIfFull();
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        synchronized (evictionLock) {
+            if (entries.size() <= maxSize) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAtMillis <= now);
+
+            // Se libera un 10% extra para no limpiar en cada escritura
+            int excess = entries.size() - (maxSize - maxSize / 10);
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<K, Entry<V>>> byExpiry = new ArrayList<>(entries.entrySet());
+            byExpiry.sort(Comparator.comparingLong(candidate -> candidate.getValue().expiresAtMillis));
+            for (int i = 0; i < excess && i < byExpiry.size(); i++) {
+                Map.Entry<K, Entry<V>> candidate = byExpiry.get(i);
+                entries.remove(candidate.getKey(), candidate.getValue());
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long expiresAtMillis;
+
+        private Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
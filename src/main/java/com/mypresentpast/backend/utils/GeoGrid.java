@@ -0,0 +1,78 @@
+package com.mypresentpast.backend.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Grilla espacial de tamaño fijo usada para indexar ubicaciones.
+ * Cada coordenada pertenece a una única celda de CELL_SIZE_DEGREES x CELL_SIZE_DEGREES,
+ * identificada por un número que se guarda en location.geo_cell.
+ */
+public class GeoGrid {
+
+    /**
+     * Tamaño de la celda en grados (~5.5 km de lado en latitud).
+     */
+    public static final double CELL_SIZE_DEGREES = 0.05;
+
+    /**
+     * Máximo de celdas que se resuelven por consulta. Por encima de este valor el área
+     * es tan amplia que el índice no filtra nada y conviene consultar por bounding box.
+     */
+    public static final int MAX_CELLS_PER_QUERY = 64;
+
+    /**
+     * Celdas por fila de la grilla: geo_cell = fila * LON_CELLS + columna.
+     */
+    public static final int LON_CELLS = (int) Math.round(360 / CELL_SIZE_DEGREES);
+
+    private static final int LAT_CELLS = (int) Math.round(180 / CELL_SIZE_DEGREES);
+
+    private GeoGrid() {
+    }
+
+    /**
+     * Calcula el identificador de celda para una coordenada.
+     */
+    public static Long cellOf(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        return (long) latIndex(latitude) * LON_CELLS + lonIndex(longitude);
+    }
+
+    /**
+     * Devuelve las celdas que cubren el bounding box indicado, o vacío si el área
+     * supera MAX_CELLS_PER_QUERY celdas.
+     */
+    public static Optional<List<Long>> cellsCovering(double latMin, double latMax, double lonMin, double lonMax) {
+        int latFrom = latIndex(Math.min(latMin, latMax));
+        int latTo = latIndex(Math.max(latMin, latMax));
+        int lonFrom = lonIndex(Math.min(lonMin, lonMax));
+        int lonTo = lonIndex(Math.max(lonMin, lonMax));
+
+        long cellCount = (long) (latTo - latFrom + 1) * (lonTo - lonFrom + 1);
+        if (cellCount > MAX_CELLS_PER_QUERY) {
+            return Optional.empty();
+        }
+
+        List<Long> cells = new ArrayList<>((int) cellCount);
+        for (int lat = latFrom; lat <= latTo; lat++) {
+            for (int lon = lonFrom; lon <= lonTo; lon++) {
+                cells.add((long) lat * LON_CELLS + lon);
+            }
+        }
+        return Optional.of(cells);
+    }
+
+    private static int latIndex(double latitude) {
+        int index = (int) Math.floor((latitude + 90) / CELL_SIZE_DEGREES);
+        return Math.max(0, Math.min(LAT_CELLS - 1, index));
+    }
+
+    private static int lonIndex(double longitude) {
+        int index = (int) Math.floor((longitude + 180) / CELL_SIZE_DEGREES);
+        return Math.max(0, Math.min(LON_CELLS - 1, index));
+    }
+}
@@ -0,0 +1,282 @@
+package com.mypresentpast.backend.utils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Optional;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.Getter;
+import org.w3c.dom.Node;
+
+/**
+ * Redimensiona y recomprime imágenes antes de subirlas.
+ * La decodificación se hace con submuestreo, así una foto de 12MP no se expande completa en memoria.
+ * El resultado no conserva metadatos (EXIF, GPS); la orientación EXIF se aplica a los píxeles.
+ */
+public class ImageResizer {
+
+    /**
+     * Cómo se ajusta la imagen a las dimensiones pedidas.
+     */
+    public enum Mode {
+        /** Entra completa dentro de width x height (equivalente a c_limit). */
+        FIT,
+        /** Cubre width x height; el recorte final lo hace Cloudinary (para c_fill). */
+        COVER
+    }
+
+    /**
+     * Imagen ya procesada, lista para subir.
+     */
+    @Getter
+    public static class ResizedImage {
+
+        private final byte[] content;
+        private final String format;
+        private final int width;
+        private final int height;
+
+        ResizedImage(byte[] content, String format, int width, int height) {
+            this.content = content;
+            this.format = format;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    private ImageResizer() {
+    }
+
+    /**
+     * Decodifica, reduce y vuelve a codificar la imagen. Nunca agranda.
+     * Las imágenes con transparencia se codifican en PNG; el resto en JPEG con la calidad indicada.
+     *
+     * @return la imagen procesada, o vacío si el formato no se puede decodificar
+     */
+    public static Optional<ResizedImage> resize(InputStream input, int width, int height, Mode mode, float quality)
+            throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(input)) {
+            if (stream == null) {
+                return Optional.empty();
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, false);
+                int orientation = readExifOrientation(reader);
+                boolean swapsAxes = orientation >= 5 && orientation <= 8;
+
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                int orientedWidth = swapsAxes ? sourceHeight : sourceWidth;
+                int orientedHeight = swapsAxes ? sourceWidth : sourceHeight;
+                double scale = scaleFor(orientedWidth, orientedHeight, width, height, mode);
+
+                // Submuestreo al decodificar, dejando margen x2 para que el escalado final suavice
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, (int) Math.floor(1 / (scale * 2)));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                int targetWidth = Math.max(1, (int) Math.round(orientedWidth * scale));
+                int targetHeight = Math.max(1, (int) Math.round(orientedHeight * scale));
+                BufferedImage oriented = applyOrientation(decoded, orientation);
+                BufferedImage scaled = scaleTo(oriented, targetWidth, targetHeight);
+
+                boolean hasAlpha = scaled.getColorModel().hasAlpha();
+                String format = hasAlpha ? "png" : "jpg";
+                return Optional.of(new ResizedImage(encode(scaled, format, quality), format,
+                    scaled.getWidth(), scaled.getHeight()));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Factor de escala (como máximo 1) para el modo pedido.
+     */
+    static double scaleFor(int sourceWidth, int sourceHeight, int width, int height, Mode mode) {
+        double widthRatio = (double) width / sourceWidth;
+        double heightRatio = (double) height / sourceHeight;
+        double scale = mode == Mode.FIT ? Math.min(widthRatio, heightRatio) : Math.max(widthRatio, heightRatio);
+        return Math.min(1.0, scale);
+    }
+
+    /**
+     * Reduce a la mitad mientras sobre más de x2 y termina con una pasada bilineal,
+     * lo que evita el aliasing de una única reducción grande.
+     */
+    private static BufferedImage scaleTo(BufferedImage image, int targetWidth, int targetHeight) {
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            if (current.getWidth() <= targetWidth * 2 && current.getHeight() <= targetHeight * 2) {
+                currentWidth = targetWidth;
+                currentHeight = targetHeight;
+            }
+            current = draw(current, currentWidth, currentHeight, null);
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, AffineTransform transform) {
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (transform != null) {
+                graphics.drawImage(source, transform, null);
+            } else {
+                graphics.drawImage(source, 0, 0, width, height, null);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Aplica la orientación EXIF (1 a 8) para que la imagen se vea derecha sin metadatos.
+     */
+    private static BufferedImage applyOrientation(BufferedImage image, int orientation) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2 -> { transform.translate(w, 0); transform.scale(-1, 1); }
+            case 3 -> { transform.translate(w, h); transform.rotate(Math.PI); }
+            case 4 -> { transform.translate(0, h); transform.scale(1, -1); }
+            case 5 -> { transform.rotate(Math.PI / 2); transform.scale(1, -1); }
+            case 6 -> { transform.translate(h, 0); transform.rotate(Math.PI / 2); }
+            case 7 -> { transform.scale(-1, 1); transform.translate(-h, 0); transform.translate(0, w); transform.rotate(3 * Math.PI / 2); }
+            case 8 -> { transform.translate(0, w); transform.rotate(3 * Math.PI / 2); }
+            default -> { return image; }
+        }
+        boolean swapsAxes = orientation >= 5;
+        return draw(image, swapsAxes ? h : w, swapsAxes ? w : h, transform);
+    }
+
+    private static byte[] encode(BufferedImage image, String format, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Lee el tag Orientation del segmento APP1 (Exif) de un JPEG. Devuelve 1 si no existe.
+     */
+    private static int readExifOrientation(ImageReader reader) {
+        try {
+            IIOMetadata metadata = reader.getImageMetadata(0);
+            if (metadata == null || !"javax_imageio_jpeg_image_1.0".equals(metadata.getNativeMetadataFormatName())) {
+                return 1;
+            }
+            Node markers = findChild(metadata.getAsTree("javax_imageio_jpeg_image_1.0"), "markerSequence");
+            if (markers == null) {
+                return 1;
+            }
+            for (Node child = markers.getFirstChild(); child != null; child = child.getNextSibling()) {
+                // Los segmentos APP1 llegan como "unknown" con MarkerTag 225
+                Node tag = "unknown".equals(child.getNodeName()) ? child.getAttributes().getNamedItem("MarkerTag") : null;
+                if (tag != null && "225".equals(tag.getNodeValue())
+                        && child instanceof IIOMetadataNode node
+                        && node.getUserObject() instanceof byte[] app1) {
+                    return parseOrientation(app1);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Metadatos ilegibles: se asume orientación normal
+        }
+        return 1;
+    }
+
+    private static Node findChild(Node parent, String name) {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (name.equals(child.getNodeName())) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Recorre el IFD0 del bloque Exif buscando el tag de orientación.
+     */
+    static int parseOrientation(byte[] app1) {
+        // "Exif\0\0" seguido del encabezado TIFF
+        if (app1.length < 14 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') {
+            return 1;
+        }
+        int tiff = 6;
+        boolean littleEndian = app1[tiff] == 'I';
+        int ifdOffset = readInt(app1, tiff + 4, littleEndian);
+        int ifd = tiff + ifdOffset;
+        if (ifd + 2 > app1.length) {
+            return 1;
+        }
+        int entries = readShort(app1, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > app1.length) {
+                break;
+            }
+            if (readShort(app1, entry, littleEndian) == EXIF_ORIENTATION_TAG) {
+                int value = readShort(app1, entry + 8, littleEndian);
+                return value >= 1 && value <= 8 ? value : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean littleEndian) {
+        int b0 = data[offset] & 0xFF;
+        int b1 = data[offset + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static int readInt(byte[] data, int offset, boolean littleEndian) {
+        int high = readShort(data, littleEndian ? offset + 2 : offset, littleEndian);
+        int low = readShort(data, littleEndian ? offset : offset + 2, littleEndian);
+        return (high << 16) | low;
+    }
+}
@@ -0,0 +1,107 @@
+package com.mypresentpast.backend.utils;
+
+import com.mypresentpast.backend.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginación keyset sobre (fecha, id) en orden descendente.
+ * Se serializa como Base64 URL-safe de "fecha|id", con la fecha en formato ISO.
+ */
+public class PageCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Valores usados como cursor de la primera página: mayores que cualquier fila real.
+     */
+    public static final LocalDate FIRST_PAGE_DATE = LocalDate.of(9999, 12, 31);
+    public static final LocalDateTime FIRST_PAGE_DATE_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    public static final Long FIRST_PAGE_ID = Long.MAX_VALUE;
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortKey;
+    private final Long id;
+
+    private PageCursor(String sortKey, Long id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    /**
+     * Genera el cursor que apunta a la fila indicada (la última de la página actual).
+     */
+    public static String encode(Object sortKey, Long id) {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cursor para listas ordenadas solo por id (descendente).
+     */
+    public static String encode(Long id) {
+        return encode(id, id);
+    }
+
+    /**
+     * Decodifica un cursor recibido del cliente, o null si no se envió (primera página).
+     *
+     * @throws BadRequestException si el cursor no es válido
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex <= 0) {
+                throw new BadRequestException("Cursor inválido");
+            }
+            return new PageCursor(raw.substring(0, separatorIndex), Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Ajusta el tamaño de página pedido al rango permitido.
+     */
+    public static int resolvePageSize(Integer size, int defaultSize, int maxSize) {
+        if (size == null || size <= 0) {
+            return defaultSize;
+        }
+        return Math.min(size, maxSize);
+    }
+
+    public static LocalDate dateOf(PageCursor cursor) {
+        if (cursor == null) {
+            return FIRST_PAGE_DATE;
+        }
+        try {
+            return LocalDate.parse(cursor.sortKey);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    public static LocalDateTime dateTimeOf(PageCursor cursor) {
+        if (cursor == null) {
+            return FIRST_PAGE_DATE_TIME;
+        }
+        try {
+            return LocalDateTime.parse(cursor.sortKey);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    public static Long idOf(PageCursor cursor) {
+        return cursor == null ? FIRST_PAGE_ID : cursor.id;
+    }
+}
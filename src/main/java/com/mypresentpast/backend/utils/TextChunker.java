@@ -0,0 +1,90 @@
+package com.mypresentpast.backend.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Divide textos largos en fragmentos de hasta maxChars caracteres, cortando preferentemente
+ * entre párrafos, luego entre oraciones y, como último recurso, en un espacio.
+ * Los fragmentos conservan los separadores: concatenarlos devuelve exactamente el texto original.
+ */
+public class TextChunker {
+
+    // Fin de párrafo: una o más líneas en blanco
+    private static final Pattern PARAGRAPH_END = Pattern.compile("\\n[ \\t]*\\n\\s*");
+    // Fin de oración: puntuación final, cierres opcionales y espacios
+    private static final Pattern SENTENCE_END = Pattern.compile("[.!?…]+[\"'»”)\\]]*\\s+");
+
+    private TextChunker() {
+    }
+
+    public static List<String> split(String text, int maxChars) {
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String piece : pieces(text, maxChars)) {
+            if (current.length() > 0 && current.length() + piece.length() > maxChars) {
+                chunks.add(current.toString());
+                current.setLength(0);
+            }
+            current.append(piece);
+        }
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
+
+    /**
+     * Unidades indivisibles de como máximo maxChars: párrafos, o sus oraciones si el párrafo no entra.
+     */
+    private static List<String> pieces(String text, int maxChars) {
+        List<String> pieces = new ArrayList<>();
+        for (String paragraph : splitAfter(text, PARAGRAPH_END)) {
+            if (paragraph.length() <= maxChars) {
+                pieces.add(paragraph);
+                continue;
+            }
+            for (String sentence : splitAfter(paragraph, SENTENCE_END)) {
+                if (sentence.length() <= maxChars) {
+                    pieces.add(sentence);
+                } else {
+                    pieces.addAll(splitAtSpaces(sentence, maxChars));
+                }
+            }
+        }
+        return pieces;
+    }
+
+    /**
+     * Corta el texto justo después de cada coincidencia del separador.
+     */
+    private static List<String> splitAfter(String text, Pattern separator) {
+        List<String> parts = new ArrayList<>();
+        Matcher matcher = separator.matcher(text);
+        int start = 0;
+        while (matcher.find()) {
+            parts.add(text.substring(start, matcher.end()));
+            start = matcher.end();
+        }
+        if (start < text.length()) {
+            parts.add(text.substring(start));
+        }
+        return parts;
+    }
+
+    private static List<String> splitAtSpaces(String text, int maxChars) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        while (text.length() - start > maxChars) {
+            int end = text.lastIndexOf(' ', start + maxChars - 1);
+            // Sin espacios (p. ej. una URL muy larga): corte duro
+            end = end > start ? end + 1 : start + maxChars;
+            parts.add(text.substring(start, end));
+            start = end;
+        }
+        parts.add(text.substring(start));
+        return parts;
+    }
+}
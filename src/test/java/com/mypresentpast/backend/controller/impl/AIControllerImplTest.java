@@ -0,0 +1,66 @@
+package com.mypresentpast.backend.controller.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mypresentpast.backend.dto.request.CorrectContentRequest;
+import com.mypresentpast.backend.dto.response.CorrectContentResponse;
+import com.mypresentpast.backend.service.AIService;
+import com.mypresentpast.backend.service.ai.OpenAIProvider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class AIControllerImplTest {
+
+    private final List<Runnable> streamTasks = new ArrayList<>();
+    private final AtomicReference<Consumer<String>> onDelta = new AtomicReference<>();
+    private final CompletableFuture<CorrectContentResponse> correction = new CompletableFuture<>();
+    private AIControllerImpl controller;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        AIService aiService = mock(AIService.class);
+        when(aiService.correctContentStream(any(), any())).thenAnswer(invocation -> {
+            onDelta.set(invocation.getArgument(1));
+            return correction;
+        });
+        // Ejecutor manual: las tareas solo corren cuando la prueba lo decide
+        controller = new AIControllerImpl(aiService, mock(OpenAIProvider.class), streamTasks::add);
+        ReflectionTestUtils.setField(controller, "streamTimeoutMs", 60000L);
+        ReflectionTestUtils.setField(controller, "maxPendingEvents", 3);
+    }
+
+    @Test
+    void correctContentStream_DeltaIsHandedOffInsteadOfSentOnCallerThread() {
+        controller.correctContentStream(CorrectContentRequest.builder().content("ola").build());
+
+        onDelta.get().accept("Hola");
+        onDelta.get().accept(" mundo");
+
+        // Quien produce los deltas (el reactor de E/S) no escribe: queda una única tarea de envío en orden
+        assertEquals(1, streamTasks.size());
+        assertFalse(correction.isDone());
+    }
+
+    @Test
+    void correctContentStream_ClientTooSlow_CancelsCorrection() {
+        controller.correctContentStream(CorrectContentRequest.builder().content("ola").build());
+
+        for (int i = 0; i < 4; i++) {
+            onDelta.get().accept("token");
+        }
+
+        assertTrue(correction.isCancelled());
+    }
+}
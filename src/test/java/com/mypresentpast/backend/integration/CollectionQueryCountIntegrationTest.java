@@ -0,0 +1,97 @@
+package com.mypresentpast.backend.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mypresentpast.backend.dto.request.CreateCollectionRequest;
+import com.mypresentpast.backend.dto.response.CollectionPostsBatchResponse;
+import com.mypresentpast.backend.dto.response.CollectionSummaryResponse;
+import com.mypresentpast.backend.dto.response.PostResponse;
+import com.mypresentpast.backend.model.User;
+import com.mypresentpast.backend.repository.UserRepository;
+import com.mypresentpast.backend.service.CollectionService;
+import com.mypresentpast.backend.service.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifica que los posts de una colección se resuelven con una cantidad fija de sentencias,
+ * sin cargas lazy por post.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CollectionQueryCountIntegrationTest {
+
+    private static final String COLLECTION_NAME = "Conteo de sentencias";
+
+    // Colección del usuario + página proyectada + media + likes
+    private static final long MAX_STATEMENTS_PER_PAGE = 4;
+
+    @Autowired
+    private CollectionService collectionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    private Statistics statistics;
+    private Long collectionId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.findById(1L).orElseThrow();
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        collectionService.createCollection(CreateCollectionRequest.builder().name(COLLECTION_NAME).build());
+        collectionId = collectionService.getMyCollections().stream()
+            .filter(collection -> COLLECTION_NAME.equals(collection.getName()))
+            .map(CollectionSummaryResponse::getId)
+            .findFirst()
+            .orElseThrow();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        collectionService.deleteCollection(collectionId);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getCollectionPosts_LoadsPageInBoundedStatements() {
+        CollectionPostsBatchResponse added = collectionService.addPostsToCollection(collectionId, List.of(1L, 2L, 3L, 4L));
+        assertTrue(added.getSucceeded() > 1);
+
+        statistics.clear();
+        List<PostResponse> posts = collectionService.getCollectionPosts(collectionId, null, null).getContent();
+
+        assertEquals(added.getSucceeded(), posts.size());
+        assertTrue(posts.stream().allMatch(post -> post.getAuthor() != null && post.getTotalLikes() != null));
+        assertTrue(posts.stream().anyMatch(post -> !post.getMedia().isEmpty()));
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_PER_PAGE,
+            "Sentencias ejecutadas: " + statistics.getPrepareStatementCount());
+    }
+}
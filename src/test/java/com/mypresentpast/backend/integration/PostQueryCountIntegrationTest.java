@@ -0,0 +1,96 @@
+package com.mypresentpast.backend.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mypresentpast.backend.dto.response.MapResponse;
+import com.mypresentpast.backend.dto.response.PostResponse;
+import com.mypresentpast.backend.service.JwtService;
+import com.mypresentpast.backend.service.PostService;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifica que los listados de posts se resuelven con una cantidad acotada de sentencias,
+ * sin importar cuántos posts devuelvan (sin cargas lazy por post).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PostQueryCountIntegrationTest {
+
+    // IDs de posts + posts con autor, ubicación y media + likes
+    private static final long MAX_STATEMENTS_PER_LIST = 3;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void getMapData_LoadsWholeAreaInBoundedStatements() {
+        // Área que cubre todos los posts precargados de Argentina
+        MapResponse response = postService.getMapData(-56.0, -21.0, -74.0, -53.0, null, null, null, null, null, null, null);
+
+        assertTrue(response.getPosts().size() > 5);
+        assertTrue(response.getPosts().stream().allMatch(post -> post.getAuthor() != null && post.getLocation() != null));
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_PER_LIST,
+            "Sentencias ejecutadas: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getMapClusters_AggregatesWholeAreaInOneStatement() {
+        long postsInArea = postService.getMapData(-56.0, -21.0, -74.0, -53.0, null, null, null, null, null, null, null)
+            .getPosts().size();
+        statistics.clear();
+
+        MapResponse response = postService.getMapClusters(-56.0, -21.0, -74.0, -53.0, null, null, null, null, null, 4);
+
+        assertTrue(response.getClusters().size() > 1);
+        assertEquals(postsInArea, response.getClusters().stream().mapToLong(cluster -> cluster.getCount()).sum());
+        assertTrue(response.getClusters().stream().allMatch(cluster ->
+            !cluster.getPostIds().isEmpty() && cluster.getPostIds().size() <= Math.min(3, cluster.getCount())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getPostsByUser_LoadsPostsInBoundedStatements() {
+        List<PostResponse> posts = postService.getPostsByUser(1L, null, null).getContent();
+
+        assertTrue(posts.size() > 1);
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_PER_LIST,
+            "Sentencias ejecutadas: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getPostById_LoadsPostInTwoStatements() {
+        PostResponse post = postService.getPostById(1L);
+
+        assertEquals(1L, post.getId());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,295 @@
+package com.mypresentpast.backend.service.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.mypresentpast.backend.dto.request.CorrectContentRequest;
+import com.mypresentpast.backend.dto.response.CorrectContentResponse;
+import com.mypresentpast.backend.service.impl.AIServiceImpl;
+import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Prueba el cliente contra un servidor HTTP local que simula un proveedor lento o caído.
+ */
+class AIHttpClientTest {
+
+    private HttpServer server;
+    private AIHttpClientFactory factory;
+    private String baseUrl;
+    private final AtomicInteger errorHits = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch upstreamAborted = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ok", exchange -> respond(exchange, 200, "{\"choices\":[]}"));
+        server.createContext("/slow", exchange -> {
+            sleep(3000);
+            respond(exchange, 200, "{}");
+        });
+        server.createContext("/error", exchange -> {
+            errorHits.incrementAndGet();
+            respond(exchange, 500, "{\"error\":\"boom\"}");
+        });
+        server.createContext("/stream", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                for (String token : List.of("Hola", " mundo")) {
+                    body.write(("data: {\"choices\":[{\"delta\":{\"content\":\"" + token + "\"}}]}\n\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                    body.flush();
+                    awaitRelease();
+                }
+                body.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.createContext("/endless", exchange -> {
+            // Proveedor que nunca termina: emite un token y luego solo comentarios keep-alive
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream body = exchange.getResponseBody();
+            try {
+                body.write("data: {\"choices\":[{\"delta\":{\"content\":\"Hola\"}}]}\n\n".getBytes(StandardCharsets.UTF_8));
+                for (int i = 0; i < 200; i++) {
+                    body.flush();
+                    sleep(50);
+                    body.write(": keep-alive\n\n".getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (IOException e) {
+                // El cliente cortó la conexión
+                upstreamAborted.countDown();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.createContext("/html", exchange -> {
+            // Proxy o página de error que responde 200 con un cuerpo que no es JSON
+            exchange.getResponseHeaders().add("Content-Type", "text/html");
+            byte[] bytes = "<html>mantenimiento</html>".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        });
+        server.createContext("/hold", exchange -> {
+            awaitRelease();
+            respond(exchange, 200, "{}");
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        // Pool de 10 conexiones, 200ms para obtener permiso, circuito abierto tras 3 fallos durante 60s
+        factory = new AIHttpClientFactory(10, 10, 1000, 30, 200, 3, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        factory.close();
+        server.stop(0);
+    }
+
+    @Test
+    void post_Success_ReturnsParsedBody() {
+        AIHttpClient client = factory.create("Stub", 1000, 2);
+
+        Map<String, Object> body = client.post(baseUrl + "/ok", jsonEntity());
+
+        assertTrue(body.containsKey("choices"));
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void post_SlowProvider_FailsAtResponseTimeout() {
+        AIHttpClient client = factory.create("Stub", 300, 2);
+
+        long start = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> client.post(baseUrl + "/slow", jsonEntity()));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // El servidor tarda 3s; la latencia queda acotada por el timeout de 300ms
+        assertTrue(elapsedMs < 1500, "La llamada tardó " + elapsedMs + "ms");
+    }
+
+    @Test
+    void post_ConcurrencyLimitReached_RejectsWithoutWaitingForProvider() throws Exception {
+        AIHttpClient client = factory.create("Stub", 5000, 1);
+        CompletableFuture<Map<String, Object>> inFlight =
+            CompletableFuture.supplyAsync(() -> client.post(baseUrl + "/hold", jsonEntity()));
+        sleep(200);
+
+        long start = System.nanoTime();
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+            () -> client.post(baseUrl + "/ok", jsonEntity()));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(error.getMessage().contains("saturado"));
+        assertTrue(elapsedMs < 1000, "El rechazo tardó " + elapsedMs + "ms");
+
+        release.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void post_RepeatedServerErrors_OpensCircuitAndStopsCallingProvider() {
+        AIHttpClient client = factory.create("Stub", 1000, 2);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(HttpServerErrorException.class, () -> client.post(baseUrl + "/error", jsonEntity()));
+        }
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+            () -> client.post(baseUrl + "/error", jsonEntity()));
+
+        assertTrue(error.getMessage().contains("circuito abierto"));
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+        assertEquals(3, errorHits.get());
+    }
+
+    @Test
+    void post_UnreadableResponseDuringHalfOpenTrial_ReleasesTrial() {
+        // Circuito que abre con un fallo y pasa a HALF_OPEN de inmediato
+        AIHttpClientFactory halfOpenFactory = new AIHttpClientFactory(10, 10, 1000, 30, 200, 1, 0);
+        try {
+            AIHttpClient client = halfOpenFactory.create("Stub", 1000, 1);
+            assertThrows(HttpServerErrorException.class, () -> client.post(baseUrl + "/error", jsonEntity()));
+
+            assertThrows(RestClientException.class, () -> client.post(baseUrl + "/html", jsonEntity()));
+            assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+            // La siguiente prueba se autoriza y, al responder bien, cierra el circuito
+            assertTrue(client.post(baseUrl + "/ok", jsonEntity()).containsKey("choices"));
+            assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+        } finally {
+            halfOpenFactory.close();
+        }
+    }
+
+    @Test
+    void stream_DeliversEventsAsTheyArrive() throws Exception {
+        AIHttpClient client = factory.create("Stub", 5000, 2);
+        List<Map<String, Object>> events = new CopyOnWriteArrayList<>();
+        CountDownLatch firstEvent = new CountDownLatch(1);
+
+        CompletableFuture<Void> stream = client.stream(baseUrl + "/stream", jsonEntity(), event -> {
+            events.add(event);
+            firstEvent.countDown();
+        });
+
+        // El primer evento llega mientras el servidor todavía retiene el resto del stream
+        assertTrue(firstEvent.await(2, TimeUnit.SECONDS));
+        assertEquals(1, events.size());
+
+        release.countDown();
+        stream.get(5, TimeUnit.SECONDS);
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    void stream_ServerError_FailsFutureWithStatus() {
+        AIHttpClient client = factory.create("Stub", 1000, 2);
+
+        CompletableFuture<Void> stream = client.stream(baseUrl + "/error", jsonEntity(), event -> { });
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> stream.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(HttpServerErrorException.class, error.getCause());
+    }
+
+    @Test
+    void correctContentStream_Cancelled_AbortsProviderExchangeAndReleasesPermit() throws Exception {
+        GroqProvider groq = new GroqProvider(factory);
+        ReflectionTestUtils.setField(groq, "apiKey", "gsk_stub");
+        ReflectionTestUtils.setField(groq, "apiUrl", baseUrl + "/endless");
+        ReflectionTestUtils.setField(groq, "model", "stub");
+        ReflectionTestUtils.setField(groq, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(groq, "maxConcurrent", 1);
+        groq.init();
+        AIProviderRouter router = new AIProviderRouter(List.of(groq), Runnable::run, new SimpleMeterRegistry(),
+            "auto", 100, false, 500, 3000, 20, 0.5);
+        AIServiceImpl service = new AIServiceImpl(router, mock(AIResponseCache.class));
+        CountDownLatch firstDelta = new CountDownLatch(1);
+
+        CompletableFuture<CorrectContentResponse> correction = service.correctContentStream(
+            CorrectContentRequest.builder().content("ola").build(), delta -> firstDelta.countDown());
+        assertTrue(firstDelta.await(2, TimeUnit.SECONDS));
+
+        // Lo que hace el controlador cuando el cliente SSE se desconecta
+        correction.cancel(true);
+
+        assertTrue(upstreamAborted.await(3, TimeUnit.SECONDS), "La conexión con el proveedor sigue abierta");
+        // Con un único permiso, un nuevo stream solo se admite si el cancelado lo liberó
+        CompletableFuture<String> next = null;
+        for (int i = 0; i < 20 && (next == null || next.isCompletedExceptionally()); i++) {
+            sleep(50);
+            next = groq.streamCorrection("ola", delta -> { });
+        }
+        assertFalse(next.isCompletedExceptionally());
+        next.cancel(true);
+    }
+
+    private HttpEntity<Map<String, Object>> jsonEntity() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(Map.of("model", "stub"), headers);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        try {
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        } catch (IOException e) {
+            // El cliente ya cortó la conexión por timeout
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
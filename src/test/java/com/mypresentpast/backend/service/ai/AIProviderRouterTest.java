@@ -0,0 +1,192 @@
+package com.mypresentpast.backend.service.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AIProviderRouterTest {
+
+    private ExecutorService executor;
+    private AIProvider groq;
+    private AIProvider openai;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        groq = provider("groq");
+        openai = provider("openai");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void rankProviders_PreferredFirstAndUnavailableExcluded() {
+        AIProvider demo = provider("demo");
+        when(demo.isAvailable()).thenReturn(false);
+        AIProviderRouter router = router(List.of(groq, demo, openai), "openai", false, 3000);
+
+        assertEquals(List.of(openai, groq), router.rankProviders());
+    }
+
+    @Test
+    void correctContent_PrimaryFails_FailsOverToNextProvider() {
+        when(openai.correctContent("ola")).thenThrow(new RuntimeException("API Error"));
+        when(groq.correctContent("ola")).thenReturn("Hola");
+        AIProviderRouter router = router(List.of(groq, openai), "openai", false, 3000);
+
+        assertEquals("Hola", router.correctContent("ola"));
+        // El proveedor con errores recientes pasa al final aunque sea el preferido
+        assertEquals(List.of(groq, openai), router.rankProviders());
+    }
+
+    @Test
+    void correctContent_AllProvidersFail_ThrowsLastError() {
+        when(openai.correctContent("ola")).thenThrow(new RuntimeException("OpenAI caído"));
+        when(groq.correctContent("ola")).thenThrow(new RuntimeException("Groq caído"));
+        AIProviderRouter router = router(List.of(openai, groq), "openai", false, 3000);
+
+        assertThrows(RuntimeException.class, () -> router.correctContent("ola"));
+        verify(openai).correctContent("ola");
+        verify(groq).correctContent("ola");
+    }
+
+    @Test
+    void correctContent_SlowPrimary_HedgedRequestAnswersFirst() {
+        when(openai.correctContent("ola")).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return "Hola (lento)";
+        });
+        when(groq.correctContent("ola")).thenReturn("Hola");
+        AIProviderRouter router = router(List.of(openai, groq), "openai", true, 100);
+
+        long start = System.nanoTime();
+        AICorrection result = router.correct("ola");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("Hola", result.text());
+        // Respondió la cobertura: la corrección se atribuye a ese proveedor
+        assertEquals(groq, result.provider());
+        assertTrue(elapsedMs < 1000, "La corrección tardó " + elapsedMs + "ms");
+    }
+
+    @Test
+    void correctContent_HedgedRequestWins_CancelsSlowPrimary() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(openai.correctContent("ola")).thenAnswer(invocation -> slowCall(interrupted));
+        when(groq.correctContent("ola")).thenReturn("Hola");
+        AIProviderRouter router = router(List.of(openai, groq), "openai", true, 100);
+
+        assertEquals("Hola", router.correctContent("ola"));
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "La solicitud perdedora sigue en curso");
+    }
+
+    @Test
+    void correctAsync_CallerCancels_CancelsAttemptInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(openai.correctContent("ola")).thenAnswer(invocation -> {
+            started.countDown();
+            return slowCall(interrupted);
+        });
+        AIProviderRouter router = router(List.of(openai, groq), "openai", false, 3000);
+
+        CompletableFuture<AICorrection> result = router.correctAsync("ola");
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        result.cancel(true);
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "La solicitud sigue en curso tras cancelar");
+        // La cancelación no cuenta como error del proveedor ni lanza el failover
+        assertEquals(List.of(openai, groq), router.rankProviders());
+        verify(groq, never()).correctContent(anyString());
+    }
+
+    @Test
+    void correctContent_FastPrimary_NoHedgedRequest() {
+        when(openai.correctContent("ola")).thenReturn("Hola");
+        AIProviderRouter router = router(List.of(openai, groq), "openai", true, 1000);
+
+        assertEquals("Hola", router.correctContent("ola"));
+        verify(groq, never()).correctContent(anyString());
+    }
+
+    @Test
+    void hedgeDelayMs_UsesProviderP95OnceThereAreEnoughSamples() {
+        when(openai.correctContent("ola")).thenReturn("Hola");
+        // Mínimo holgado: la primera llamada a un mock puede tardar decenas de ms en una JVM fría
+        AIProviderRouter router = new AIProviderRouter(List.of(openai), executor, new SimpleMeterRegistry(), "openai",
+            100, false, 1000, 3000, 5, 0.5);
+        assertEquals(3000, router.hedgeDelayMs(openai));
+
+        for (int i = 0; i < 5; i++) {
+            router.correctContent("ola");
+        }
+
+        // Respuestas instantáneas: el p95 es menor al mínimo configurado
+        assertEquals(1000, router.hedgeDelayMs(openai));
+    }
+
+    @Test
+    void streamCorrection_FailsBeforeFirstDelta_FailsOverToNextProvider() {
+        when(openai.streamCorrection(anyString(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("API Error")));
+        when(groq.streamCorrection(anyString(), any())).thenAnswer(invocation -> {
+            Consumer<String> onDelta = invocation.getArgument(1);
+            onDelta.accept("Hola");
+            return CompletableFuture.completedFuture("Hola");
+        });
+        AIProviderRouter router = router(List.of(openai, groq), "openai", false, 3000);
+        List<String> deltas = new ArrayList<>();
+
+        AICorrection result = router.stream("ola", deltas::add).join();
+
+        assertEquals("Hola", result.text());
+        assertEquals(groq, result.provider());
+        assertEquals(List.of("Hola"), deltas);
+    }
+
+    private static String slowCall(CountDownLatch interrupted) throws InterruptedException {
+        try {
+            Thread.sleep(5000);
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            throw e;
+        }
+        return "Hola (lento)";
+    }
+
+    private AIProviderRouter router(List<AIProvider> providers, String preferred, boolean hedge, long hedgeDefaultDelayMs) {
+        return new AIProviderRouter(providers, executor, new SimpleMeterRegistry(), preferred,
+            100, hedge, 50, hedgeDefaultDelayMs, 5, 0.5);
+    }
+
+    private AIProvider provider(String id) {
+        AIProvider provider = mock(AIProvider.class);
+        lenient().when(provider.getId()).thenReturn(id);
+        lenient().when(provider.getProviderName()).thenReturn(id);
+        lenient().when(provider.isAvailable()).thenReturn(true);
+        return provider;
+    }
+}
@@ -0,0 +1,106 @@
+package com.mypresentpast.backend.service.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AIResponseCacheTest {
+
+    @TempDir
+    Path diskDirectory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AIProvider groq;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        groq = provider("Groq", "llama-3.3-70b-versatile");
+    }
+
+    @Test
+    void get_AfterPut_ReturnsCorrectionAndCountsHit() {
+        AIResponseCache cache = new AIResponseCache(meterRegistry, 10, 60, false, diskDirectory.toString());
+
+        assertTrue(cache.get(groq, "ola mundo").isEmpty());
+        cache.put(groq, "ola mundo", "Hola mundo");
+
+        assertEquals(Optional.of("Hola mundo"), cache.get(groq, "ola mundo"));
+        assertEquals(1.0, counter("hit", "memory"));
+        assertEquals(1.0, counter("miss", "none"));
+    }
+
+    @Test
+    void get_IgnoresInvisibleDifferences() {
+        AIResponseCache cache = new AIResponseCache(meterRegistry, 10, 60, false, diskDirectory.toString());
+        cache.put(groq, "linea uno\r\nlinea dos", "Línea uno\nLínea dos");
+
+        assertEquals(Optional.of("Línea uno\nLínea dos"), cache.get(groq, "  linea uno  \nlinea dos\n"));
+    }
+
+    @Test
+    void find_ReturnsProviderThatAnswered() {
+        AIResponseCache cache = new AIResponseCache(meterRegistry, 10, 60, false, diskDirectory.toString());
+        AIProvider openAI = provider("OpenAI", "gpt-4o-mini");
+        cache.put(groq, "ola mundo", "Hola mundo");
+
+        Optional<AICorrection> hit = cache.find(List.of(openAI, groq), "ola mundo");
+
+        assertEquals("Hola mundo", hit.orElseThrow().text());
+        assertEquals(groq, hit.get().provider());
+        // Una sola consulta aunque se hayan probado dos proveedores
+        assertEquals(1.0, counter("hit", "memory"));
+        assertEquals(0.0, counter("miss", "none"));
+    }
+
+    @Test
+    void keyOf_DependsOnProviderAndModel() {
+        AIProvider otherModel = provider("Groq", "llama-3.1-8b-instant");
+        AIProvider openAI = provider("OpenAI", "llama-3.3-70b-versatile");
+
+        assertNotEquals(AIResponseCache.keyOf(groq, "texto"), AIResponseCache.keyOf(otherModel, "texto"));
+        assertNotEquals(AIResponseCache.keyOf(groq, "texto"), AIResponseCache.keyOf(openAI, "texto"));
+    }
+
+    @Test
+    void get_DiskTier_SurvivesRestart() {
+        AIResponseCache first = new AIResponseCache(meterRegistry, 10, 60, true, diskDirectory.toString());
+        first.init();
+        first.put(groq, "ola", "Hola");
+
+        AIResponseCache restarted = new AIResponseCache(new SimpleMeterRegistry(), 10, 60, true, diskDirectory.toString());
+        restarted.init();
+
+        assertEquals(Optional.of("Hola"), restarted.get(groq, "ola"));
+    }
+
+    @Test
+    void get_ExpiredEntries_AreNotReturned() {
+        AIResponseCache cache = new AIResponseCache(meterRegistry, 10, 0, true, diskDirectory.toString());
+        cache.init();
+        cache.put(groq, "ola", "Hola");
+
+        assertTrue(cache.get(groq, "ola").isEmpty());
+    }
+
+    private double counter(String result, String tier) {
+        return meterRegistry.get("ai.cache.requests").tag("result", result).tag("tier", tier).counter().count();
+    }
+
+    private static AIProvider provider(String name, String model) {
+        AIProvider provider = mock(AIProvider.class);
+        when(provider.getProviderName()).thenReturn(name);
+        when(provider.getModel()).thenReturn(model);
+        return provider;
+    }
+}
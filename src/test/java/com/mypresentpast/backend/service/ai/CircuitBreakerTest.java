@@ -0,0 +1,79 @@
+package com.mypresentpast.backend.service.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void halfOpen_AllowsSingleTrialAndClosesOnSuccess() {
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofSeconds(30), Clock.fixed(NOW, ZoneOffset.UTC));
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertFalse(breaker.tryAcquire());
+
+        CircuitBreaker later = reopenAt(NOW.plusSeconds(31));
+        assertTrue(later.tryAcquire());
+        assertFalse(later.tryAcquire());
+        later.recordSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, later.getState());
+        assertTrue(later.tryAcquire());
+    }
+
+    @Test
+    void halfOpen_FailedTrialReopensCircuit() {
+        CircuitBreaker breaker = reopenAt(NOW.plusSeconds(31));
+        assertTrue(breaker.tryAcquire());
+
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    /**
+     * Circuito abierto en NOW, consultado con un reloj en el instante indicado.
+     */
+    private CircuitBreaker reopenAt(Instant instant) {
+        MutableClock clock = new MutableClock(NOW);
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofSeconds(30), clock);
+        breaker.recordFailure();
+        breaker.recordFailure();
+        clock.instant = instant;
+        return breaker;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -1,17 +1,34 @@
 package com.mypresentpast.backend.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.mypresentpast.backend.dto.request.CorrectContentRequest;
+import com.mypresentpast.backend.dto.response.CorrectContentResponse;
+import com.mypresentpast.backend.service.ai.AICorrection;
+import com.mypresentpast.backend.service.ai.AIProvider;
+import com.mypresentpast.backend.service.ai.AIProviderRouter;
+import com.mypresentpast.backend.service.ai.AIResponseCache;
 import com.mypresentpast.backend.service.ai.GroqProvider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class AIServiceImplTest {
@@ -19,6 +36,12 @@ class AIServiceImplTest {
     @Mock
     private GroqProvider groqProvider;
 
+    @Mock
+    private AIProviderRouter providerRouter;
+
+    @Mock
+    private AIResponseCache responseCache;
+
     @InjectMocks
     private AIServiceImpl aiService;
 
@@ -51,4 +74,161 @@ class AIServiceImplTest {
         assertThrows(RuntimeException.class, () -> groqProvider.correctContent("test"));
         verify(groqProvider).correctContent("test");
     }
-} 
\ No newline at end of file
+
+    @Test
+    void correctContent_CacheMiss_CallsProviderAndStoresResult() {
+        // Given
+        CorrectContentRequest request = new CorrectContentRequest();
+        request.setContent("ola mundo");
+        when(groqProvider.getProviderName()).thenReturn("Groq");
+        when(responseCache.find(any(), eq("ola mundo"))).thenReturn(Optional.empty());
+        when(providerRouter.correct("ola mundo")).thenReturn(new AICorrection("Hola mundo", groqProvider));
+
+        // When
+        CorrectContentResponse response = aiService.correctContent(request);
+
+        // Then
+        assertEquals("Hola mundo", response.getCorrectedContent());
+        // Se informa y se cachea con el proveedor que respondió, no con la combinación del router
+        assertEquals("Contenido corregido por Groq", response.getMessage());
+        verify(responseCache).put(groqProvider, "ola mundo", "Hola mundo");
+    }
+
+    @Test
+    void correctContent_CacheHit_DoesNotCallProvider() {
+        // Given
+        CorrectContentRequest request = new CorrectContentRequest();
+        request.setContent("ola mundo");
+        when(groqProvider.getProviderName()).thenReturn("Groq");
+        when(responseCache.find(any(), eq("ola mundo")))
+            .thenReturn(Optional.of(new AICorrection("Hola mundo", groqProvider)));
+
+        // When
+        CorrectContentResponse response = aiService.correctContent(request);
+
+        // Then
+        assertEquals("Hola mundo", response.getCorrectedContent());
+        assertEquals("Contenido corregido por Groq", response.getMessage());
+        verify(providerRouter, never()).correct(anyString());
+    }
+
+    @Test
+    void correctContentStream_CacheMiss_ForwardsDeltasAndStoresResult() {
+        // Given
+        CorrectContentRequest request = new CorrectContentRequest();
+        request.setContent("ola mundo");
+        List<String> deltas = new ArrayList<>();
+        when(groqProvider.getProviderName()).thenReturn("Groq");
+        when(responseCache.find(any(), eq("ola mundo"))).thenReturn(Optional.empty());
+        when(providerRouter.stream(eq("ola mundo"), any())).thenAnswer(invocation -> {
+            Consumer<String> onDelta = invocation.getArgument(1);
+            onDelta.accept("Hola");
+            onDelta.accept(" mundo");
+            return CompletableFuture.completedFuture(new AICorrection("Hola mundo", groqProvider));
+        });
+
+        // When
+        CorrectContentResponse response = aiService.correctContentStream(request, deltas::add).join();
+
+        // Then
+        assertEquals(List.of("Hola", " mundo"), deltas);
+        assertEquals("Hola mundo", response.getCorrectedContent());
+        assertEquals("Contenido corregido por Groq", response.getMessage());
+        verify(responseCache).put(groqProvider, "ola mundo", "Hola mundo");
+    }
+
+    @Test
+    void correctContentStream_CacheHit_EmitsSingleDeltaWithoutCallingProvider() {
+        // Given
+        CorrectContentRequest request = new CorrectContentRequest();
+        request.setContent("ola mundo");
+        List<String> deltas = new ArrayList<>();
+        when(responseCache.find(any(), eq("ola mundo")))
+            .thenReturn(Optional.of(new AICorrection("Hola mundo", groqProvider)));
+
+        // When
+        CorrectContentResponse response = aiService.correctContentStream(request, deltas::add).join();
+
+        // Then
+        assertEquals(List.of("Hola mundo"), deltas);
+        assertEquals("Hola mundo", response.getCorrectedContent());
+        verify(providerRouter, never()).stream(anyString(), any());
+    }
+
+    @Test
+    void correctContentStream_ProviderFails_ReturnsOriginalContent() {
+        // Given
+        CorrectContentRequest request = new CorrectContentRequest();
+        request.setContent("ola mundo");
+        when(responseCache.find(any(), eq("ola mundo"))).thenReturn(Optional.empty());
+        when(providerRouter.stream(eq("ola mundo"), any()))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("API Error")));
+
+        // When
+        CorrectContentResponse response = aiService.correctContentStream(request, delta -> { }).join();
+
+        // Then
+        assertEquals("ola mundo", response.getCorrectedContent());
+        assertFalse(response.isHasChanges());
+        verify(responseCache, never()).put(any(), anyString(), anyString());
+    }
+
+    @Test
+    void correctContent_LongContent_CorrectsChunksInParallelAndKeepsOrder() {
+        // Given
+        enableChunking();
+        String content = "primer parrafo.\n\nsegundo parrafo.\n\ntercer parrafo.";
+        CorrectContentRequest request = new CorrectContentRequest();
+        request.setContent(content);
+        AIProvider openAIProvider = mock(AIProvider.class);
+        when(openAIProvider.getProviderName()).thenReturn("OpenAI");
+        when(groqProvider.getProviderName()).thenReturn("Groq");
+        CompletableFuture<AICorrection> slowFirstChunk = new CompletableFuture<>();
+        when(responseCache.find(any(), anyString())).thenReturn(Optional.empty());
+        when(responseCache.find(any(), eq("segundo parrafo.")))
+            .thenReturn(Optional.of(new AICorrection("Segundo párrafo.", openAIProvider)));
+        when(providerRouter.correctAsync("primer parrafo.")).thenReturn(slowFirstChunk);
+        when(providerRouter.correctAsync("tercer parrafo."))
+            .thenReturn(CompletableFuture.completedFuture(new AICorrection("Tercer párrafo.", groqProvider)));
+
+        // When
+        // El primer fragmento termina último: el resultado igual respeta el orden
+        CompletableFuture.runAsync(() -> slowFirstChunk.complete(new AICorrection("Primer párrafo.", groqProvider)));
+        CorrectContentResponse response = aiService.correctContent(request);
+
+        // Then
+        assertEquals("Primer párrafo.\n\nSegundo párrafo.\n\nTercer párrafo.", response.getCorrectedContent());
+        assertEquals("Contenido corregido por Groq, OpenAI", response.getMessage());
+        verify(providerRouter, never()).correctAsync("segundo parrafo.");
+        verify(providerRouter, never()).correct(anyString());
+        verify(responseCache).put(groqProvider, "tercer parrafo.", "Tercer párrafo.");
+    }
+
+    @Test
+    void correctContent_ChunkFails_ReturnsOriginalContent() {
+        // Given
+        enableChunking();
+        String content = "primer parrafo.\n\nsegundo parrafo.";
+        CorrectContentRequest request = new CorrectContentRequest();
+        request.setContent(content);
+        when(responseCache.find(any(), anyString())).thenReturn(Optional.empty());
+        when(providerRouter.correctAsync("primer parrafo."))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("API Error")));
+
+        // When
+        CorrectContentResponse response = aiService.correctContent(request);
+
+        // Then
+        assertEquals(content, response.getCorrectedContent());
+        assertFalse(response.isHasChanges());
+        // Tras el fallo, el fragmento pendiente ya no se envía al proveedor
+        verify(providerRouter, never()).correctAsync("segundo parrafo.");
+    }
+
+    private void enableChunking() {
+        ReflectionTestUtils.setField(aiService, "chunkingEnabled", true);
+        ReflectionTestUtils.setField(aiService, "chunkingThresholdChars", 20);
+        ReflectionTestUtils.setField(aiService, "maxChunkChars", 20);
+        ReflectionTestUtils.setField(aiService, "maxParallelChunks", 2);
+    }
+}
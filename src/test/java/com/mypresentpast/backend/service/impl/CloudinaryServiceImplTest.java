@@ -0,0 +1,146 @@
+package com.mypresentpast.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.mypresentpast.backend.service.ImageProcessingService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Prueba la subida por streaming contra un servidor HTTP local que simula la API de Cloudinary.
+ */
+class CloudinaryServiceImplTest {
+
+    private static final int CHUNK_SIZE = 5 * 1024 * 1024;
+
+    private HttpServer server;
+    private CloudinaryServiceImpl service;
+    private final List<String> contentRanges = new CopyOnWriteArrayList<>();
+    private final List<Integer> requestSizes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            contentRanges.add(String.valueOf(exchange.getRequestHeaders().getFirst("Content-Range")));
+            requestSizes.add(exchange.getRequestBody().readAllBytes().length);
+            respond(exchange, "{\"public_id\":\"mypresentpast/foto\",\"secure_url\":\"https://stub/foto.gif\"}");
+        });
+        server.start();
+
+        ImageProcessingService imageProcessingService = mock(ImageProcessingService.class);
+        // Sin versión procesada: se sube la original por streaming
+        when(imageProcessingService.process(any(), anyInt(), anyInt(), any())).thenReturn(Optional.empty());
+
+        service = new CloudinaryServiceImpl("demo", "key", "secret", imageProcessingService);
+        ReflectionTestUtils.setField(service, "cloudinary", new Cloudinary(ObjectUtils.asMap(
+            "cloud_name", "demo",
+            "api_key", "key",
+            "api_secret", "secret",
+            "upload_prefix", "http://127.0.0.1:" + server.getAddress().getPort()
+        )));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void upload_SmallFile_SendsSinglePartWithBufferOfFileSize() {
+        TrackingMultipartFile file = new TrackingMultipartFile(new byte[300 * 1024]);
+
+        Map<String, Object> result = service.upload(file);
+
+        assertEquals("mypresentpast/foto", result.get("public_id"));
+        assertEquals(1, contentRanges.size());
+        assertTrue(requestSizes.get(0) > 300 * 1024);
+        // El buffer pedido al stream no supera el tamaño del archivo
+        assertEquals(300 * 1024, file.largestRead.get());
+    }
+
+    @Test
+    void upload_FileLargerThanChunk_IsStreamedInParts() {
+        int size = CHUNK_SIZE + 1024;
+        TrackingMultipartFile file = new TrackingMultipartFile(new byte[size]);
+
+        service.upload(file);
+
+        assertEquals(List.of(
+            "bytes 0-" + (CHUNK_SIZE - 1) + "/-1",
+            "bytes " + CHUNK_SIZE + "-" + (size - 1) + "/" + size
+        ), contentRanges);
+        assertEquals(CHUNK_SIZE, file.largestRead.get());
+    }
+
+    @Test
+    void uploadChunkSize_IsBoundedByFileSizeAndChunk() {
+        assertEquals(1, CloudinaryServiceImpl.uploadChunkSize(0));
+        assertEquals(1024, CloudinaryServiceImpl.uploadChunkSize(1024));
+        assertEquals(CHUNK_SIZE, CloudinaryServiceImpl.uploadChunkSize(10L * 1024 * 1024));
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Multipart que registra el mayor bloque pedido en una lectura, es decir, el buffer de la subida.
+     */
+    private static class TrackingMultipartFile extends MockMultipartFile {
+
+        private final AtomicInteger largestRead = new AtomicInteger();
+
+        TrackingMultipartFile(byte[] content) {
+            super("image", "anim.gif", "image/gif", content);
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new FilterInputStream(new ByteArrayInputStream(getBytesUnchecked())) {
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    largestRead.accumulateAndGet(length, Math::max);
+                    return super.read(buffer, offset, length);
+                }
+            };
+        }
+
+        private byte[] getBytesUnchecked() {
+            try {
+                return getBytes();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
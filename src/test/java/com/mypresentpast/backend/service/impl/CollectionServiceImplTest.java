@@ -2,10 +2,13 @@ package com.mypresentpast.backend.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -13,7 +16,11 @@ import com.mypresentpast.backend.dto.request.CreateCollectionAndSavePostRequest;
 import com.mypresentpast.backend.dto.request.CreateCollectionRequest;
 import com.mypresentpast.backend.dto.request.UpdateCollectionRequest;
 import com.mypresentpast.backend.dto.response.ApiResponse;
+import com.mypresentpast.backend.dto.response.CollectionPostsBatchResponse;
+import com.mypresentpast.backend.dto.response.CollectionPostsBatchResponse.Outcome;
 import com.mypresentpast.backend.dto.response.CollectionSummaryResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
+import com.mypresentpast.backend.dto.response.LikeStatusResponse;
 import com.mypresentpast.backend.dto.response.PostCollectionStatusResponse;
 import com.mypresentpast.backend.dto.response.PostResponse;
 import com.mypresentpast.backend.enums.Category;
@@ -27,12 +34,22 @@ import com.mypresentpast.backend.model.User;
 import com.mypresentpast.backend.model.UserRole;
 import com.mypresentpast.backend.repository.CollectionPostRepository;
 import com.mypresentpast.backend.repository.CollectionRepository;
+import com.mypresentpast.backend.repository.MediaRepository;
 import com.mypresentpast.backend.repository.PostRepository;
 import com.mypresentpast.backend.repository.UserRepository;
+import com.mypresentpast.backend.repository.projection.CollectionPostView;
+import com.mypresentpast.backend.repository.projection.MediaView;
+import com.mypresentpast.backend.repository.projection.PostStatusView;
+import com.mypresentpast.backend.service.LikeService;
+import com.mypresentpast.backend.service.SavedPostIndexService;
+import com.mypresentpast.backend.utils.PageCursor;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,6 +59,8 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class CollectionServiceImplTest {
@@ -58,6 +77,18 @@ class CollectionServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private MediaRepository mediaRepository;
+
+    @Mock
+    private LikeService likeService;
+
+    @Mock
+    private SavedPostIndexService savedPostIndexService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private CollectionServiceImpl collectionService;
 
@@ -287,11 +318,20 @@ class CollectionServiceImplTest {
     }
 
     @Test
-    void getCollectionPosts_ShouldReturnPosts() {
+    void getCollectionPosts_ShouldReturnPostsWithMediaAndLikes() {
         // Given
         Long userId = 1L;
         Long collectionId = 1L;
-        List<CollectionPost> collectionPosts = List.of(testCollectionPost);
+        CollectionPostView row = Mockito.mock(CollectionPostView.class);
+        when(row.getPostId()).thenReturn(1L);
+        when(row.getTitle()).thenReturn("Test Post");
+        when(row.getAuthorId()).thenReturn(1L);
+        when(row.getAuthorName()).thenReturn("testuser");
+        when(row.getLocationId()).thenReturn(null);
+        MediaView media = Mockito.mock(MediaView.class);
+        when(media.getPostId()).thenReturn(1L);
+        when(media.getId()).thenReturn(7L);
+        when(media.getUrl()).thenReturn("https://example.com/7.jpg");
 
         try (MockedStatic<com.mypresentpast.backend.utils.SecurityUtils> mockedSecurity = 
              Mockito.mockStatic(com.mypresentpast.backend.utils.SecurityUtils.class)) {
@@ -301,15 +341,28 @@ class CollectionServiceImplTest {
             
             when(collectionRepository.findByIdAndAuthorId(collectionId, userId))
                 .thenReturn(Optional.of(testCollection));
-            when(collectionPostRepository.findByCollectionIdOrderByAddedAtDesc(collectionId))
-                .thenReturn(collectionPosts);
+            when(collectionPostRepository.findPageByCollectionId(
+                    collectionId, PageCursor.FIRST_PAGE_DATE_TIME, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 21)))
+                .thenReturn(List.of(row));
+            when(mediaRepository.findViewsByPostIds(List.of(1L))).thenReturn(List.of(media));
+            when(likeService.getLikeStatuses(List.of(1L), userId)).thenReturn(Map.of(1L,
+                LikeStatusResponse.builder().totalLikes(4L).isLiked(true).build()));
 
             // When
-            List<PostResponse> result = collectionService.getCollectionPosts(collectionId);
+            CursorPageResponse<PostResponse> result = collectionService.getCollectionPosts(collectionId, null, null);
 
             // Then
             assertNotNull(result);
-            assertEquals(1, result.size());
+            assertEquals(1, result.getContent().size());
+            assertNull(result.getNextCursor());
+            PostResponse post = result.getContent().get(0);
+            assertEquals("Test Post", post.getTitle());
+            assertEquals("testuser", post.getAuthor().getName());
+            assertNull(post.getLocation());
+            assertEquals(1, post.getMedia().size());
+            assertEquals(7L, post.getMedia().get(0).getId());
+            assertEquals(4L, post.getTotalLikes());
+            assertEquals(true, post.getIsLiked());
         }
     }
 
@@ -341,6 +394,7 @@ class CollectionServiceImplTest {
             assertNotNull(result);
             assertEquals("Post agregado a la colección", result.getMessage());
             verify(collectionPostRepository).save(any(CollectionPost.class));
+            verify(savedPostIndexService).invalidate(userId);
         }
     }
 
@@ -465,7 +519,8 @@ class CollectionServiceImplTest {
         // Given
         Long userId = 1L;
         Long postId = 1L;
-        List<CollectionPost> collectionPosts = List.of(testCollectionPost);
+        List<PostCollectionStatusResponse.CollectionInfo> collections = List.of(
+            PostCollectionStatusResponse.CollectionInfo.builder().collectionId(1L).collectionName("Test Collection").build());
 
         try (MockedStatic<com.mypresentpast.backend.utils.SecurityUtils> mockedSecurity = 
              Mockito.mockStatic(com.mypresentpast.backend.utils.SecurityUtils.class)) {
@@ -473,9 +528,9 @@ class CollectionServiceImplTest {
             mockedSecurity.when(com.mypresentpast.backend.utils.SecurityUtils::getCurrentUserId)
                          .thenReturn(userId);
             
-            when(postRepository.findById(postId)).thenReturn(Optional.of(testPost));
-            when(collectionPostRepository.findByPostIdAndCollectionAuthorId(postId, userId))
-                .thenReturn(collectionPosts);
+            when(postRepository.findStatusById(postId)).thenReturn(Optional.of(PostStatus.ACTIVE));
+            when(savedPostIndexService.getCollectionsContaining(userId, List.of(postId)))
+                .thenReturn(Map.of(postId, collections));
 
             // When
             PostCollectionStatusResponse result = collectionService.getPostCollectionStatus(postId);
@@ -487,4 +542,170 @@ class CollectionServiceImplTest {
             assertEquals("Test Collection", result.getCollectionsContaining().get(0).getCollectionName());
         }
     }
+
+    @Test
+    void getPostCollectionStatuses_ShouldAnswerEveryPostFromIndex() {
+        // Given
+        Long userId = 1L;
+        List<PostCollectionStatusResponse.CollectionInfo> collections = List.of(
+            PostCollectionStatusResponse.CollectionInfo.builder().collectionId(1L).collectionName("Test Collection").build());
+
+        try (MockedStatic<com.mypresentpast.backend.utils.SecurityUtils> mockedSecurity = 
+             Mockito.mockStatic(com.mypresentpast.backend.utils.SecurityUtils.class)) {
+            
+            mockedSecurity.when(com.mypresentpast.backend.utils.SecurityUtils::getCurrentUserId)
+                         .thenReturn(userId);
+            Map<Long, List<PostCollectionStatusResponse.CollectionInfo>> indexed = new LinkedHashMap<>();
+            indexed.put(3L, collections);
+            indexed.put(5L, List.of());
+            when(savedPostIndexService.getCollectionsContaining(userId, new LinkedHashSet<>(List.of(3L, 5L))))
+                .thenReturn(indexed);
+
+            // When
+            List<PostCollectionStatusResponse> result = collectionService.getPostCollectionStatuses(List.of(3L, 5L, 3L));
+
+            // Then
+            assertEquals(2, result.size());
+            assertEquals(3L, result.get(0).getPostId());
+            assertEquals(1, result.get(0).getCollectionsContaining().size());
+            assertEquals(5L, result.get(1).getPostId());
+            assertEquals(0, result.get(1).getCollectionsContaining().size());
+            Mockito.verifyNoInteractions(postRepository);
+        }
+    }
+
+    @Test
+    void addPostsToCollection_ShouldReportOutcomePerPost() {
+        // Given
+        Long userId = 1L;
+        Long collectionId = 1L;
+        // 1 activo, 2 eliminado, 3 ya guardado, 4 y 5 activos pero solo queda un lugar, 9 no existe
+        List<Long> postIds = List.of(1L, 2L, 3L, 4L, 5L, 9L, 1L);
+
+        try (MockedStatic<com.mypresentpast.backend.utils.SecurityUtils> mockedSecurity = 
+             Mockito.mockStatic(com.mypresentpast.backend.utils.SecurityUtils.class)) {
+            
+            mockedSecurity.when(com.mypresentpast.backend.utils.SecurityUtils::getCurrentUserId)
+                         .thenReturn(userId);
+            
+            when(collectionRepository.findByIdAndAuthorId(collectionId, userId))
+                .thenReturn(Optional.of(testCollection));
+            when(postRepository.findStatusesByIds(any())).thenReturn(List.of(
+                statusView(1L, PostStatus.ACTIVE), statusView(2L, PostStatus.DELETED),
+                statusView(3L, PostStatus.ACTIVE), statusView(4L, PostStatus.ACTIVE),
+                statusView(5L, PostStatus.ACTIVE)));
+            when(collectionPostRepository.findPostIdsInCollection(eq(collectionId), any())).thenReturn(List.of(3L));
+            when(collectionPostRepository.countByCollectionId(collectionId)).thenReturn(18L);
+
+            // When
+            CollectionPostsBatchResponse result = collectionService.addPostsToCollection(collectionId, postIds);
+
+            // Then
+            assertEquals(2, result.getSucceeded());
+            assertEquals(List.of(Outcome.ADDED, Outcome.POST_NOT_AVAILABLE, Outcome.ALREADY_IN_COLLECTION,
+                    Outcome.ADDED, Outcome.COLLECTION_FULL, Outcome.POST_NOT_FOUND),
+                result.getResults().stream().map(CollectionPostsBatchResponse.ItemResult::getOutcome).toList());
+            verify(jdbcTemplate).batchUpdate(anyString(), Mockito.<List<Object[]>>argThat(rows ->
+                rows.size() == 2 && rows.get(0)[1].equals(1L) && rows.get(1)[1].equals(4L)));
+            verify(collectionPostRepository, never()).save(any(CollectionPost.class));
+            verify(savedPostIndexService).invalidate(userId);
+        }
+    }
+
+    @Test
+    void removePostsFromCollection_ShouldDeleteOnlyPresentPosts() {
+        // Given
+        Long userId = 1L;
+        Long collectionId = 1L;
+
+        try (MockedStatic<com.mypresentpast.backend.utils.SecurityUtils> mockedSecurity = 
+             Mockito.mockStatic(com.mypresentpast.backend.utils.SecurityUtils.class)) {
+            
+            mockedSecurity.when(com.mypresentpast.backend.utils.SecurityUtils::getCurrentUserId)
+                         .thenReturn(userId);
+            
+            when(collectionRepository.findByIdAndAuthorId(collectionId, userId))
+                .thenReturn(Optional.of(testCollection));
+            when(collectionPostRepository.findPostIdsInCollection(eq(collectionId), any())).thenReturn(List.of(2L));
+
+            // When
+            CollectionPostsBatchResponse result = collectionService.removePostsFromCollection(collectionId, List.of(1L, 2L));
+
+            // Then
+            assertEquals(1, result.getSucceeded());
+            assertEquals(Outcome.NOT_IN_COLLECTION, result.getResults().get(0).getOutcome());
+            assertEquals(Outcome.REMOVED, result.getResults().get(1).getOutcome());
+            verify(collectionPostRepository).deleteByCollectionIdAndPostIds(collectionId, List.of(2L));
+            verify(savedPostIndexService).invalidate(userId);
+        }
+    }
+
+    @Test
+    void movePostsBetweenCollections_ShouldInsertMissingAndRemoveFromSource() {
+        // Given
+        Long userId = 1L;
+        Long sourceId = 1L;
+        Long targetId = 2L;
+        Collection target = new Collection();
+        target.setId(targetId);
+        target.setAuthor(testUser);
+
+        try (MockedStatic<com.mypresentpast.backend.utils.SecurityUtils> mockedSecurity = 
+             Mockito.mockStatic(com.mypresentpast.backend.utils.SecurityUtils.class)) {
+            
+            mockedSecurity.when(com.mypresentpast.backend.utils.SecurityUtils::getCurrentUserId)
+                         .thenReturn(userId);
+            
+            when(collectionRepository.findByIdAndAuthorId(sourceId, userId)).thenReturn(Optional.of(testCollection));
+            when(collectionRepository.findByIdAndAuthorId(targetId, userId)).thenReturn(Optional.of(target));
+            // 1 y 2 están en el origen; 2 ya estaba también en el destino; 3 no está en el origen
+            when(collectionPostRepository.findPostIdsInCollection(eq(sourceId), any())).thenReturn(List.of(1L, 2L));
+            when(collectionPostRepository.findPostIdsInCollection(eq(targetId), any())).thenReturn(List.of(2L));
+            when(postRepository.findStatusesByIds(any())).thenReturn(List.of(
+                statusView(1L, PostStatus.ACTIVE), statusView(2L, PostStatus.ACTIVE)));
+            when(collectionPostRepository.countByCollectionId(targetId)).thenReturn(1L);
+
+            // When
+            CollectionPostsBatchResponse result = collectionService.movePostsBetweenCollections(
+                sourceId, targetId, List.of(1L, 2L, 3L));
+
+            // Then
+            assertEquals(targetId, result.getCollectionId());
+            assertEquals(2, result.getSucceeded());
+            assertEquals(Outcome.NOT_IN_COLLECTION, result.getResults().get(2).getOutcome());
+            verify(jdbcTemplate).batchUpdate(anyString(), Mockito.<List<Object[]>>argThat(rows ->
+                rows.size() == 1 && rows.get(0)[0].equals(targetId) && rows.get(0)[1].equals(1L)));
+            verify(collectionPostRepository).deleteByCollectionIdAndPostIds(sourceId, List.of(1L, 2L));
+            verify(savedPostIndexService).invalidate(userId);
+        }
+    }
+
+    @Test
+    void movePostsBetweenCollections_ShouldRejectSameCollection() {
+        try (MockedStatic<com.mypresentpast.backend.utils.SecurityUtils> mockedSecurity = 
+             Mockito.mockStatic(com.mypresentpast.backend.utils.SecurityUtils.class)) {
+            
+            mockedSecurity.when(com.mypresentpast.backend.utils.SecurityUtils::getCurrentUserId)
+                         .thenReturn(1L);
+
+            // When & Then
+            assertThrows(BadRequestException.class,
+                () -> collectionService.movePostsBetweenCollections(1L, 1L, List.of(1L)));
+            Mockito.verifyNoInteractions(collectionPostRepository, jdbcTemplate);
+        }
+    }
+
+    private static PostStatusView statusView(Long id, PostStatus status) {
+        return new PostStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public PostStatus getStatus() {
+                return status;
+            }
+        };
+    }
 }
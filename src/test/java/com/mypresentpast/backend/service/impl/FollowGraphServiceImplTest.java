@@ -0,0 +1,99 @@
+package com.mypresentpast.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mypresentpast.backend.repository.FollowRepository;
+import com.mypresentpast.backend.repository.projection.FollowEdgeView;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FollowGraphServiceImplTest {
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @InjectMocks
+    private FollowGraphServiceImpl followGraphService;
+
+    @Test
+    void reload_AnswersFromMemoryWithoutDatabase() {
+        // Given
+        when(followRepository.streamAllEdges()).thenReturn(Stream.of(edge(1L, 3L), edge(2L, 3L), edge(1L, 2L)));
+
+        // When
+        followGraphService.reload();
+
+        // Then
+        assertTrue(followGraphService.isFollowing(1L, 3L));
+        assertFalse(followGraphService.isFollowing(3L, 1L));
+        assertEquals(2, followGraphService.countFollowers(3L));
+        assertEquals(2, followGraphService.countFollowing(1L));
+        assertEquals(0, followGraphService.countFollowers(1L));
+        assertArrayEquals(new long[] {1L, 2L}, followGraphService.getFollowerIds(3L));
+        verify(followRepository, never()).existsByFollowerIdAndFolloweeId(anyLong(), anyLong());
+        verify(followRepository, never()).countByFolloweeId(anyLong());
+    }
+
+    @Test
+    void followAddedAndRemoved_UpdateBothDirections() {
+        // Given
+        when(followRepository.streamAllEdges()).thenReturn(Stream.of(edge(5L, 9L)));
+        followGraphService.reload();
+
+        // When
+        followGraphService.followAdded(1L, 9L);
+        followGraphService.followRemoved(5L, 9L);
+
+        // Then
+        assertArrayEquals(new long[] {1L}, followGraphService.getFollowerIds(9L));
+        assertArrayEquals(new long[] {9L}, followGraphService.getFollowingIds(1L));
+        assertEquals(0, followGraphService.countFollowing(5L));
+    }
+
+    @Test
+    void beforeLoad_DelegatesToDatabase() {
+        // Given
+        when(followRepository.existsByFollowerIdAndFolloweeId(1L, 2L)).thenReturn(true);
+        when(followRepository.countByFolloweeId(2L)).thenReturn(7L);
+
+        // Then
+        assertTrue(followGraphService.isFollowing(1L, 2L));
+        assertEquals(7, followGraphService.countFollowers(2L));
+    }
+
+    @Test
+    void insertAndRemove_KeepArraySortedWithoutDuplicates() {
+        long[] ids = FollowGraphServiceImpl.insert(new long[] {2L, 8L}, 5L);
+        assertArrayEquals(new long[] {2L, 5L, 8L}, ids);
+        assertArrayEquals(ids, FollowGraphServiceImpl.insert(ids, 5L));
+
+        assertArrayEquals(new long[] {2L, 8L}, FollowGraphServiceImpl.remove(ids, 5L));
+        assertArrayEquals(ids, FollowGraphServiceImpl.remove(ids, 7L));
+    }
+
+    private FollowEdgeView edge(Long followerId, Long followeeId) {
+        return new FollowEdgeView() {
+            @Override
+            public Long getFollowerId() {
+                return followerId;
+            }
+
+            @Override
+            public Long getFolloweeId() {
+                return followeeId;
+            }
+        };
+    }
+}
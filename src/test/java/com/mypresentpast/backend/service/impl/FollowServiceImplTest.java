@@ -1,13 +1,17 @@
 package com.mypresentpast.backend.service.impl;
 
 import com.mypresentpast.backend.dto.UserDto;
-import com.mypresentpast.backend.model.User;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
+import com.mypresentpast.backend.model.UserRole;
 import com.mypresentpast.backend.repository.FollowRepository;
+import com.mypresentpast.backend.repository.projection.FollowUserView;
+import com.mypresentpast.backend.utils.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 
@@ -28,90 +32,127 @@ class FollowServiceImplTest {
     void getFollowingByUserId_validUserId_returnsMappedList() {
         Long userId = 42L;
 
-        User user1 = new User();
-        user1.setId(1L);
-        user1.setProfileUsername("alice");
+        List<FollowUserView> repoResult = List.of(view(500L, 1L, "alice"), view(400L, 2L, "bob"));
+        when(followRepository.findFollowingByUserId(userId, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 21)))
+            .thenReturn(repoResult);
 
-        User user2 = new User();
-        user2.setId(2L);
-        user2.setProfileUsername("bob");
-
-        List<User> repoResult = List.of(user1, user2);
-        when(followRepository.findFollowingByUserId(userId)).thenReturn(repoResult);
-
-        List<UserDto> result = followService.getFollowingByUserId(userId);
+        CursorPageResponse<UserDto> result = followService.getFollowingByUserId(userId, null, null);
 
         // Assertions con JUnit
         assertNotNull(result);
-        assertEquals(2, result.size());
+        assertEquals(2, result.getSize());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextCursor());
 
-        UserDto dto1 = result.get(0);
+        UserDto dto1 = result.getContent().get(0);
         assertEquals(1L, dto1.getId());
         assertEquals("alice", dto1.getName());
 
-        UserDto dto2 = result.get(1);
+        UserDto dto2 = result.getContent().get(1);
         assertEquals(2L, dto2.getId());
         assertEquals("bob", dto2.getName());
 
         // Verificación del repo
-        verify(followRepository).findFollowingByUserId(userId);
+        verify(followRepository).findFollowingByUserId(userId, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 21));
     }
 
 
     @Test
     void getFollowingByUserId_userWithoutFollowing_returnsEmptyList() {
         Long userId = 99L;
-        when(followRepository.findFollowingByUserId(userId)).thenReturn(List.of());
+        when(followRepository.findFollowingByUserId(userId, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 21)))
+            .thenReturn(List.of());
 
-        List<UserDto> result = followService.getFollowingByUserId(userId);
+        CursorPageResponse<UserDto> result = followService.getFollowingByUserId(userId, null, null);
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.isHasMore());
 
-        verify(followRepository).findFollowingByUserId(userId);
+        verify(followRepository).findFollowingByUserId(userId, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 21));
     }
 
     @Test
     void getFollowersByUserId_validUserId_returnsMappedList() {
         Long userId = 7L;
 
-        User u1 = new User();
-        u1.setId(10L);
-        u1.setProfileUsername("carol");
-
-        User u2 = new User();
-        u2.setId(11L);
-        u2.setProfileUsername("dave");
-
-        when(followRepository.findFollowersByUserId(userId)).thenReturn(List.of(u1, u2));
+        when(followRepository.findFollowersByUserId(userId, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 21)))
+            .thenReturn(List.of(view(90L, 10L, "carol"), view(80L, 11L, "dave")));
 
-        List<UserDto> result = followService.getFollowersByUserId(userId);
+        CursorPageResponse<UserDto> result = followService.getFollowersByUserId(userId, null, null);
 
         assertNotNull(result);
-        assertEquals(2, result.size());
+        assertEquals(2, result.getContent().size());
 
-        UserDto dto1 = result.get(0);
+        UserDto dto1 = result.getContent().get(0);
         assertEquals(10L, dto1.getId());
         assertEquals("carol", dto1.getName());
 
-        UserDto dto2 = result.get(1);
+        UserDto dto2 = result.getContent().get(1);
         assertEquals(11L, dto2.getId());
         assertEquals("dave", dto2.getName());
 
-        verify(followRepository).findFollowersByUserId(userId);
+        verify(followRepository).findFollowersByUserId(userId, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 21));
     }
 
     @Test
     void getFollowersByUserId_userWithoutFollowers_returnsEmptyList() {
         Long userId = 123L;
-        when(followRepository.findFollowersByUserId(userId)).thenReturn(List.of());
+        when(followRepository.findFollowersByUserId(userId, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 21)))
+            .thenReturn(List.of());
 
-        List<UserDto> result = followService.getFollowersByUserId(userId);
+        CursorPageResponse<UserDto> result = followService.getFollowersByUserId(userId, null, null);
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertTrue(result.getContent().isEmpty());
+
+        verify(followRepository).findFollowersByUserId(userId, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 21));
+    }
+
+    @Test
+    void getFollowersByUserId_morePages_returnsCursorOfLastFollow() {
+        Long userId = 7L;
+        String cursor = PageCursor.encode(100L);
+
+        // Se piden size + 1 filas; la extra solo indica que hay otra página
+        when(followRepository.findFollowersByUserId(userId, 100L, PageRequest.of(0, 3)))
+            .thenReturn(List.of(view(90L, 10L, "carol"), view(80L, 11L, "dave"), view(70L, 12L, "erin")));
+
+        CursorPageResponse<UserDto> result = followService.getFollowersByUserId(userId, cursor, 2);
+
+        assertEquals(2, result.getSize());
+        assertTrue(result.isHasMore());
+        assertEquals(PageCursor.encode(80L), result.getNextCursor());
+        assertEquals(List.of(10L, 11L), result.getContent().stream().map(UserDto::getId).toList());
+    }
 
-        verify(followRepository).findFollowersByUserId(userId);
+    private static FollowUserView view(Long followId, Long id, String username) {
+        return new FollowUserView() {
+            @Override
+            public Long getFollowId() {
+                return followId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getProfileUsername() {
+                return username;
+            }
+
+            @Override
+            public UserRole getRole() {
+                return UserRole.NORMAL;
+            }
+
+            @Override
+            public String getAvatar() {
+                return null;
+            }
+        };
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package com.mypresentpast.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mypresentpast.backend.utils.ImageResizer;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+class ImageProcessingServiceImplTest {
+
+    private final Executor directExecutor = Runnable::run;
+
+    @Test
+    void process_LargeJpeg_ReturnsResizedImage() throws IOException {
+        ImageProcessingServiceImpl service = new ImageProcessingServiceImpl(directExecutor, true, 0.8f, 5);
+        MockMultipartFile file = new MockMultipartFile("image", "foto.jpg", "image/jpeg", image(2400, 1800, "jpg"));
+
+        ImageResizer.ResizedImage result = service.process(file, 1200, 800, ImageResizer.Mode.FIT).orElseThrow();
+
+        assertEquals(1067, result.getWidth());
+        assertEquals(800, result.getHeight());
+    }
+
+    @Test
+    void process_Gif_IsUploadedAsIs() throws IOException {
+        ImageProcessingServiceImpl service = new ImageProcessingServiceImpl(directExecutor, true, 0.8f, 5);
+        MockMultipartFile file = new MockMultipartFile("image", "anim.gif", "image/gif", image(2400, 1800, "gif"));
+
+        assertTrue(service.process(file, 1200, 800, ImageResizer.Mode.FIT).isEmpty());
+    }
+
+    @Test
+    void process_CorruptImage_FallsBackToOriginal() {
+        ImageProcessingServiceImpl service = new ImageProcessingServiceImpl(directExecutor, true, 0.8f, 5);
+        MockMultipartFile file = new MockMultipartFile("image", "rota.jpg", "image/jpeg", new byte[] {(byte) 0xFF, (byte) 0xD8, 1, 2});
+
+        assertTrue(service.process(file, 1200, 800, ImageResizer.Mode.FIT).isEmpty());
+    }
+
+    @Test
+    void process_Disabled_ReturnsEmpty() throws IOException {
+        ImageProcessingServiceImpl service = new ImageProcessingServiceImpl(directExecutor, false, 0.8f, 5);
+        MockMultipartFile file = new MockMultipartFile("image", "foto.jpg", "image/jpeg", image(2400, 1800, "jpg"));
+
+        assertTrue(service.process(file, 1200, 800, ImageResizer.Mode.FIT).isEmpty());
+    }
+
+    private static byte[] image(int width, int height, String format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, output);
+        return output.toByteArray();
+    }
+}
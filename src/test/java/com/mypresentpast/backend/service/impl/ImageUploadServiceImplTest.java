@@ -0,0 +1,102 @@
+package com.mypresentpast.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mypresentpast.backend.service.CloudinaryService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.multipart.MultipartFile;
+
+@ExtendWith(MockitoExtension.class)
+class ImageUploadServiceImplTest {
+
+    @Mock
+    private CloudinaryService cloudinaryService;
+
+    @Mock
+    private MultipartFile first;
+
+    @Mock
+    private MultipartFile second;
+
+    private ExecutorService executor;
+    private ImageUploadServiceImpl imageUploadService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        imageUploadService = new ImageUploadServiceImpl(cloudinaryService, executor, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void uploadAll_KeepsImageOrder() {
+        when(cloudinaryService.upload(first)).thenReturn(Map.of("public_id", "a"));
+        when(cloudinaryService.upload(second)).thenReturn(Map.of("public_id", "b"));
+
+        List<Map<String, Object>> results = imageUploadService.uploadAll(List.of(first, second));
+
+        assertEquals(2, results.size());
+        assertEquals("a", results.get(0).get("public_id"));
+        assertEquals("b", results.get(1).get("public_id"));
+        verify(cloudinaryService, never()).delete(anyString());
+    }
+
+    @Test
+    void uploadAll_PartialFailure_DeletesUploadedImages() {
+        when(cloudinaryService.upload(first)).thenReturn(Map.of("public_id", "a"));
+        when(cloudinaryService.upload(second)).thenThrow(new RuntimeException("sin conexión"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> imageUploadService.uploadAll(List.of(first, second)));
+
+        assertTrue(exception.getMessage().contains("sin conexión"));
+        verify(cloudinaryService).delete("a");
+    }
+
+    @Test
+    void uploadAll_LateUploadOnSingleThreadPool_IsDeletedWithoutWaitingOnThePool() {
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try {
+            ImageUploadServiceImpl service = new ImageUploadServiceImpl(cloudinaryService, singleThread, 1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(cloudinaryService.upload(first)).thenAnswer(invocation -> {
+                release.await();
+                return Map.of("public_id", "tarde");
+            });
+
+            assertThrows(RuntimeException.class, () -> service.uploadAll(List.of(first)));
+            release.countDown();
+
+            // La compensación no encola trabajo en el único hilo ocupado ni espera el vencimiento
+            verify(cloudinaryService, timeout(500)).delete("tarde");
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test
+    void uploadAll_NoImages_ReturnsEmptyList() {
+        assertTrue(imageUploadService.uploadAll(null).isEmpty());
+    }
+}
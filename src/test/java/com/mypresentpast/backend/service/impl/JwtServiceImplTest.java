@@ -0,0 +1,109 @@
+package com.mypresentpast.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mypresentpast.backend.model.User;
+import com.mypresentpast.backend.model.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import java.util.Base64;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JwtServiceImplTest {
+
+    private static final String SECRET = Base64.getEncoder()
+        .encodeToString("clave-de-prueba-de-al-menos-32-bytes!!".getBytes());
+
+    private JwtServiceImpl jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = createService(86400000L);
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("test@example.com");
+        user.setName("Test");
+        user.setLastName("User");
+        user.setProfileUsername("testuser");
+        user.setRole(UserRole.NORMAL);
+    }
+
+    private JwtServiceImpl createService(long expirationMs) {
+        JwtServiceImpl service = new JwtServiceImpl();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "expirationTimeMs", expirationMs);
+        ReflectionTestUtils.setField(service, "claimsCacheMaxSize", 100);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void validateToken_ReturnsClaims() {
+        String token = jwtService.getToken(user);
+
+        Claims claims = jwtService.validateToken(token);
+
+        assertEquals("test@example.com", claims.getSubject());
+        assertEquals(1, claims.get("uid", Integer.class));
+        assertEquals("testuser", claims.get("profileUsername"));
+    }
+
+    @Test
+    void validateToken_SameToken_ReusesCachedClaims() {
+        String token = jwtService.getToken(user);
+
+        Claims first = jwtService.validateToken(token);
+        Claims second = jwtService.validateToken(token);
+
+        assertSame(first, second);
+        assertEquals("test@example.com", jwtService.getUsernameFromToken(token));
+        assertTrue(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    void getUserFromClaims_BuildsPrincipalWithoutLookup() {
+        user.setTokenVersion(3);
+        String token = jwtService.getToken(user);
+
+        User principal = jwtService.getUserFromClaims(jwtService.validateToken(token));
+
+        assertEquals(1L, principal.getId());
+        assertEquals("test@example.com", principal.getUsername());
+        assertEquals(UserRole.NORMAL, principal.getRole());
+        assertEquals("testuser", principal.getProfileUsername());
+        assertEquals(3, principal.getTokenVersion());
+    }
+
+    @Test
+    void validateToken_TamperedToken_Throws() {
+        String token = jwtService.getToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.validateToken(tampered));
+    }
+
+    @Test
+    void validateToken_ExpiredToken_Throws() {
+        String token = createService(-1000L).getToken(user);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.validateToken(token));
+    }
+
+    @Test
+    void isTokenValid_OtherUser_ReturnsFalse() {
+        String token = jwtService.getToken(user);
+        User other = new User();
+        other.setEmail("otro@example.com");
+
+        assertFalse(jwtService.isTokenValid(token, other));
+    }
+}
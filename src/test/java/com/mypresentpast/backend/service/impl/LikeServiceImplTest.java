@@ -6,9 +6,13 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.lenient;
 
 import com.mypresentpast.backend.dto.response.LikeStatusResponse;
 import com.mypresentpast.backend.dto.response.LikeToggleResponse;
@@ -20,8 +24,14 @@ import com.mypresentpast.backend.model.UserRole;
 import com.mypresentpast.backend.repository.PostLikeRepository;
 import com.mypresentpast.backend.repository.PostRepository;
 import com.mypresentpast.backend.repository.UserRepository;
+import com.mypresentpast.backend.service.impl.LikeWriteBuffer.LikeSnapshot;
 import com.mypresentpast.backend.utils.SecurityUtils;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -42,6 +52,9 @@ class LikeServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private LikeWriteBuffer likeWriteBuffer;
+
     @InjectMocks
     private LikeServiceImpl likeService;
 
@@ -51,6 +64,10 @@ class LikeServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // El buffer real solo agrega un lock alrededor de la lectura
+        lenient().when(likeWriteBuffer.readConsistently(any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+
         testUser = new User();
         testUser.setId(1L);
         testUser.setProfileUsername("testuser");
@@ -80,7 +97,7 @@ class LikeServiceImplTest {
             when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
             when(postLikeRepository.findByUserIdAndPostId(userId, postId)).thenReturn(Optional.empty());
             when(postLikeRepository.save(any(PostLike.class))).thenReturn(testPostLike);
-            when(postLikeRepository.countByPostId(postId)).thenReturn(1L);
+            when(postRepository.findLikeCountById(postId)).thenReturn(1L);
 
             // When
             LikeToggleResponse response = likeService.toggleLike(postId);
@@ -92,6 +109,7 @@ class LikeServiceImplTest {
             assertEquals(1L, response.getTotalLikes());
 
             verify(postLikeRepository).save(any(PostLike.class));
+            verify(postRepository).incrementLikeCount(postId);
         }
     }
 
@@ -107,7 +125,7 @@ class LikeServiceImplTest {
             when(postRepository.findById(postId)).thenReturn(Optional.of(testPost));
             when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
             when(postLikeRepository.findByUserIdAndPostId(userId, postId)).thenReturn(Optional.of(testPostLike));
-            when(postLikeRepository.countByPostId(postId)).thenReturn(0L);
+            when(postRepository.findLikeCountById(postId)).thenReturn(0L);
 
             // When
             LikeToggleResponse response = likeService.toggleLike(postId);
@@ -119,6 +137,7 @@ class LikeServiceImplTest {
             assertEquals(0L, response.getTotalLikes());
 
             verify(postLikeRepository).delete(testPostLike);
+            verify(postRepository).decrementLikeCount(postId);
         }
     }
 
@@ -142,6 +161,35 @@ class LikeServiceImplTest {
         }
     }
 
+    @Test
+    void toggleLike_WriteBehind_BuffersWithoutWriting() {
+        // Given
+        Long postId = 1L;
+        Long userId = 1L;
+
+        try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
+            mockedSecurityUtils.when(SecurityUtils::getCurrentUserId).thenReturn(userId);
+            when(likeWriteBuffer.isEnabled()).thenReturn(true);
+            List<Object[]> stats = Collections.singletonList(new Object[]{postId, 4L, 0L});
+            when(postLikeRepository.findLikeStatsByPostIds(List.of(postId), userId)).thenReturn(stats);
+            // El buffer evalúa la consulta bajo su lock y suma el like pendiente
+            when(likeWriteBuffer.toggle(eq(userId), eq(postId), any())).thenAnswer(invocation -> {
+                LikeSnapshot stored = invocation.<Supplier<LikeSnapshot>>getArgument(2).get();
+                return new LikeSnapshot(!stored.liked(), stored.totalLikes() + 1);
+            });
+
+            // When
+            LikeToggleResponse response = likeService.toggleLike(postId);
+
+            // Then
+            assertTrue(response.getIsLiked());
+            assertEquals(5L, response.getTotalLikes());
+            verify(postLikeRepository, never()).save(any(PostLike.class));
+            verify(postRepository, never()).incrementLikeCount(any());
+            verifyNoInteractions(userRepository);
+        }
+    }
+
     @Test
     void getLikeStatus_Success() {
         // Given
@@ -151,9 +199,8 @@ class LikeServiceImplTest {
         try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
             mockedSecurityUtils.when(SecurityUtils::getCurrentUserId).thenReturn(userId);
 
-            when(postRepository.existsById(postId)).thenReturn(true);
+            when(postRepository.findLikeCountById(postId)).thenReturn(5L);
             when(postLikeRepository.existsByUserIdAndPostId(userId, postId)).thenReturn(true);
-            when(postLikeRepository.countByPostId(postId)).thenReturn(5L);
 
             // When
             LikeStatusResponse response = likeService.getLikeStatus(postId);
@@ -170,7 +217,7 @@ class LikeServiceImplTest {
         // Given
         Long postId = 999L;
 
-        when(postRepository.existsById(postId)).thenReturn(false);
+        when(postRepository.findLikeCountById(postId)).thenReturn(null);
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
@@ -185,7 +232,7 @@ class LikeServiceImplTest {
     void getTotalLikes_Success() {
         // Given
         Long postId = 1L;
-        when(postLikeRepository.countByPostId(postId)).thenReturn(10L);
+        when(postRepository.findLikeCountById(postId)).thenReturn(10L);
 
         // When
         Long totalLikes = likeService.getTotalLikes(postId);
@@ -227,4 +274,56 @@ class LikeServiceImplTest {
             assertFalse(isLiked);
         }
     }
+
+    @Test
+    void getLikeStatuses_ReturnsStatusForEveryPost() {
+        // Given
+        List<Long> postIds = List.of(1L, 2L, 3L);
+        List<Object[]> rows = List.of(
+            new Object[]{1L, 5L, 1L},
+            new Object[]{2L, 2L, 0L}
+        );
+        when(postLikeRepository.findLikeStatsByPostIds(postIds, 1L)).thenReturn(rows);
+
+        // When
+        Map<Long, LikeStatusResponse> statuses = likeService.getLikeStatuses(postIds, 1L);
+
+        // Then
+        assertEquals(3, statuses.size());
+        assertTrue(statuses.get(1L).getIsLiked());
+        assertEquals(5L, statuses.get(1L).getTotalLikes());
+        assertFalse(statuses.get(2L).getIsLiked());
+        assertEquals(2L, statuses.get(2L).getTotalLikes());
+        assertFalse(statuses.get(3L).getIsLiked());
+        assertEquals(0L, statuses.get(3L).getTotalLikes());
+    }
+
+    @Test
+    void getLikeStatuses_EmptyIds_DoesNotQuery() {
+        // When
+        Map<Long, LikeStatusResponse> statuses = likeService.getLikeStatuses(Collections.emptyList(), 1L);
+
+        // Then
+        assertTrue(statuses.isEmpty());
+        verifyNoInteractions(postLikeRepository);
+    }
+
+    @Test
+    void getLikeStatusesForCurrentUser_DuplicatedIds_QueriesEachPostOnce() {
+        // Given
+        try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
+            mockedSecurityUtils.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
+            List<Object[]> rows = Collections.singletonList(new Object[]{4L, 3L, 1L});
+            when(postLikeRepository.findLikeStatsByPostIds(new LinkedHashSet<>(List.of(4L, 7L)), 1L)).thenReturn(rows);
+
+            // When
+            Map<Long, LikeStatusResponse> statuses = likeService.getLikeStatusesForCurrentUser(List.of(4L, 7L, 4L));
+
+            // Then
+            assertEquals(2, statuses.size());
+            assertTrue(statuses.get(4L).getIsLiked());
+            assertEquals(3L, statuses.get(4L).getTotalLikes());
+            assertEquals(0L, statuses.get(7L).getTotalLikes());
+        }
+    }
 }
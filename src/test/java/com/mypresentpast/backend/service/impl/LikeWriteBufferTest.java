@@ -0,0 +1,265 @@
+package com.mypresentpast.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mypresentpast.backend.service.impl.LikeWriteBuffer.LikeSnapshot;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class LikeWriteBufferTest {
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private Path logFile;
+    private LikeWriteBuffer buffer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        logFile = tempDir.resolve("likes.log");
+        buffer = new LikeWriteBuffer(jdbcTemplate, transactionTemplate, true, 8, logFile.toString(), 0, 0);
+        buffer.replayLog();
+    }
+
+    @Test
+    void toggle_twice_coalescesAndWritesNothing() {
+        assertTrue(buffer.toggle(1L, 10L, LikeWriteBufferTest::notLiked).liked());
+        assertFalse(buffer.toggle(1L, 10L, LikeWriteBufferTest::notLiked).liked());
+
+        buffer.flush();
+
+        assertTrue(buffer.pendingState(1L, 10L).isEmpty());
+        assertEquals(0L, buffer.pendingDelta(10L));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_writesBatchAndAdjustsCounter() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> args = invocation.getArgument(1);
+            return new int[args.size()];
+        });
+        when(jdbcTemplate.batchUpdate(eq(insertSql()), anyList())).thenReturn(new int[]{1, 1});
+
+        buffer.toggle(1L, 10L, LikeWriteBufferTest::notLiked);
+        buffer.toggle(2L, 10L, LikeWriteBufferTest::notLiked);
+        assertEquals(2L, buffer.pendingDelta(10L));
+        assertEquals(Optional.of(true), buffer.pendingState(2L, 10L));
+
+        buffer.flush();
+
+        ArgumentCaptor<List<Object[]>> adjustments = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE post SET like_count = GREATEST(like_count + ?, 0) WHERE id = ?"),
+            adjustments.capture());
+        assertEquals(2L, adjustments.getValue().get(0)[0]);
+        assertEquals(10L, adjustments.getValue().get(0)[1]);
+
+        // Ya escrito: no queda nada pendiente ni en el log
+        assertTrue(buffer.pendingState(1L, 10L).isEmpty());
+        assertEquals(0L, buffer.pendingDelta(10L));
+        assertEquals("", Files.readString(logFile, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void toggle_afterFlushCommitted_usesFreshPersistedState() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        buffer.toggle(1L, 10L, LikeWriteBufferTest::notLiked);
+        buffer.flush();
+
+        // La base ya tiene el like y el contador en 1: el siguiente toggle lo quita
+        LikeSnapshot toggled = buffer.toggle(1L, 10L, () -> new LikeSnapshot(true, 1));
+
+        assertFalse(toggled.liked());
+        assertEquals(0L, toggled.totalLikes());
+    }
+
+    @Test
+    void flush_logBelowThreshold_isNotCompacted() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        LikeWriteBuffer large = new LikeWriteBuffer(jdbcTemplate, transactionTemplate, true, 8, logFile.toString(), 0, 1024);
+        large.replayLog();
+
+        large.toggle(1L, 10L, LikeWriteBufferTest::notLiked);
+        large.flush();
+
+        // Ya escrito, pero el log sigue igual hasta superar el umbral; al reaplicarlo no cambia nada
+        assertTrue(large.pendingState(1L, 10L).isEmpty());
+        assertEquals("1,10,1", Files.readString(logFile, StandardCharsets.UTF_8).strip());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_readersWaitUntilCommitAndDeltaArePublishedTogether() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        buffer.toggle(1L, 10L, LikeWriteBufferTest::notLiked);
+
+        List<CompletableFuture<Long>> reader = new ArrayList<>();
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            // Entre el commit y la limpieza del delta, una lectura contaría el like dos veces
+            reader.add(CompletableFuture.supplyAsync(() -> buffer.readConsistently(() -> buffer.pendingDelta(10L))));
+            Thread.sleep(100);
+            assertFalse(reader.get(0).isDone());
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        buffer.flush();
+
+        assertEquals(0L, reader.get(0).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void flush_databaseFails_keepsChangesForRetry() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("sin conexión"));
+
+        buffer.toggle(1L, 10L, LikeWriteBufferTest::notLiked);
+        buffer.flush();
+
+        assertEquals(Optional.of(true), buffer.pendingState(1L, 10L));
+        assertEquals(1L, buffer.pendingDelta(10L));
+        assertEquals("1,10,1", Files.readString(logFile, StandardCharsets.UTF_8).strip());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replayLog_appliesLastStatePerPair() throws Exception {
+        Files.writeString(logFile, "1,10,1\n2,10,1\n2,10,0\n3,1", StandardCharsets.UTF_8);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> args = invocation.getArgument(1);
+            int[] updated = new int[args.size()];
+            Arrays.fill(updated, 1);
+            return updated;
+        });
+
+        buffer.replayLog();
+
+        ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Object[]>> deletes = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(insertSql()), inserts.capture());
+        verify(jdbcTemplate).batchUpdate(eq("DELETE FROM post_like WHERE user_id = ? AND post_id = ?"), deletes.capture());
+        assertEquals(1, inserts.getValue().size());
+        assertEquals(1L, inserts.getValue().get(0)[1]);
+        assertEquals(1, deletes.getValue().size());
+        assertEquals(2L, deletes.getValue().get(0)[0]);
+        assertEquals("", Files.readString(logFile, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replayLog_corruptLines_skipsOnlyThoseAndKeepsFlushing() throws Exception {
+        Files.writeString(logFile, "1,10,1\n12,ab,1\n\u0000basura\n1,2,3,4\n2,20,1\n", StandardCharsets.UTF_8);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> args = invocation.getArgument(1);
+            int[] updated = new int[args.size()];
+            Arrays.fill(updated, 1);
+            return updated;
+        });
+
+        buffer.replayLog();
+
+        ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(insertSql()), inserts.capture());
+        assertEquals(2, inserts.getValue().size());
+        assertEquals("", Files.readString(logFile, StandardCharsets.UTF_8));
+
+        // El flush sigue activo después de un log corrupto
+        buffer.toggle(3L, 30L, LikeWriteBufferTest::notLiked);
+        buffer.flush();
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(insertSql()), anyList());
+        assertTrue(buffer.pendingState(3L, 30L).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void toggle_afterTornLine_startsOnFreshLine() throws Exception {
+        // El proceso anterior se cayó escribiendo "12,3,1": quedó solo "1"
+        Files.writeString(logFile, "1", StandardCharsets.UTF_8);
+        LikeWriteBuffer restarted = new LikeWriteBuffer(jdbcTemplate, mock(TransactionTemplate.class), true, 8, logFile.toString(), 0, 0);
+
+        restarted.toggle(2L, 3L, LikeWriteBufferTest::notLiked);
+        restarted.close();
+
+        assertEquals("1\n2,3,1", Files.readString(logFile, StandardCharsets.UTF_8).strip().replace("\r", ""));
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        buffer.replayLog();
+
+        ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(insertSql()), inserts.capture());
+        assertEquals(1, inserts.getValue().size());
+        assertEquals(2L, inserts.getValue().get(0)[1]);
+        assertEquals(3L, inserts.getValue().get(0)[2]);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replayLog_databaseFails_keepsRecoveredLikesPending() throws Exception {
+        Files.writeString(logFile, "1,10,1\n", StandardCharsets.UTF_8);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("sin conexión"));
+
+        buffer.replayLog();
+
+        assertEquals(Optional.of(true), buffer.pendingState(1L, 10L));
+        assertEquals("1,10,1", Files.readString(logFile, StandardCharsets.UTF_8).strip());
+
+        // La base no confirmó el like: volver atrás igual tiene que escribirse
+        assertFalse(buffer.toggle(1L, 10L, () -> new LikeSnapshot(true, 1)).liked());
+        Mockito.reset(jdbcTemplate);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{0});
+        buffer.flush();
+
+        verify(jdbcTemplate).batchUpdate(eq("DELETE FROM post_like WHERE user_id = ? AND post_id = ?"), anyList());
+        assertTrue(buffer.pendingState(1L, 10L).isEmpty());
+        assertEquals(0L, buffer.pendingDelta(10L));
+    }
+
+    private static LikeSnapshot notLiked() {
+        return new LikeSnapshot(false, 0);
+    }
+
+    private static String insertSql() {
+        return "INSERT INTO post_like (user_id, post_id, created_at) " +
+            "SELECT u.id_user_account, p.id, ? FROM user_account u, post p " +
+            "WHERE u.id_user_account = ? AND p.id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM post_like pl WHERE pl.user_id = u.id_user_account AND pl.post_id = p.id)";
+    }
+}
@@ -1,20 +1,29 @@
 package com.mypresentpast.backend.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.mockStatic;
 
 import com.mypresentpast.backend.dto.response.ApiResponse;
+import com.mypresentpast.backend.dto.response.CursorPageResponse;
+import com.mypresentpast.backend.dto.response.LikeStatusResponse;
+import com.mypresentpast.backend.dto.MapClusterDto;
 import com.mypresentpast.backend.dto.request.CreatePostRequest;
 import com.mypresentpast.backend.dto.response.MapResponse;
 import com.mypresentpast.backend.dto.response.PostResponse;
@@ -22,6 +31,7 @@ import com.mypresentpast.backend.dto.request.UpdatePostRequest;
 import com.mypresentpast.backend.enums.Category;
 import com.mypresentpast.backend.enums.PostStatus;
 import com.mypresentpast.backend.model.UserRole;
+import com.mypresentpast.backend.exception.BadRequestException;
 import com.mypresentpast.backend.exception.ResourceNotFoundException;
 import com.mypresentpast.backend.model.Location;
 import com.mypresentpast.backend.model.Media;
@@ -31,10 +41,16 @@ import com.mypresentpast.backend.repository.LocationRepository;
 import com.mypresentpast.backend.repository.MediaRepository;
 import com.mypresentpast.backend.repository.PostRepository;
 import com.mypresentpast.backend.repository.UserRepository;
+import com.mypresentpast.backend.repository.projection.LikedPostView;
+import com.mypresentpast.backend.repository.projection.MapClusterView;
 import com.mypresentpast.backend.service.CloudinaryService;
+import com.mypresentpast.backend.service.ImageUploadService;
 import com.mypresentpast.backend.service.LikeService;
+import com.mypresentpast.backend.utils.GeoGrid;
+import com.mypresentpast.backend.utils.PageCursor;
 import com.mypresentpast.backend.utils.SecurityUtils;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -42,6 +58,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -49,6 +66,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.MockedStatic;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 @ExtendWith(MockitoExtension.class)
@@ -72,6 +93,12 @@ class PostServiceImplTest {
     @Mock
     private LikeService likeService;
 
+    @Mock
+    private ImageUploadService imageUploadService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @Mock
     private MultipartFile mockImage;
 
@@ -127,9 +154,20 @@ class PostServiceImplTest {
         createRequest.setAddress("Buenos Aires, Argentina");
     }
 
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
     @Test
     void createPost_Success_WithoutImages() {
         // Given
+        runTransactionsInline();
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(locationRepository.findLocationsByProximity(anyDouble(), anyDouble()))
             .thenReturn(Collections.emptyList());
@@ -146,6 +184,7 @@ class PostServiceImplTest {
         verify(locationRepository).findLocationsByProximity(-34.6118, -58.3960);
         verify(locationRepository).save(any(Location.class));
         verify(postRepository).save(any(Post.class));
+        verify(userRepository).adjustPostCount(1L, 1);
         verify(cloudinaryService, never()).upload(any());
     }
 
@@ -162,8 +201,9 @@ class PostServiceImplTest {
             .thenReturn(Collections.emptyList());
         when(locationRepository.save(any(Location.class))).thenReturn(testLocation);
         when(postRepository.save(any(Post.class))).thenReturn(testPost);
-        when(cloudinaryService.upload(any(MultipartFile.class))).thenReturn(uploadResult);
+        when(imageUploadService.uploadAll(images)).thenReturn(List.of(uploadResult));
         when(mediaRepository.saveAll(anyList())).thenReturn(new ArrayList<>());
+        runTransactionsInline();
 
         // When
         ApiResponse response = postService.createPost(createRequest, images);
@@ -171,13 +211,33 @@ class PostServiceImplTest {
         // Then
         assertNotNull(response);
         assertEquals("Publicación creada con éxito", response.getMessage());
-        verify(cloudinaryService).upload(mockImage);
+        verify(imageUploadService).uploadAll(images);
         verify(mediaRepository).saveAll(anyList());
+        verify(imageUploadService, never()).deleteAll(any());
+    }
+
+    @Test
+    void createPost_PersistFails_DeletesUploadedImages() {
+        // Given
+        List<MultipartFile> images = Arrays.asList(mockImage);
+        Map<String, Object> uploadResult = new HashMap<>();
+        uploadResult.put("url", "http://test.com/image.jpg");
+        uploadResult.put("public_id", "test123");
+
+        when(imageUploadService.uploadAll(images)).thenReturn(List.of(uploadResult));
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        runTransactionsInline();
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> postService.createPost(createRequest, images));
+        verify(imageUploadService).deleteAll(List.of("test123"));
+        verify(mediaRepository, never()).saveAll(anyList());
     }
 
     @Test
     void createPost_UserNotFound_ThrowsException() {
         // Given
+        runTransactionsInline();
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
@@ -196,12 +256,6 @@ class PostServiceImplTest {
             mockImage, mockImage, mockImage, mockImage, mockImage, mockImage // 6 imágenes
         );
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(locationRepository.findLocationsByProximity(anyDouble(), anyDouble()))
-            .thenReturn(Collections.emptyList());
-        when(locationRepository.save(any(Location.class))).thenReturn(testLocation);
-        when(postRepository.save(any(Post.class))).thenReturn(testPost);
-
         // When & Then
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
@@ -209,14 +263,15 @@ class PostServiceImplTest {
         );
 
         assertEquals("Máximo 5 imágenes permitidas por publicación", exception.getMessage());
+        verify(imageUploadService, never()).uploadAll(any());
+        verify(postRepository, never()).save(any(Post.class));
     }
 
     @Test
     void getPostById_Success() {
         // Given
-        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
-        when(likeService.getTotalLikes(1L)).thenReturn(5L);
-        when(likeService.isLikedByCurrentUser(1L)).thenReturn(true);
+        when(postRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testPost));
+        stubLikeStatus(5L, true);
 
         // When
         PostResponse response = postService.getPostById(1L);
@@ -228,15 +283,14 @@ class PostServiceImplTest {
         assertEquals(testUser.getProfileUsername(), response.getAuthor().getName());
         assertEquals(5L, response.getTotalLikes());
         assertEquals(true, response.getIsLiked());
-        verify(postRepository).findById(1L);
-        verify(likeService).getTotalLikes(1L);
-        verify(likeService).isLikedByCurrentUser(1L);
+        verify(postRepository).findWithDetailsById(1L);
+        verify(likeService).getLikeStatuses(List.of(1L), null);
     }
 
     @Test
     void getPostById_NotFound_ThrowsException() {
         // Given
-        when(postRepository.findById(1L)).thenReturn(Optional.empty());
+        when(postRepository.findWithDetailsById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
@@ -251,16 +305,17 @@ class PostServiceImplTest {
     void getMapData_Success_WithAllFilters() {
         // Given
         List<Post> mockPosts = Arrays.asList(testPost);
-        when(postRepository.findPostsInAreaWithFilters(
+        when(postRepository.findPostIdsInAreaWithFilters(
             anyDouble(), anyDouble(), anyDouble(), anyDouble(),
-            anyString(), any(LocalDate.class), any(Boolean.class), any(Boolean.class), any(Long.class)))
-            .thenReturn(mockPosts);
-        when(likeService.getTotalLikes(1L)).thenReturn(8L);
-        when(likeService.isLikedByCurrentUser(1L)).thenReturn(true);
+            anyString(), any(LocalDate.class), any(Boolean.class), any(Boolean.class), any(Long.class),
+            any(), any(), any()))
+            .thenReturn(List.of(1L));
+        when(postRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(mockPosts);
+        stubLikeStatus(8L, true);
 
         // When
         MapResponse response = postService.getMapData(
-            -35.0, -34.0, -59.0, -58.0, "STORY", LocalDate.now(), true, false, 1L
+            -35.0, -34.0, -59.0, -58.0, "STORY", LocalDate.now(), true, false, 1L, null, null
         );
 
         // Then
@@ -269,8 +324,9 @@ class PostServiceImplTest {
         assertEquals("Test Post", response.getPosts().get(0).getTitle());
         assertEquals(8L, response.getPosts().get(0).getTotalLikes());
         assertEquals(true, response.getPosts().get(0).getIsLiked());
-        verify(postRepository).findPostsInAreaWithFilters(
-            -35.0, -34.0, -59.0, -58.0, "STORY", LocalDate.now(), true, false, 1L
+        verify(postRepository).findPostIdsInAreaWithFilters(
+            -35.0, -34.0, -59.0, -58.0, "STORY", LocalDate.now(), true, false, 1L,
+            PageCursor.FIRST_PAGE_DATE, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 501)
         );
     }
 
@@ -278,16 +334,16 @@ class PostServiceImplTest {
     void getMapData_Success_WithMinimalParams() {
         // Given
         List<Post> mockPosts = Arrays.asList(testPost);
-        when(postRepository.findPostsInAreaWithFilters(
+        when(postRepository.findPostIdsInAreaWithFilters(
             anyDouble(), anyDouble(), anyDouble(), anyDouble(),
-            anyString(), any(), any(), any(), any()))
-            .thenReturn(mockPosts);
-        when(likeService.getTotalLikes(1L)).thenReturn(2L);
-        when(likeService.isLikedByCurrentUser(1L)).thenReturn(false);
+            anyString(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of(1L));
+        when(postRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(mockPosts);
+        stubLikeStatus(2L, false);
 
         // When
         MapResponse response = postService.getMapData(
-            -35.0, -34.0, -59.0, -58.0, null, null, null, null, null
+            -35.0, -34.0, -59.0, -58.0, null, null, null, null, null, null, null
         );
 
         // Then
@@ -295,8 +351,9 @@ class PostServiceImplTest {
         assertEquals(1, response.getPosts().size());
         assertEquals(2L, response.getPosts().get(0).getTotalLikes());
         assertEquals(false, response.getPosts().get(0).getIsLiked());
-        verify(postRepository).findPostsInAreaWithFilters(
-            -35.0, -34.0, -59.0, -58.0, "", null, null, null, null
+        verify(postRepository).findPostIdsInAreaWithFilters(
+            -35.0, -34.0, -59.0, -58.0, "", null, null, null, null,
+            PageCursor.FIRST_PAGE_DATE, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 501)
         );
     }
 
@@ -304,16 +361,16 @@ class PostServiceImplTest {
     void getMapData_InvalidCategory_HandledGracefully() {
         // Given
         List<Post> mockPosts = Arrays.asList(testPost);
-        when(postRepository.findPostsInAreaWithFilters(
+        when(postRepository.findPostIdsInAreaWithFilters(
             anyDouble(), anyDouble(), anyDouble(), anyDouble(),
-            eq(""), any(), any(), any(), any()))
-            .thenReturn(mockPosts);
-        when(likeService.getTotalLikes(1L)).thenReturn(0L);
-        when(likeService.isLikedByCurrentUser(1L)).thenReturn(false);
+            eq(""), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of(1L));
+        when(postRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(mockPosts);
+        stubLikeStatus(0L, false);
 
         // When
         MapResponse response = postService.getMapData(
-            -35.0, -34.0, -59.0, -58.0, "INVALID_CATEGORY", null, null, null, null
+            -35.0, -34.0, -59.0, -58.0, "INVALID_CATEGORY", null, null, null, null, null, null
         );
 
         // Then
@@ -321,8 +378,9 @@ class PostServiceImplTest {
         assertEquals(1, response.getPosts().size());
         assertEquals(0L, response.getPosts().get(0).getTotalLikes());
         assertEquals(false, response.getPosts().get(0).getIsLiked());
-        verify(postRepository).findPostsInAreaWithFilters(
-            -35.0, -34.0, -59.0, -58.0, "", null, null, null, null
+        verify(postRepository).findPostIdsInAreaWithFilters(
+            -35.0, -34.0, -59.0, -58.0, "", null, null, null, null,
+            PageCursor.FIRST_PAGE_DATE, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 501)
         );
     }
 
@@ -330,16 +388,16 @@ class PostServiceImplTest {
     void getMapData_FilterByVerified() {
         // Given
         List<Post> mockPosts = Arrays.asList(testPost);
-        when(postRepository.findPostsInAreaWithFilters(
+        when(postRepository.findPostIdsInAreaWithFilters(
             anyDouble(), anyDouble(), anyDouble(), anyDouble(),
-            anyString(), any(), eq(true), any(), any()))
-            .thenReturn(mockPosts);
-        when(likeService.getTotalLikes(1L)).thenReturn(12L);
-        when(likeService.isLikedByCurrentUser(1L)).thenReturn(true);
+            anyString(), any(), eq(true), any(), any(), any(), any(), any()))
+            .thenReturn(List.of(1L));
+        when(postRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(mockPosts);
+        stubLikeStatus(12L, true);
 
         // When
         MapResponse response = postService.getMapData(
-            -35.0, -34.0, -59.0, -58.0, null, null, true, null, null
+            -35.0, -34.0, -59.0, -58.0, null, null, true, null, null, null, null
         );
 
         // Then
@@ -347,8 +405,9 @@ class PostServiceImplTest {
         assertEquals(1, response.getPosts().size());
         assertEquals(12L, response.getPosts().get(0).getTotalLikes());
         assertEquals(true, response.getPosts().get(0).getIsLiked());
-        verify(postRepository).findPostsInAreaWithFilters(
-            -35.0, -34.0, -59.0, -58.0, "", null, true, null, null
+        verify(postRepository).findPostIdsInAreaWithFilters(
+            -35.0, -34.0, -59.0, -58.0, "", null, true, null, null,
+            PageCursor.FIRST_PAGE_DATE, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 501)
         );
     }
 
@@ -356,16 +415,16 @@ class PostServiceImplTest {
     void getMapData_FilterByIA() {
         // Given
         List<Post> mockPosts = Arrays.asList(testPost);
-        when(postRepository.findPostsInAreaWithFilters(
+        when(postRepository.findPostIdsInAreaWithFilters(
             anyDouble(), anyDouble(), anyDouble(), anyDouble(),
-            anyString(), any(), any(), eq(false), any()))
-            .thenReturn(mockPosts);
-        when(likeService.getTotalLikes(1L)).thenReturn(7L);
-        when(likeService.isLikedByCurrentUser(1L)).thenReturn(false);
+            anyString(), any(), any(), eq(false), any(), any(), any(), any()))
+            .thenReturn(List.of(1L));
+        when(postRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(mockPosts);
+        stubLikeStatus(7L, false);
 
         // When
         MapResponse response = postService.getMapData(
-            -35.0, -34.0, -59.0, -58.0, null, null, null, false, null
+            -35.0, -34.0, -59.0, -58.0, null, null, null, false, null, null, null
         );
 
         // Then
@@ -373,8 +432,9 @@ class PostServiceImplTest {
         assertEquals(1, response.getPosts().size());
         assertEquals(7L, response.getPosts().get(0).getTotalLikes());
         assertEquals(false, response.getPosts().get(0).getIsLiked());
-        verify(postRepository).findPostsInAreaWithFilters(
-            -35.0, -34.0, -59.0, -58.0, "", null, null, false, null
+        verify(postRepository).findPostIdsInAreaWithFilters(
+            -35.0, -34.0, -59.0, -58.0, "", null, null, false, null,
+            PageCursor.FIRST_PAGE_DATE, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 501)
         );
     }
 
@@ -382,16 +442,16 @@ class PostServiceImplTest {
     void getMapData_FilterByUser() {
         // Given
         List<Post> mockPosts = Arrays.asList(testPost);
-        when(postRepository.findPostsInAreaWithFilters(
+        when(postRepository.findPostIdsInAreaWithFilters(
             anyDouble(), anyDouble(), anyDouble(), anyDouble(),
-            anyString(), any(), any(), any(), eq(1L)))
-            .thenReturn(mockPosts);
-        when(likeService.getTotalLikes(1L)).thenReturn(15L);
-        when(likeService.isLikedByCurrentUser(1L)).thenReturn(true);
+            anyString(), any(), any(), any(), eq(1L), any(), any(), any()))
+            .thenReturn(List.of(1L));
+        when(postRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(mockPosts);
+        stubLikeStatus(15L, true);
 
         // When
         MapResponse response = postService.getMapData(
-            -35.0, -34.0, -59.0, -58.0, null, null, null, null, 1L
+            -35.0, -34.0, -59.0, -58.0, null, null, null, null, 1L, null, null
         );
 
         // Then
@@ -400,83 +460,288 @@ class PostServiceImplTest {
         assertEquals("Test Post", response.getPosts().get(0).getTitle());
         assertEquals(15L, response.getPosts().get(0).getTotalLikes());
         assertEquals(true, response.getPosts().get(0).getIsLiked());
-        verify(postRepository).findPostsInAreaWithFilters(
-            -35.0, -34.0, -59.0, -58.0, "", null, null, null, 1L
+        verify(postRepository).findPostIdsInAreaWithFilters(
+            -35.0, -34.0, -59.0, -58.0, "", null, null, null, 1L,
+            PageCursor.FIRST_PAGE_DATE, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 501)
         );
     }
 
+    @Test
+    void getMapData_SmallArea_UsesSpatialIndex() {
+        // Given - área de ciudad, cubierta por pocas celdas de la grilla
+        List<Post> mockPosts = Arrays.asList(testPost);
+        when(postRepository.findPostIdsInCellsWithFilters(
+            anyList(), anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyString(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of(1L));
+        when(postRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(mockPosts);
+        stubLikeStatus(4L, false);
+
+        // When
+        MapResponse response = postService.getMapData(
+            -34.65, -34.55, -58.45, -58.35, null, null, null, null, null, null, null
+        );
+
+        // Then
+        assertNotNull(response);
+        assertEquals(1, response.getPosts().size());
+        assertEquals(4L, response.getPosts().get(0).getTotalLikes());
+        verify(postRepository, never()).findPostIdsInAreaWithFilters(
+            anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyString(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getMapData_KeepsQueryOrder() {
+        // Given - la consulta por IDs define el orden; la carga con detalles no
+        Post olderPost = new Post();
+        olderPost.setId(2L);
+        olderPost.setTitle("Older Post");
+        when(postRepository.findPostIdsInAreaWithFilters(
+            anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyString(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of(1L, 2L));
+        when(postRepository.findWithDetailsByIdIn(List.of(1L, 2L)))
+            .thenReturn(Arrays.asList(olderPost, testPost));
+
+        // When
+        MapResponse response = postService.getMapData(
+            -35.0, -34.0, -59.0, -58.0, null, null, null, null, null, null, null
+        );
+
+        // Then
+        assertEquals(2, response.getPosts().size());
+        assertEquals(1L, response.getPosts().get(0).getId());
+        assertEquals(2L, response.getPosts().get(1).getId());
+    }
+
+    @Test
+    void getMapClusters_LowZoom_GroupsNearbyPosts() {
+        // Given - la base devuelve las muestras de un cluster en Buenos Aires (5 posts) y uno en Córdoba
+        when(postRepository.findMapClustersInAreaWithFilters(
+            anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyString(), any(), any(), any(), any(), anyLong(), anyLong(), anyInt()))
+            .thenReturn(Arrays.asList(
+                clusterRow(10L, 1L, -34.6046, -58.3775, 5L),
+                clusterRow(10L, 2L, -34.6046, -58.3775, 5L),
+                clusterRow(20L, 3L, -31.4201, -64.1888, 1L)));
+
+        // When
+        MapResponse response = postService.getMapClusters(
+            -55.0, -21.0, -74.0, -53.0, null, null, null, null, null, 4
+        );
+
+        // Then
+        assertNotNull(response.getClusters());
+        assertEquals(2, response.getClusters().size());
+        MapClusterDto buenosAires = response.getClusters().get(0);
+        assertEquals(5L, buenosAires.getCount());
+        assertEquals(Arrays.asList(1L, 2L), buenosAires.getPostIds());
+        assertEquals(-34.6046, buenosAires.getLatitude(), 0.0001);
+        assertEquals(1L, response.getClusters().get(1).getCount());
+        // Zoom 4: celdas de 5.625° = 113 celdas de la grilla por lado
+        verify(postRepository).findMapClustersInAreaWithFilters(
+            anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyString(), any(), any(), any(), any(), eq((long) GeoGrid.LON_CELLS), eq(113L), eq(3));
+        verify(postRepository, never()).findPostIdsInAreaWithFilters(
+            anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyString(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getMapClusters_HighZoom_ReturnsPosts() {
+        // Given
+        when(postRepository.findPostIdsInAreaWithFilters(
+            anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyString(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of(1L));
+        when(postRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(Arrays.asList(testPost));
+        stubLikeStatus(1L, false);
+
+        // When
+        MapResponse response = postService.getMapClusters(
+            -35.0, -34.0, -59.0, -58.0, null, null, null, null, null, 15
+        );
+
+        // Then
+        assertEquals(1, response.getPosts().size());
+        assertNull(response.getClusters());
+    }
+
+    @Test
+    void getPostsByUser_FirstPage_ReturnsNextCursor() {
+        // Given - se piden 2 y la consulta devuelve 3, hay página siguiente
+        Post secondPost = new Post();
+        secondPost.setId(2L);
+        secondPost.setTitle("Second Post");
+        secondPost.setPostedAt(LocalDate.of(2024, 1, 10));
+        when(postRepository.findPostIdsByAuthorId(
+            1L, PageCursor.FIRST_PAGE_DATE, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 3)))
+            .thenReturn(List.of(1L, 2L, 3L));
+        when(postRepository.findWithDetailsByIdIn(List.of(1L, 2L)))
+            .thenReturn(Arrays.asList(testPost, secondPost));
+
+        // When
+        CursorPageResponse<PostResponse> response = postService.getPostsByUser(1L, null, 2);
+
+        // Then
+        assertEquals(2, response.getSize());
+        assertTrue(response.isHasMore());
+        assertEquals(PageCursor.encode(LocalDate.of(2024, 1, 10), 2L), response.getNextCursor());
+    }
+
+    @Test
+    void getPostsByUser_WithCursor_ContinuesAfterIt() {
+        // Given
+        String cursor = PageCursor.encode(LocalDate.of(2024, 1, 10), 2L);
+        when(postRepository.findPostIdsByAuthorId(
+            1L, LocalDate.of(2024, 1, 10), 2L, PageRequest.of(0, 21)))
+            .thenReturn(List.of(1L));
+        when(postRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(Arrays.asList(testPost));
+
+        // When
+        CursorPageResponse<PostResponse> response = postService.getPostsByUser(1L, cursor, null);
+
+        // Then
+        assertEquals(1, response.getContent().size());
+        assertFalse(response.isHasMore());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void getPostsByUser_InvalidCursor_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> postService.getPostsByUser(1L, "no-es-un-cursor", null));
+    }
+
     @Test
     void getLikedPostsByCurrentUser_Success() {
         // Given
         List<Post> likedPosts = Arrays.asList(testPost);
-        when(postRepository.findLikedPostsByUserId(1L)).thenReturn(likedPosts);
-        when(likeService.getTotalLikes(1L)).thenReturn(10L);
-        when(likeService.isLikedByCurrentUser(1L)).thenReturn(true);
+        when(postRepository.findLikedPostsByUserId(
+            1L, PageCursor.FIRST_PAGE_DATE_TIME, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 21)))
+            .thenReturn(List.of(likedPost(7L, 1L, LocalDateTime.now())));
+        when(postRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(likedPosts);
+        stubLikeStatus(10L, true);
 
         // When & Then - Mock SecurityUtils
         try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
             mockedSecurityUtils.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
             
-            List<PostResponse> response = postService.getLikedPostsByCurrentUser();
+            CursorPageResponse<PostResponse> response = postService.getLikedPostsByCurrentUser(null, null);
 
             assertNotNull(response);
-            assertEquals(1, response.size());
-            assertEquals("Test Post", response.get(0).getTitle());
-            assertEquals(10L, response.get(0).getTotalLikes());
-            assertEquals(true, response.get(0).getIsLiked());
-            verify(postRepository).findLikedPostsByUserId(1L);
+            assertEquals(1, response.getContent().size());
+            assertEquals("Test Post", response.getContent().get(0).getTitle());
+            assertEquals(10L, response.getContent().get(0).getTotalLikes());
+            assertEquals(true, response.getContent().get(0).getIsLiked());
+            assertFalse(response.isHasMore());
+            assertNull(response.getNextCursor());
         }
     }
 
     @Test
     void getLikedPostsByCurrentUser_NoLikedPosts() {
         // Given
-        when(postRepository.findLikedPostsByUserId(1L)).thenReturn(new ArrayList<>());
+        when(postRepository.findLikedPostsByUserId(
+            1L, PageCursor.FIRST_PAGE_DATE_TIME, PageCursor.FIRST_PAGE_ID, PageRequest.of(0, 21)))
+            .thenReturn(new ArrayList<>());
 
         // When & Then - Mock SecurityUtils
         try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
             mockedSecurityUtils.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
             
-            List<PostResponse> response = postService.getLikedPostsByCurrentUser();
+            CursorPageResponse<PostResponse> response = postService.getLikedPostsByCurrentUser(null, null);
 
             assertNotNull(response);
-            assertTrue(response.isEmpty());
-            verify(postRepository).findLikedPostsByUserId(1L);
+            assertTrue(response.getContent().isEmpty());
+            assertFalse(response.isHasMore());
         }
     }
 
     @Test
     void getRandomPost_Success() {
         // Given
-        List<Post> activePosts = Arrays.asList(testPost);
-        when(postRepository.findByStatusAndLocationIsNotNull(PostStatus.ACTIVE))
-            .thenReturn(activePosts);
-        when(likeService.getTotalLikes(1L)).thenReturn(3L);
-        when(likeService.isLikedByCurrentUser(1L)).thenReturn(false);
+        when(postRepository.findMaxId()).thenReturn(1L);
+        when(postRepository.findRandomCandidateIdsInRange(1L, 1L, "", -90, 90, -180, 180)).thenReturn(List.of(1L));
+        when(postRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testPost));
+        stubLikeStatus(3L, false);
 
         // When
-        PostResponse response = postService.getRandomPost();
+        PostResponse response = postService.getRandomPost(null, null, null, null, null);
 
         // Then
         assertNotNull(response);
         assertEquals("Test Post", response.getTitle());
         assertEquals(3L, response.getTotalLikes());
         assertEquals(false, response.getIsLiked());
-        verify(postRepository).findByStatusAndLocationIsNotNull(PostStatus.ACTIVE);
-        verify(likeService).getTotalLikes(1L);
-        verify(likeService).isLikedByCurrentUser(1L);
+        verify(likeService).getLikeStatuses(List.of(1L), null);
+    }
+
+    @Test
+    void getRandomPost_WithFilters_FallsBackToOffsetWhenProbesMiss() {
+        // Given - ninguna ventana sondeada tiene candidatos
+        when(postRepository.findMaxId()).thenReturn(10_000L);
+        when(postRepository.findRandomCandidateIdsInRange(
+            anyLong(), anyLong(), eq("STORY"), eq(-35.0), eq(-34.0), eq(-59.0), eq(-58.0)))
+            .thenReturn(List.of());
+        when(postRepository.countRandomCandidates("STORY", -35.0, -34.0, -59.0, -58.0)).thenReturn(1L);
+        when(postRepository.findRandomCandidateIdAtOffset(0L, "STORY", -35.0, -34.0, -59.0, -58.0)).thenReturn(1L);
+        when(postRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testPost));
+        stubLikeStatus(0L, false);
+
+        // When
+        PostResponse response = postService.getRandomPost("story", -35.0, -34.0, -59.0, -58.0);
+
+        // Then
+        assertEquals(1L, response.getId());
+    }
+
+    @Test
+    void pickRandomPostId_IsUniformDespiteIdGaps() {
+        // Given - candidatos agrupados al inicio y uno aislado al final, con grandes huecos entre ellos
+        List<Long> candidateIds = List.of(1L, 2L, 3L, 70L, 200L);
+        when(postRepository.findMaxId()).thenReturn(200L);
+        when(postRepository.findRandomCandidateIdsInRange(anyLong(), anyLong(), eq(""), anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+            .thenAnswer(invocation -> {
+                long fromId = invocation.getArgument(0);
+                long toId = invocation.getArgument(1);
+                return candidateIds.stream().filter(id -> id >= fromId && id <= toId).toList();
+            });
+        when(postRepository.countRandomCandidates(eq(""), anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+            .thenReturn((long) candidateIds.size());
+        when(postRepository.findRandomCandidateIdAtOffset(anyLong(), eq(""), anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+            .thenAnswer(invocation -> candidateIds.get(((Long) invocation.getArgument(0)).intValue()));
+
+        // When
+        int draws = 20_000;
+        Map<Long, Integer> hits = new HashMap<>();
+        for (int i = 0; i < draws; i++) {
+            hits.merge(postService.pickRandomPostId("", -90, 90, -180, 180), 1, Integer::sum);
+        }
+
+        // Then - cada candidato sale ~20% de las veces (el sorteo anterior le daba al 200 más de la mitad)
+        assertEquals(candidateIds.size(), hits.size());
+        double expected = (double) draws / candidateIds.size();
+        for (Long id : candidateIds) {
+            assertTrue(Math.abs(hits.get(id) - expected) < expected * 0.1,
+                "Post " + id + " elegido " + hits.get(id) + " veces de " + draws);
+        }
+    }
+
+    @Test
+    void getRandomPost_IncompleteArea_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> postService.getRandomPost(null, -35.0, null, null, null));
     }
 
     @Test
     void getRandomPost_NoPosts_ThrowsException() {
         // Given
-        when(postRepository.findByStatusAndLocationIsNotNull(PostStatus.ACTIVE))
-            .thenReturn(Collections.emptyList());
+        when(postRepository.findMaxId()).thenReturn(null);
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
             ResourceNotFoundException.class,
-            () -> postService.getRandomPost()
+            () -> postService.getRandomPost(null, null, null, null, null)
         );
 
         assertEquals("No hay publicaciones disponibles para mostrar", exception.getMessage());
@@ -502,6 +767,7 @@ class PostServiceImplTest {
         when(locationRepository.findLocationsByProximity(anyDouble(), anyDouble()))
             .thenReturn(Arrays.asList(testLocation));
         when(postRepository.save(any(Post.class))).thenReturn(testPost);
+        runTransactionsInline();
 
         // When
         ApiResponse response = postService.updatePost(1L, updateRequest, null);
@@ -514,6 +780,42 @@ class PostServiceImplTest {
         verify(postRepository).save(testPost);
     }
 
+    @Test
+    void updatePost_RemovedImages_DeletedFromCloudinaryAfterCommit() {
+        // Given
+        Media kept = Media.builder().id(10L).cloudinaryId("keep123").post(testPost).build();
+        Media removed = Media.builder().id(11L).cloudinaryId("old123").post(testPost).build();
+        testPost.setMedia(new ArrayList<>(List.of(kept, removed)));
+
+        UpdatePostRequest updateRequest = new UpdatePostRequest();
+        updateRequest.setTitle("Updated Title");
+        updateRequest.setAuthorId(1L);
+        updateRequest.setLatitude(-34.6118);
+        updateRequest.setLongitude(-58.3960);
+        updateRequest.setKeepImageIds(List.of(10L));
+
+        List<MultipartFile> newImages = List.of(mockImage);
+        Map<String, Object> uploadResult = new HashMap<>();
+        uploadResult.put("url", "http://test.com/new.jpg");
+        uploadResult.put("public_id", "new123");
+
+        when(imageUploadService.uploadAll(newImages)).thenReturn(List.of(uploadResult));
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(locationRepository.findLocationsByProximity(anyDouble(), anyDouble()))
+            .thenReturn(Arrays.asList(testLocation));
+        runTransactionsInline();
+
+        // When
+        postService.updatePost(1L, updateRequest, newImages);
+
+        // Then
+        assertEquals(2, testPost.getMedia().size());
+        assertEquals("keep123", testPost.getMedia().get(0).getCloudinaryId());
+        assertEquals("new123", testPost.getMedia().get(1).getCloudinaryId());
+        verify(imageUploadService).deleteAll(List.of("old123"));
+    }
+
     @Test
     void updatePost_NotFound_ThrowsException() {
         // Given
@@ -525,6 +827,7 @@ class PostServiceImplTest {
         updateRequest.setAddress("Updated Address");
 
         when(postRepository.findById(1L)).thenReturn(Optional.empty());
+        runTransactionsInline();
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
@@ -553,6 +856,20 @@ class PostServiceImplTest {
 
         // Verificar que el status cambió a DELETED
         assertEquals(PostStatus.DELETED, testPost.getStatus());
+        verify(userRepository).adjustPostCount(1L, -1);
+    }
+
+    @Test
+    void deletePost_AlreadyDeleted_DoesNotDecrementProfileCount() {
+        // Given
+        testPost.setStatus(PostStatus.DELETED);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+
+        // When
+        postService.deletePost(1L);
+
+        // Then
+        verify(userRepository, never()).adjustPostCount(anyLong(), anyLong());
     }
 
     @Test
@@ -638,4 +955,57 @@ class PostServiceImplTest {
         assertEquals("No se pueden agregar más imágenes. Límite máximo: 5 imágenes por publicación",
                      exception.getMessage());
     }
-}
\ No newline at end of file
+
+    private MapClusterView clusterRow(Long clusterKey, Long postId, Double latitude, Double longitude, Long total) {
+        return new MapClusterView() {
+            @Override
+            public Long getClusterKey() {
+                return clusterKey;
+            }
+
+            @Override
+            public Long getPostId() {
+                return postId;
+            }
+
+            @Override
+            public Double getLatitude() {
+                return latitude;
+            }
+
+            @Override
+            public Double getLongitude() {
+                return longitude;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private void stubLikeStatus(Long totalLikes, boolean isLiked) {
+        when(likeService.getLikeStatuses(anyCollection(), any())).thenReturn(Map.of(1L,
+            LikeStatusResponse.builder().totalLikes(totalLikes).isLiked(isLiked).build()));
+    }
+
+    private LikedPostView likedPost(Long likeId, Long postId, LocalDateTime likedAt) {
+        return new LikedPostView() {
+            @Override
+            public Long getLikeId() {
+                return likeId;
+            }
+
+            @Override
+            public Long getPostId() {
+                return postId;
+            }
+
+            @Override
+            public LocalDateTime getLikedAt() {
+                return likedAt;
+            }
+        };
+    }
+}
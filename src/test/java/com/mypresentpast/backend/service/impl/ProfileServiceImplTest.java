@@ -2,13 +2,15 @@ package com.mypresentpast.backend.service.impl;
 
 import com.mypresentpast.backend.dto.request.ProfileUpdateRequest;
 import com.mypresentpast.backend.dto.request.profile.ChangePasswordRequest;
+import com.mypresentpast.backend.dto.response.AuthResponse;
+import com.mypresentpast.backend.dto.response.ProfileResponse;
 import com.mypresentpast.backend.dto.response.ProfileUpdateResponse;
 import com.mypresentpast.backend.model.User;
-import com.mypresentpast.backend.repository.FollowRepository;
-import com.mypresentpast.backend.repository.PostRepository;
 import com.mypresentpast.backend.repository.UserRepository;
 import com.mypresentpast.backend.service.CloudinaryService;
+import com.mypresentpast.backend.service.FollowGraphService;
 import com.mypresentpast.backend.service.JwtService;
+import com.mypresentpast.backend.service.TokenVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -20,7 +22,9 @@ import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 class ProfileServiceImplTest {
@@ -30,13 +34,13 @@ class ProfileServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private FollowRepository followRepository;
-    @Mock
-    private PostRepository postRepository;
+    private FollowGraphService followGraphService;
     @Mock
     private PasswordEncoder passwordEncoder;
     @Mock
     private JwtService jwtService;
+    @Mock
+    private TokenVersionService tokenVersionService;
 
     @BeforeEach
     void setUp() {
@@ -89,6 +93,8 @@ class ProfileServiceImplTest {
             assertEquals("new@email.com", savedUser.getEmail());
             assertEquals("John", savedUser.getName());
             assertEquals("Doe", savedUser.getLastName());
+            assertEquals(1, savedUser.getTokenVersion());
+            verify(tokenVersionService).versionChanged(10L, 1);
         }
     }
 
@@ -117,13 +123,19 @@ class ProfileServiceImplTest {
 
             ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
             when(userRepository.save(userCaptor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+            when(jwtService.getToken(any(User.class))).thenReturn("tokenConNuevaVersion");
 
             // Act
-            systemUnderTest.changePassword(userId, request);
+            AuthResponse response = systemUnderTest.changePassword(userId, request);
 
             // Assert
             User savedUser = userCaptor.getValue();
             assertEquals("encodedNewPass", savedUser.getPassword());
+            assertEquals(1, savedUser.getTokenVersion());
+            verify(tokenVersionService).versionChanged(userId, 1);
+            // La sesión de quien cambió la contraseña sigue con un token de la nueva versión
+            assertEquals("tokenConNuevaVersion", response.getToken());
+            verify(jwtService).getToken(savedUser);
         }
     }
 
@@ -287,4 +299,39 @@ class ProfileServiceImplTest {
             });
         }
     }
+
+    @Test
+    void getProfile_otherUser_countersReadFromUserRow() {
+        // Arrange
+        Long userId = 5L;
+        User user = User.builder()
+                .id(userId)
+                .profileUsername("carol")
+                .email("carol@email.com")
+                .followerCount(12L)
+                .followingCount(3L)
+                .postCount(7L)
+                .build();
+
+        try (MockedStatic<com.mypresentpast.backend.utils.SecurityUtils> securityUtilsMock = Mockito.mockStatic(com.mypresentpast.backend.utils.SecurityUtils.class)) {
+            securityUtilsMock.when(com.mypresentpast.backend.utils.SecurityUtils::getCurrentUserId).thenReturn(9L);
+
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+            when(followGraphService.isFollowing(9L, userId)).thenReturn(true);
+
+            // Act
+            ProfileResponse response = systemUnderTest.getProfile(userId);
+
+            // Assert
+            assertEquals(12L, response.getFollowerCount());
+            assertEquals(3L, response.getFollowingCount());
+            assertEquals(7L, response.getPostCount());
+            assertTrue(response.getFollowing());
+            assertNull(response.getEmail());
+
+            // Una sola lectura a la base: los contadores vienen en la fila del usuario
+            verify(userRepository).findById(userId);
+            verifyNoMoreInteractions(userRepository);
+        }
+    }
 }
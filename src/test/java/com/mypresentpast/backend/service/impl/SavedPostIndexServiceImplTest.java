@@ -0,0 +1,85 @@
+package com.mypresentpast.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mypresentpast.backend.dto.response.PostCollectionStatusResponse;
+import com.mypresentpast.backend.repository.CollectionPostRepository;
+import com.mypresentpast.backend.repository.projection.SavedPostView;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SavedPostIndexServiceImplTest {
+
+    @Mock
+    private CollectionPostRepository collectionPostRepository;
+
+    private SavedPostIndexServiceImpl savedPostIndexService;
+
+    @BeforeEach
+    void setUp() {
+        savedPostIndexService = new SavedPostIndexServiceImpl(collectionPostRepository, 100, 30);
+    }
+
+    @Test
+    void getCollectionsContaining_answersManyPostsFromOneLoad() {
+        // Filas ordenadas por post y luego por nombre de colección, como las devuelve la consulta
+        when(collectionPostRepository.findSavedPostsByAuthorId(1L)).thenReturn(List.of(
+            row(10L, 2L, "Favoritos"),
+            row(10L, 1L, "Viajes"),
+            row(20L, 1L, "Viajes")));
+
+        Map<Long, List<PostCollectionStatusResponse.CollectionInfo>> result =
+            savedPostIndexService.getCollectionsContaining(1L, List.of(10L, 15L, 20L));
+
+        assertEquals(List.of(2L, 1L), result.get(10L).stream().map(PostCollectionStatusResponse.CollectionInfo::getCollectionId).toList());
+        assertEquals("Favoritos", result.get(10L).get(0).getCollectionName());
+        assertTrue(result.get(15L).isEmpty());
+        assertEquals(1, result.get(20L).size());
+
+        savedPostIndexService.getCollectionsContaining(1L, List.of(20L));
+        verify(collectionPostRepository, times(1)).findSavedPostsByAuthorId(1L);
+    }
+
+    @Test
+    void invalidate_reloadsOnNextRead() {
+        when(collectionPostRepository.findSavedPostsByAuthorId(1L))
+            .thenReturn(List.of())
+            .thenReturn(List.of(row(10L, 1L, "Viajes")));
+
+        assertTrue(savedPostIndexService.getCollectionsContaining(1L, List.of(10L)).get(10L).isEmpty());
+
+        savedPostIndexService.invalidate(1L);
+
+        assertEquals(1, savedPostIndexService.getCollectionsContaining(1L, List.of(10L)).get(10L).size());
+        verify(collectionPostRepository, times(2)).findSavedPostsByAuthorId(1L);
+    }
+
+    private static SavedPostView row(Long postId, Long collectionId, String collectionName) {
+        return new SavedPostView() {
+            @Override
+            public Long getPostId() {
+                return postId;
+            }
+
+            @Override
+            public Long getCollectionId() {
+                return collectionId;
+            }
+
+            @Override
+            public String getCollectionName() {
+                return collectionName;
+            }
+        };
+    }
+}
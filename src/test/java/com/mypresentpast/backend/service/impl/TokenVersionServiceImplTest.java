@@ -0,0 +1,105 @@
+package com.mypresentpast.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mypresentpast.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenVersionServiceImpl tokenVersionService;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionService = new TokenVersionServiceImpl(userRepository, 100, 60);
+    }
+
+    @Test
+    void isCurrent_CachesVersionAfterFirstLookup() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(0);
+
+        assertTrue(tokenVersionService.isCurrent(1L, 0));
+        assertTrue(tokenVersionService.isCurrent(1L, null));
+
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void isCurrent_AfterVersionChanged_RejectsOldTokens() {
+        tokenVersionService.versionChanged(1L, 2);
+
+        assertFalse(tokenVersionService.isCurrent(1L, 1));
+        assertTrue(tokenVersionService.isCurrent(1L, 2));
+        verify(userRepository, never()).findTokenVersionById(1L);
+    }
+
+    @Test
+    void versionChanged_InsideTransaction_AppliesOnlyAfterCommit() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(0);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenVersionService.versionChanged(1L, 1);
+
+            // Antes de confirmar, el token anterior sigue vigente
+            assertTrue(tokenVersionService.isCurrent(1L, 0));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(tokenVersionService.isCurrent(1L, 0));
+        assertTrue(tokenVersionService.isCurrent(1L, 1));
+    }
+
+    @Test
+    void versionChanged_RolledBack_KeepsPersistedVersion() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(0);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenVersionService.versionChanged(1L, 1);
+        } finally {
+            // Rollback: no se invoca afterCommit
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(tokenVersionService.isCurrent(1L, 0));
+    }
+
+    @Test
+    void getCurrentVersion_StaleReadAfterChange_DoesNotDowngrade() {
+        // Mientras una solicitud lee la versión 2 de la base, otra confirma la versión 3
+        when(userRepository.findTokenVersionById(1L)).thenAnswer(invocation -> {
+            tokenVersionService.versionChanged(1L, 3);
+            return 2;
+        });
+
+        tokenVersionService.getCurrentVersion(1L);
+
+        assertTrue(tokenVersionService.isCurrent(1L, 3));
+        assertFalse(tokenVersionService.isCurrent(1L, 2));
+    }
+
+    @Test
+    void isCurrent_UnknownUser_ReturnsFalse() {
+        when(userRepository.findTokenVersionById(99L)).thenReturn(null);
+
+        assertFalse(tokenVersionService.isCurrent(99L, 0));
+        assertFalse(tokenVersionService.isCurrent(null, 0));
+    }
+}
@@ -0,0 +1,58 @@
+package com.mypresentpast.backend.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class ExpiringCacheTest {
+
+    @Test
+    void get_ReturnsStoredValueUntilItExpires() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10);
+
+        cache.put("vigente", "a", Duration.ofMinutes(1));
+        cache.put("vencida", "b", System.currentTimeMillis() - 1);
+
+        assertEquals("a", cache.get("vigente"));
+        assertNull(cache.get("vencida"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void put_OverMaxSize_EvictsEntriesThatExpireFirst() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(2);
+
+        cache.put("uno", 1, Duration.ofMinutes(5));
+        cache.put("dos", 2, Duration.ofMinutes(1));
+        cache.get("dos");
+        cache.put("tres", 3, Duration.ofMinutes(10));
+
+        assertTrue(cache.size() <= 2);
+        assertEquals(1, cache.get("uno"));
+        assertNull(cache.get("dos"));
+        assertEquals(3, cache.get("tres"));
+    }
+
+    @Test
+    void merge_CombinesWithCurrentValue() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10);
+
+        cache.merge("version", 2, Duration.ofMinutes(1), Math::max);
+        cache.merge("version", 1, Duration.ofMinutes(1), Math::max);
+
+        assertEquals(2, cache.get("version"));
+    }
+
+    @Test
+    void invalidate_RemovesEntry() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10);
+        cache.put("clave", "valor", Duration.ofMinutes(1));
+
+        cache.invalidate("clave");
+
+        assertNull(cache.get("clave"));
+    }
+}
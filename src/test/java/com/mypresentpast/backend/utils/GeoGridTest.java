@@ -0,0 +1,42 @@
+package com.mypresentpast.backend.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class GeoGridTest {
+
+    @Test
+    void cellOf_SameCellForNearbyPoints() {
+        assertEquals(GeoGrid.cellOf(-34.6082, -58.3716), GeoGrid.cellOf(-34.6090, -58.3720));
+        assertNotEquals(GeoGrid.cellOf(-34.6082, -58.3716), GeoGrid.cellOf(-31.4201, -64.1888));
+    }
+
+    @Test
+    void cellOf_NullCoordinates_ReturnsNull() {
+        assertNull(GeoGrid.cellOf(null, -58.3716));
+    }
+
+    @Test
+    void cellsCovering_SmallArea_ContainsCellsOfInnerPoints() {
+        // Given
+        Optional<List<Long>> cells = GeoGrid.cellsCovering(-34.65, -34.55, -58.45, -58.35);
+
+        // Then
+        assertTrue(cells.isPresent());
+        assertTrue(cells.get().size() <= GeoGrid.MAX_CELLS_PER_QUERY);
+        assertTrue(cells.get().contains(GeoGrid.cellOf(-34.6082, -58.3716)));
+        assertTrue(cells.get().contains(GeoGrid.cellOf(-34.65, -58.45)));
+        assertTrue(cells.get().contains(GeoGrid.cellOf(-34.55, -58.35)));
+    }
+
+    @Test
+    void cellsCovering_WideArea_ReturnsEmpty() {
+        assertTrue(GeoGrid.cellsCovering(-55.0, -21.0, -74.0, -53.0).isEmpty());
+    }
+}
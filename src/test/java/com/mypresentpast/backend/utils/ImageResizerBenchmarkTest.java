@@ -0,0 +1,105 @@
+package com.mypresentpast.backend.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Random;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Mide el procesamiento local de fotos con tamaños típicos de teléfono y verifica que la versión
+ * procesada respete el límite de dimensiones y pese al menos la mitad menos que la original.
+ * No corre en el build normal; se ejecuta con:
+ * mvn test -Dtest=ImageResizerBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ImageResizerBenchmarkTest {
+
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 10;
+    private static final int MAX_WIDTH = 1200;
+    private static final int MAX_HEIGHT = 800;
+
+    @Test
+    void benchmarkPhonePhotos() throws IOException {
+        run("12MP 4:3", 4032, 3024);
+        run("12MP 3:4", 3024, 4032);
+        run("8MP 16:9", 3840, 2160);
+        run("2MP", 1600, 1200);
+    }
+
+    private void run(String name, int width, int height) throws IOException {
+        byte[] original = phonePhoto(width, height);
+
+        ImageResizer.ResizedImage result = null;
+        for (int i = 0; i < WARMUP; i++) {
+            result = resize(original);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            result = resize(original);
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+
+        double savings = 100.0 * (original.length - result.getContent().length) / original.length;
+        log.info("{}: original {}K, procesada {}K ({}x{}), ahorro {}%, {} ms/imagen", name, original.length / 1024,
+            result.getContent().length / 1024, result.getWidth(), result.getHeight(), Math.round(savings),
+            String.format("%.1f", millis));
+
+        assertEquals("jpg", result.getFormat());
+        assertTrue(result.getWidth() <= MAX_WIDTH && result.getHeight() <= MAX_HEIGHT,
+            name + " excede " + MAX_WIDTH + "x" + MAX_HEIGHT);
+        // Reducir una foto de teléfono a 1200x800 tiene que ahorrar al menos la mitad del peso
+        assertTrue(savings >= 50, name + " ahorró solo " + Math.round(savings) + "%");
+    }
+
+    private ImageResizer.ResizedImage resize(byte[] original) throws IOException {
+        return ImageResizer.resize(new ByteArrayInputStream(original), MAX_WIDTH, MAX_HEIGHT, ImageResizer.Mode.FIT, 0.8f)
+            .orElseThrow();
+    }
+
+    /**
+     * Genera una foto sintética con ruido, para que el JPEG pese como una foto real (calidad 0.92).
+     */
+    private static byte[] phonePhoto(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int base = (x * 255 / width) ^ (y * 255 / height);
+                int noise = random.nextInt(48);
+                int r = Math.min(255, base + noise);
+                int g = Math.min(255, (base / 2) + noise);
+                int b = Math.min(255, 255 - base + noise / 2);
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpg");
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.92f);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+}
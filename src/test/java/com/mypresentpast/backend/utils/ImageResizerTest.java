@@ -0,0 +1,117 @@
+package com.mypresentpast.backend.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+class ImageResizerTest {
+
+    @Test
+    void resize_Fit_KeepsAspectRatioWithinBounds() throws IOException {
+        byte[] jpeg = jpeg(4000, 3000);
+
+        ImageResizer.ResizedImage result = ImageResizer.resize(
+            new ByteArrayInputStream(jpeg), 1200, 800, ImageResizer.Mode.FIT, 0.8f).orElseThrow();
+
+        assertEquals(1067, result.getWidth());
+        assertEquals(800, result.getHeight());
+        assertEquals("jpg", result.getFormat());
+        assertTrue(result.getContent().length < jpeg.length);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(result.getContent()));
+        assertEquals(1067, decoded.getWidth());
+    }
+
+    @Test
+    void resize_Cover_KeepsShortSideAtLeastTarget() throws IOException {
+        ImageResizer.ResizedImage result = ImageResizer.resize(
+            new ByteArrayInputStream(jpeg(3000, 2000)), 400, 400, ImageResizer.Mode.COVER, 0.8f).orElseThrow();
+
+        assertEquals(600, result.getWidth());
+        assertEquals(400, result.getHeight());
+    }
+
+    @Test
+    void resize_SmallImage_IsNotUpscaled() throws IOException {
+        ImageResizer.ResizedImage result = ImageResizer.resize(
+            new ByteArrayInputStream(jpeg(300, 200)), 1200, 800, ImageResizer.Mode.FIT, 0.8f).orElseThrow();
+
+        assertEquals(300, result.getWidth());
+        assertEquals(200, result.getHeight());
+    }
+
+    @Test
+    void resize_TransparentPng_StaysPng() throws IOException {
+        BufferedImage image = new BufferedImage(2400, 1600, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+
+        ImageResizer.ResizedImage result = ImageResizer.resize(
+            new ByteArrayInputStream(output.toByteArray()), 1200, 800, ImageResizer.Mode.FIT, 0.8f).orElseThrow();
+
+        assertEquals("png", result.getFormat());
+        assertEquals(1200, result.getWidth());
+    }
+
+    @Test
+    void resize_ExifRotatedPhoto_IsStoredUpright() throws IOException {
+        // Foto apaisada con orientación 6: se ve vertical en el teléfono
+        byte[] jpeg = withExifOrientation(jpeg(1600, 1200), 6);
+
+        ImageResizer.ResizedImage result = ImageResizer.resize(
+            new ByteArrayInputStream(jpeg), 1200, 800, ImageResizer.Mode.FIT, 0.8f).orElseThrow();
+
+        assertEquals(600, result.getWidth());
+        assertEquals(800, result.getHeight());
+    }
+
+    @Test
+    void resize_NotAnImage_ReturnsEmpty() throws IOException {
+        assertTrue(ImageResizer.resize(
+            new ByteArrayInputStream("texto".getBytes()), 1200, 800, ImageResizer.Mode.FIT, 0.8f).isEmpty());
+    }
+
+    static byte[] jpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new java.awt.GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Reemplaza el segmento JFIF por un APP1 Exif mínimo (big endian, solo el tag Orientation),
+     * como en las fotos de teléfono.
+     */
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation) {
+        byte[] exif = {
+            'E', 'x', 'i', 'f', 0, 0,
+            'M', 'M', 0, 42, 0, 0, 0, 8,
+            0, 1,
+            0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0,
+            0, 0, 0, 0
+        };
+        int length = exif.length + 2;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(jpeg, 0, 2);
+        output.write(0xFF);
+        output.write(0xE1);
+        output.write(length >> 8);
+        output.write(length & 0xFF);
+        output.write(exif, 0, exif.length);
+        int app0Length = ((jpeg[4] & 0xFF) << 8) | (jpeg[5] & 0xFF);
+        int rest = 4 + app0Length;
+        output.write(jpeg, rest, jpeg.length - rest);
+        return output.toByteArray();
+    }
+}
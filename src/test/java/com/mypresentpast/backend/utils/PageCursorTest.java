@@ -0,0 +1,56 @@
+package com.mypresentpast.backend.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.mypresentpast.backend.exception.BadRequestException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class PageCursorTest {
+
+    @Test
+    void encodeAndDecode_RoundTripsDateAndId() {
+        String cursor = PageCursor.encode(LocalDate.of(2024, 1, 15), 42L);
+
+        PageCursor decoded = PageCursor.decode(cursor);
+
+        assertEquals(LocalDate.of(2024, 1, 15), PageCursor.dateOf(decoded));
+        assertEquals(42L, PageCursor.idOf(decoded));
+    }
+
+    @Test
+    void encodeAndDecode_RoundTripsDateTime() {
+        LocalDateTime likedAt = LocalDateTime.of(2024, 3, 1, 18, 30, 5, 123000000);
+        String cursor = PageCursor.encode(likedAt, 7L);
+
+        assertEquals(likedAt, PageCursor.dateTimeOf(PageCursor.decode(cursor)));
+    }
+
+    @Test
+    void decode_NullCursor_StartsFromFirstPage() {
+        PageCursor decoded = PageCursor.decode(null);
+
+        assertNull(decoded);
+        assertEquals(PageCursor.FIRST_PAGE_DATE, PageCursor.dateOf(decoded));
+        assertEquals(PageCursor.FIRST_PAGE_ID, PageCursor.idOf(decoded));
+    }
+
+    @Test
+    void decode_InvalidCursor_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("%%%"));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("c2luLXNlcGFyYWRvcg"));
+        assertThrows(BadRequestException.class,
+            () -> PageCursor.dateOf(PageCursor.decode(PageCursor.encode("no-es-fecha", 1L))));
+    }
+
+    @Test
+    void resolvePageSize_ClampsToRange() {
+        assertEquals(20, PageCursor.resolvePageSize(null, 20, 100));
+        assertEquals(20, PageCursor.resolvePageSize(0, 20, 100));
+        assertEquals(100, PageCursor.resolvePageSize(1000, 20, 100));
+        assertEquals(5, PageCursor.resolvePageSize(5, 20, 100));
+    }
+}
@@ -0,0 +1,54 @@
+package com.mypresentpast.backend.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TextChunkerTest {
+
+    @Test
+    void split_ShortText_SingleChunk() {
+        assertEquals(List.of("Hola mundo."), TextChunker.split("Hola mundo.", 100));
+    }
+
+    @Test
+    void split_CutsBetweenParagraphsAndKeepsSeparators() {
+        String text = "Primer párrafo.\n\nSegundo párrafo.\n\n\nTercer párrafo.";
+
+        List<String> chunks = TextChunker.split(text, 20);
+
+        assertEquals(List.of("Primer párrafo.\n\n", "Segundo párrafo.\n\n\n", "Tercer párrafo."), chunks);
+        assertEquals(text, String.join("", chunks));
+    }
+
+    @Test
+    void split_GroupsShortParagraphsUpToLimit() {
+        String text = "Uno.\n\nDos.\n\nTres.\n\nCuatro.";
+
+        List<String> chunks = TextChunker.split(text, 13);
+
+        assertEquals(List.of("Uno.\n\nDos.\n\n", "Tres.\n\n", "Cuatro."), chunks);
+    }
+
+    @Test
+    void split_LongParagraph_CutsBetweenSentences() {
+        String text = "La plaza se inauguró en 1910. Luego llegó el tranvía. ¿Quién lo recuerda?";
+
+        List<String> chunks = TextChunker.split(text, 35);
+
+        assertEquals(List.of("La plaza se inauguró en 1910. ", "Luego llegó el tranvía. ", "¿Quién lo recuerda?"), chunks);
+    }
+
+    @Test
+    void split_LongSentence_CutsAtSpacesOrHardCut() {
+        String text = "palabra ".repeat(10) + "x".repeat(25);
+
+        List<String> chunks = TextChunker.split(text, 20);
+
+        assertEquals(text, String.join("", chunks));
+        chunks.forEach(chunk -> assertTrue(chunk.length() <= 20, chunk));
+        assertEquals("palabra palabra ", chunks.get(0));
+    }
+}